@@ -0,0 +1,74 @@
+package io.github.seriumtw.essentials.storage;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import io.github.seriumtw.essentials.models.Home;
+import io.github.seriumtw.essentials.models.PlayerData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares encoding and decoding a player record as JSON (Gson, storage.format = "json")
+ * and with {@link BinaryCodec} (storage.format = "binary"), the way the player stores do.
+ * Run with: ./gradlew jmh -Pjmh.includes=PlayerDataCodecBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PlayerDataCodecBenchmark {
+    // Number of homes; kit cooldowns are half of that
+    @Param({"1", "5", "25"})
+    public int homes;
+
+    private final Gson gson = new GsonBuilder().create();
+    private PlayerData data;
+    private byte[] json;
+    private byte[] binary;
+
+    @Setup
+    public void setup() {
+        data = new PlayerData();
+        for (int i = 0; i < homes; i++) {
+            data.setHome("home" + i, new Home("default", 1024.5 + i, 72.0, -381.25 - i, 90.0f, 12.5f,
+                    1_700_000_000_000L + i));
+        }
+        for (int i = 0; i < homes / 2; i++) {
+            data.setKitCooldown("kit" + i, 1_700_000_000_000L + i * 1000L);
+        }
+        data.setLastRtpTime(1_700_000_100_000L);
+        data.setLastRepairTime(1_700_000_200_000L);
+
+        json = gson.toJson(data).getBytes(StandardCharsets.UTF_8);
+        binary = BinaryCodec.encodePlayerData(data);
+    }
+
+    @Benchmark
+    public byte[] encodeJson() {
+        return gson.toJson(data).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public byte[] encodeBinary() {
+        return BinaryCodec.encodePlayerData(data);
+    }
+
+    @Benchmark
+    public PlayerData decodeJson() {
+        return gson.fromJson(new String(json, StandardCharsets.UTF_8), PlayerData.class);
+    }
+
+    @Benchmark
+    public PlayerData decodeBinary() throws IOException {
+        return BinaryCodec.decodePlayerData(binary);
+    }
+}
@@ -0,0 +1,135 @@
+package io.github.seriumtw.essentials.util;
+
+import com.hypixel.hytale.protocol.MaybeBool;
+import com.hypixel.hytale.server.core.Message;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compares colorizing before and after the single-pass tokenizer: the old regex-based
+ * colorize (kept here as {@link RegexColorizer}) against {@link ColorUtil#colorize},
+ * {@link ColorUtil#colorizeCached} and a chat line rendered through {@link ColorTemplate}.
+ * Run with: ./gradlew jmh -Pjmh.includes=ColorizeBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ColorizeBenchmark {
+    private static final String PLAIN = "Welcome back to the server, have fun!";
+    private static final String FORMATTED = "&8[&#FFAA00Admin&8] &l&fSteve&r&7: &eWelcome back to the server!";
+    private static final String CHAT_FORMAT = "&8[&6%group%&8] &f%player%&7: &f%message%";
+    private static final String CHAT_MESSAGE = "anyone up for a trip to the desert temple?";
+
+    private final Template chatTemplate = Template.percent(CHAT_FORMAT
+            .replace("%group%", "Admin").replace("%player%", "Steve"));
+    private final ColorTemplate chatColorTemplate = ColorTemplate.percent(CHAT_FORMAT
+            .replace("%group%", "Admin").replace("%player%", "Steve"));
+
+    @Benchmark
+    public Message plainBefore() {
+        return RegexColorizer.colorize(PLAIN);
+    }
+
+    @Benchmark
+    public Message plainAfter() {
+        return ColorUtil.colorize(PLAIN);
+    }
+
+    @Benchmark
+    public Message formattedBefore() {
+        return RegexColorizer.colorize(FORMATTED);
+    }
+
+    @Benchmark
+    public Message formattedAfter() {
+        return ColorUtil.colorize(FORMATTED);
+    }
+
+    @Benchmark
+    public Message formattedCached() {
+        return ColorUtil.colorizeCached(FORMATTED);
+    }
+
+    @Benchmark
+    public Message chatLineBefore() {
+        return RegexColorizer.colorize(chatTemplate.render("message", CHAT_MESSAGE));
+    }
+
+    @Benchmark
+    public Message chatLineAfter() {
+        return chatColorTemplate.render("message", CHAT_MESSAGE);
+    }
+
+    /**
+     * ColorUtil.colorize as it was before the single-pass tokenizer, for comparison.
+     */
+    static final class RegexColorizer {
+        private static final Pattern TOKEN_PATTERN = Pattern.compile("&#([0-9a-fA-F]{6})|&([0-9a-fA-FlLrR])");
+        private static final String[] COLOR_MAP = {
+                "#000000", "#0000AA", "#00AA00", "#00AAAA", "#AA0000", "#AA00AA", "#FFAA00", "#AAAAAA",
+                "#555555", "#5555FF", "#55FF55", "#55FFFF", "#FF5555", "#FF55FF", "#FFFF55", "#FFFFFF"
+        };
+        private static final String DEFAULT_COLOR = "#FFFFFF";
+
+        private RegexColorizer() {}
+
+        static Message colorize(String text) {
+            List<Message> parts = new ArrayList<>();
+            String color = DEFAULT_COLOR;
+            boolean bold = false;
+            Matcher matcher = TOKEN_PATTERN.matcher(text);
+            int lastEnd = 0;
+
+            while (matcher.find()) {
+                if (matcher.start() > lastEnd) {
+                    parts.add(styled(text.substring(lastEnd, matcher.start()), color, bold));
+                }
+                String hexColor = matcher.group(1);
+                String code = matcher.group(2);
+                if (hexColor != null) {
+                    color = "#" + hexColor.toUpperCase();
+                } else {
+                    char c = code.toLowerCase().charAt(0);
+                    if (c == 'l') {
+                        bold = true;
+                    } else if (c == 'r') {
+                        color = DEFAULT_COLOR;
+                        bold = false;
+                    } else {
+                        color = COLOR_MAP[Character.digit(c, 16)];
+                    }
+                }
+                lastEnd = matcher.end();
+            }
+
+            if (lastEnd < text.length()) {
+                parts.add(styled(text.substring(lastEnd), color, bold));
+            }
+
+            if (parts.isEmpty()) {
+                return Message.raw(text);
+            } else if (parts.size() == 1) {
+                return parts.get(0);
+            }
+            return Message.join(parts.toArray(new Message[0]));
+        }
+
+        private static Message styled(String text, String color, boolean bold) {
+            Message message = Message.raw(text).color(color);
+            if (bold) {
+                message.getFormattedMessage().bold = MaybeBool.True;
+            }
+            return message;
+        }
+    }
+}
@@ -29,12 +29,16 @@ import io.github.seriumtw.essentials.commands.tpa.TpacceptCommand;
 import io.github.seriumtw.essentials.commands.warp.DelWarpCommand;
 import io.github.seriumtw.essentials.commands.warp.SetWarpCommand;
 import io.github.seriumtw.essentials.commands.warp.WarpCommand;
+import io.github.seriumtw.essentials.components.RegionPresence;
+import io.github.seriumtw.essentials.components.TeleportWarmup;
 import io.github.seriumtw.essentials.events.BuildProtectionEvent;
 import io.github.seriumtw.essentials.events.ChatEvent;
 import io.github.seriumtw.essentials.events.DeathLocationEvent;
 import io.github.seriumtw.essentials.events.JoinLeaveEvent;
 import io.github.seriumtw.essentials.events.MotdEvent;
+import io.github.seriumtw.essentials.events.PlayerDataPreloadEvent;
 import io.github.seriumtw.essentials.events.PlayerQuitEvent;
+import io.github.seriumtw.essentials.events.RegionTrackingEvent;
 import io.github.seriumtw.essentials.events.SpawnProtectionEvent;
 import io.github.seriumtw.essentials.events.SpawnRegionTitleEvent;
 import io.github.seriumtw.essentials.events.SpawnTeleportEvent;
@@ -44,21 +48,29 @@ import io.github.seriumtw.essentials.events.StarterKitEvent;
 import io.github.seriumtw.essentials.events.UpdateNotifyEvent;
 import io.github.seriumtw.essentials.integration.SRMPermsIntegration;
 import io.github.seriumtw.essentials.managers.BackManager;
+import io.github.seriumtw.essentials.managers.BroadcastManager;
 import io.github.seriumtw.essentials.managers.ChatManager;
 import io.github.seriumtw.essentials.managers.HomeManager;
 import io.github.seriumtw.essentials.managers.KitManager;
+import io.github.seriumtw.essentials.managers.RegionManager;
+import io.github.seriumtw.essentials.managers.RegionTracker;
+import io.github.seriumtw.essentials.managers.RtpPoolManager;
 import io.github.seriumtw.essentials.managers.SpawnManager;
 import io.github.seriumtw.essentials.managers.SpawnProtectionManager;
 import io.github.seriumtw.essentials.managers.TeleportManager;
 import io.github.seriumtw.essentials.managers.TpaManager;
 import io.github.seriumtw.essentials.managers.WarpManager;
+import io.github.seriumtw.essentials.util.ChatLimiter;
 import io.github.seriumtw.essentials.util.ConfigManager;
+import io.github.seriumtw.essentials.util.FlushScheduler;
 import io.github.seriumtw.essentials.util.Log;
 import io.github.seriumtw.essentials.util.MessageManager;
+import io.github.seriumtw.essentials.util.PermissionCache;
 import io.github.seriumtw.essentials.util.StorageManager;
 import io.github.seriumtw.essentials.util.VersionChecker;
 
 import javax.annotation.Nonnull;
+import java.util.UUID;
 
 public class SRMEssentials extends JavaPlugin {
     public static final String VERSION = "1.0.0";
@@ -66,18 +78,25 @@ public class SRMEssentials extends JavaPlugin {
     private static SRMEssentials instance;
     
     private ConfigManager configManager;
+    private FlushScheduler flushScheduler;
     private StorageManager storageManager;
     private HomeManager homeManager;
     private WarpManager warpManager;
     private SpawnManager spawnManager;
     private ChatManager chatManager;
+    private RegionManager regionManager;
     private SpawnProtectionManager spawnProtectionManager;
+    private RegionTracker regionTracker;
+    private RtpPoolManager rtpPoolManager;
     private TpaManager tpaManager;
     private TeleportManager teleportManager;
     private KitManager kitManager;
     private BackManager backManager;
     private VersionChecker versionChecker;
     private MessageManager messageManager;
+    private PermissionCache permissionCache;
+    private ChatLimiter chatLimiter;
+    private BroadcastManager broadcastManager;
 
     public SRMEssentials(@Nonnull JavaPluginInit init) {
         super(init);
@@ -91,24 +110,38 @@ public class SRMEssentials extends JavaPlugin {
 
         configManager = new ConfigManager(getDataDirectory());
         messageManager = new MessageManager(getDataDirectory());
-        storageManager = new StorageManager(getDataDirectory());
+        permissionCache = new PermissionCache(configManager);
+        chatLimiter = new ChatLimiter(configManager, permissionCache);
+        broadcastManager = new BroadcastManager();
+        flushScheduler = new FlushScheduler();
+        storageManager = new StorageManager(getDataDirectory(), configManager, flushScheduler);
 
         homeManager = new HomeManager(storageManager, configManager);
         warpManager = new WarpManager(storageManager);
-        spawnManager = new SpawnManager(storageManager);
+        regionManager = new RegionManager(getDataDirectory());
+        spawnProtectionManager = new SpawnProtectionManager(configManager, storageManager, regionManager);
+        spawnManager = new SpawnManager(storageManager, spawnProtectionManager);
+        regionTracker = new RegionTracker(spawnProtectionManager, spawnManager);
         chatManager = new ChatManager(configManager);
-        spawnProtectionManager = new SpawnProtectionManager(configManager, storageManager);
         tpaManager = new TpaManager(configManager);
         teleportManager = new TeleportManager(configManager);
         kitManager = new KitManager(getDataDirectory(), storageManager);
         backManager = new BackManager();
+        rtpPoolManager = new RtpPoolManager(configManager);
         versionChecker = new VersionChecker(VERSION);
+
+        // Components must be registered before the systems that query them
+        TeleportWarmup.register(getEntityStoreRegistry());
+        RegionPresence.register(getEntityStoreRegistry());
     }
 
     @Override
     protected void start() {
         // Initialize SRM-Perms integration (must be in start() when API is ready)
         SRMPermsIntegration.init();
+        if (SRMPermsIntegration.subscribeChanges(this::onPermissionsChanged, this::onGroupsChanged)) {
+            Log.info("Permission and chat caches are invalidated by SRM-Perms change events.");
+        }
         
         registerCommands();
         registerEvents();
@@ -123,6 +156,11 @@ public class SRMEssentials extends JavaPlugin {
     protected void shutdown() {
         Log.info("SRM-Essentials is shutting down...");
 
+        // Write pending changes first, then close the storage
+        if (flushScheduler != null) {
+            flushScheduler.shutdown(configManager.getStorageShutdownTimeout());
+        }
+
         if (storageManager != null) {
             storageManager.shutdown();
         }
@@ -131,8 +169,12 @@ public class SRMEssentials extends JavaPlugin {
             tpaManager.shutdown();
         }
 
-        if (teleportManager != null) {
-            teleportManager.shutdown();
+        if (chatManager != null) {
+            chatManager.shutdown();
+        }
+
+        if (rtpPoolManager != null) {
+            rtpPoolManager.shutdown();
         }
 
         Log.info("SRM-Essentials shut down.");
@@ -164,7 +206,7 @@ public class SRMEssentials extends JavaPlugin {
         getCommandRegistry().registerCommand(new BackCommand(backManager, teleportManager));
 
         // RTP command
-        getCommandRegistry().registerCommand(new RtpCommand(configManager, storageManager, teleportManager, backManager));
+        getCommandRegistry().registerCommand(new RtpCommand(configManager, storageManager, teleportManager, backManager, rtpPoolManager));
 
         // List command
         getCommandRegistry().registerCommand(new ListCommand());
@@ -194,7 +236,7 @@ public class SRMEssentials extends JavaPlugin {
         getCommandRegistry().registerCommand(new EssentialsCommand());
 
         // Shout/broadcast command
-        getCommandRegistry().registerCommand(new ShoutCommand(configManager));
+        getCommandRegistry().registerCommand(new ShoutCommand(configManager, broadcastManager));
 
         // Repair command
         getCommandRegistry().registerCommand(new RepairCommand(configManager, storageManager));
@@ -207,10 +249,14 @@ public class SRMEssentials extends JavaPlugin {
     }
 
     private void registerEvents() {
+        // Preload player data on connect (registered first so later join handlers find it loading)
+        new PlayerDataPreloadEvent(storageManager).register(getEventRegistry());
+
         new ChatEvent(chatManager).register(getEventRegistry());
         new BuildProtectionEvent(configManager).register(getEntityStoreRegistry());
         new SpawnProtectionEvent(spawnProtectionManager).register(getEntityStoreRegistry());
-        new SpawnRegionTitleEvent(spawnProtectionManager, configManager).register(getEntityStoreRegistry());
+        new RegionTrackingEvent(regionTracker).register(getEntityStoreRegistry());
+        new SpawnRegionTitleEvent(configManager, regionManager).register(regionTracker);
         new TeleportMovementEvent(teleportManager).register(getEntityStoreRegistry());
 
         SpawnTeleportEvent spawnTeleportEvent = new SpawnTeleportEvent(spawnManager, configManager, storageManager);
@@ -224,7 +270,7 @@ public class SRMEssentials extends JavaPlugin {
         new MotdEvent(configManager).register(getEventRegistry());
 
         // Join/leave broadcast messages
-        new JoinLeaveEvent(configManager, storageManager).register(getEventRegistry());
+        new JoinLeaveEvent(configManager, storageManager, broadcastManager).register(getEventRegistry());
 
         // Update notification for admins
         new UpdateNotifyEvent(versionChecker, configManager).register(getEventRegistry());
@@ -233,10 +279,10 @@ public class SRMEssentials extends JavaPlugin {
         new StarterKitEvent(kitManager, configManager, storageManager).register(getEventRegistry());
 
         // Sleep percentage system
-        new SleepPercentageEvent(configManager, messageManager).register(getEntityStoreRegistry());
+        new SleepPercentageEvent(configManager, messageManager, broadcastManager).register(getEntityStoreRegistry());
 
         // Player disconnect cleanup
-        new PlayerQuitEvent(storageManager, tpaManager, teleportManager, backManager).register(getEventRegistry());
+        new PlayerQuitEvent(storageManager, tpaManager, backManager).register(getEventRegistry());
 
         // Sync spawn provider with world config after all worlds are loaded
         // This updates the spawn marker on the map
@@ -245,6 +291,22 @@ public class SRMEssentials extends JavaPlugin {
         });
     }
 
+    /**
+     * Drops cached permission and chat data for a player whose SRM-Perms data changed.
+     */
+    private void onPermissionsChanged(@Nonnull UUID playerUuid) {
+        permissionCache.invalidate(playerUuid);
+        chatManager.invalidate(playerUuid);
+    }
+
+    /**
+     * Drops all cached permission and chat data after an SRM-Perms group changed.
+     */
+    private void onGroupsChanged() {
+        permissionCache.invalidateAll();
+        chatManager.invalidateAll();
+    }
+
     /**
      * Gets the plugin instance.
      */
@@ -260,6 +322,10 @@ public class SRMEssentials extends JavaPlugin {
         configManager.reload();
         messageManager.reload();
         kitManager.reload();
+        regionManager.reload();
+        spawnProtectionManager.refresh();
+        permissionCache.invalidateAll();
+        chatManager.invalidateAll();
         Log.info("All configurations reloaded.");
     }
 
@@ -271,6 +337,54 @@ public class SRMEssentials extends JavaPlugin {
         return messageManager;
     }
 
+    /**
+     * Gets the permission decision cache.
+     */
+    @Nonnull
+    public PermissionCache getPermissionCache() {
+        return permissionCache;
+    }
+
+    /**
+     * Gets the chat spam limiter.
+     */
+    @Nonnull
+    public ChatLimiter getChatLimiter() {
+        return chatLimiter;
+    }
+
+    /**
+     * Gets the broadcast manager.
+     */
+    @Nonnull
+    public BroadcastManager getBroadcastManager() {
+        return broadcastManager;
+    }
+
+    /**
+     * Gets the region tracker, to listen for players entering and leaving regions.
+     */
+    @Nonnull
+    public RegionTracker getRegionTracker() {
+        return regionTracker;
+    }
+
+    /**
+     * Gets the pool of ready RTP locations.
+     */
+    @Nonnull
+    public RtpPoolManager getRtpPoolManager() {
+        return rtpPoolManager;
+    }
+
+    /**
+     * Gets the chat manager.
+     */
+    @Nonnull
+    public ChatManager getChatManager() {
+        return chatManager;
+    }
+
     /**
      * Gets the storage manager.
      */
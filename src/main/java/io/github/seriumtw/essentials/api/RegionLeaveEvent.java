@@ -0,0 +1,15 @@
+package io.github.seriumtw.essentials.api;
+
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.World;
+
+import javax.annotation.Nonnull;
+
+/**
+ * A player moved out of a region. Dispatched on the world thread by the region tracker.
+ * @param regionId The region name from regions.toml, or {@code "spawn"} for the spawn area
+ * @param player The player
+ * @param world The world the region is in
+ */
+public record RegionLeaveEvent(@Nonnull String regionId, @Nonnull PlayerRef player, @Nonnull World world) {
+}
@@ -0,0 +1,27 @@
+package io.github.seriumtw.essentials.api;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Receives region enter/leave events from SRM-Essentials' movement tracking.
+ * Register with {@code SRMEssentials.getInstance().getRegionTracker().addListener(listener)}
+ * and remove it again when your plugin shuts down.
+ *
+ * Methods are called on the world thread of the player, during the world tick, so they must
+ * return quickly and not block. Only called when a player crosses a region border, never
+ * while they stand still.
+ */
+public interface RegionListener {
+
+    /**
+     * Called after a player entered a region.
+     */
+    default void onEnter(@Nonnull RegionEnterEvent event) {
+    }
+
+    /**
+     * Called after a player left a region.
+     */
+    default void onLeave(@Nonnull RegionLeaveEvent event) {
+    }
+}
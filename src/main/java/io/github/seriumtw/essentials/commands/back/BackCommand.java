@@ -42,14 +42,14 @@ public class BackCommand extends AbstractPlayerCommand {
         BackManager.BackLocation backLocation = backManager.getBackLocation(playerUuid);
 
         if (backLocation == null) {
-            Msg.send(context, messages.get("commands.back.no-location"));
+            Msg.send(context, messages.format("commands.back.no-location"));
             return;
         }
 
         backManager.setBackLocation(store, ref, playerRef, world);
         Vector3d startPosition = TeleportUtil.getStartPosition(store, ref);
         if (startPosition == null) {
-            Msg.send(context, messages.get("errors.generic"));
+            Msg.send(context, messages.format("errors.generic"));
             return;
         }
 
@@ -13,6 +13,8 @@ import java.util.concurrent.CompletableFuture;
  * Main essentials command.
  * Usage: /essentials - Shows version info with clickable link
  * Usage: /essentials reload - Reloads configuration (requires essentials.reload permission)
+ * Usage: /essentials stats - Shows cache and storage metrics (requires essentials.stats permission)
+ * Usage: /essentials migrate <from> <to> - Copies player data between storage backends (requires essentials.migrate permission)
  * Can be executed by console or players.
  */
 public class EssentialsCommand extends AbstractCommand {
@@ -27,6 +29,12 @@ public class EssentialsCommand extends AbstractCommand {
 
         // Add reload subcommand
         addSubCommand(new EssentialsReloadCommand());
+
+        // Add metrics subcommand
+        addSubCommand(new EssentialsStatsCommand());
+
+        // Add storage migration subcommand
+        addSubCommand(new EssentialsMigrateCommand());
     }
 
     @Override
@@ -0,0 +1,145 @@
+package io.github.seriumtw.essentials.commands.essentials;
+
+import com.hypixel.hytale.server.core.command.system.AbstractCommand;
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.command.system.arguments.system.RequiredArg;
+import com.hypixel.hytale.server.core.command.system.arguments.types.ArgTypes;
+import io.github.seriumtw.essentials.SRMEssentials;
+import io.github.seriumtw.essentials.storage.H2PlayerDataStore;
+import io.github.seriumtw.essentials.storage.JsonPlayerDataStore;
+import io.github.seriumtw.essentials.storage.PlayerDataStore;
+import io.github.seriumtw.essentials.storage.StorageMigrator;
+import io.github.seriumtw.essentials.util.Log;
+import io.github.seriumtw.essentials.util.MessageManager;
+import io.github.seriumtw.essentials.util.Msg;
+import io.github.seriumtw.essentials.util.StorageManager;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Subcommand to copy player data out of the active storage backend into another one.
+ * Usage: /essentials migrate <from> <to>
+ * Requires: essentials.migrate permission
+ * Can be executed by console or players.
+ * The target must not be the active backend, since the server keeps writing to it.
+ * The active backend is not switched; change storage.backend in config.toml and restart afterwards.
+ */
+public class EssentialsMigrateCommand extends AbstractCommand {
+    private static final AtomicBoolean running = new AtomicBoolean(false);
+
+    private final RequiredArg<String> fromArg;
+    private final RequiredArg<String> toArg;
+
+    public EssentialsMigrateCommand() {
+        super("migrate", "Copy player data between storage backends");
+        requirePermission("essentials.migrate");
+
+        this.fromArg = withRequiredArg("from", "Source backend (json or h2)", ArgTypes.STRING);
+        this.toArg = withRequiredArg("to", "Target backend (json or h2)", ArgTypes.STRING);
+    }
+
+    @Override
+    protected CompletableFuture<Void> execute(@Nonnull CommandContext context) {
+        MessageManager messages = SRMEssentials.getInstance().getMessageManager();
+        String from = context.get(fromArg).toLowerCase();
+        String to = context.get(toArg).toLowerCase();
+
+        if (!isBackend(from) || !isBackend(to)) {
+            Msg.send(context, messages.format("commands.essentials.migrate.invalid-backend"));
+            return CompletableFuture.completedFuture(null);
+        }
+        if (from.equals(to)) {
+            Msg.send(context, messages.format("commands.essentials.migrate.same-backend"));
+            return CompletableFuture.completedFuture(null);
+        }
+        // Writing into the live store would overwrite newer records and race the write-behind saves
+        if (to.equals(SRMEssentials.getInstance().getStorageManager().getPlayerStore().getName())) {
+            Msg.send(context, messages.format("commands.essentials.migrate.target-active", Map.of("to", to)));
+            return CompletableFuture.completedFuture(null);
+        }
+        if (!running.compareAndSet(false, true)) {
+            Msg.send(context, messages.format("commands.essentials.migrate.already-running"));
+            return CompletableFuture.completedFuture(null);
+        }
+
+        Msg.send(context, messages.format("commands.essentials.migrate.started", Map.of("from", from, "to", to)));
+
+        StorageManager storageManager = SRMEssentials.getInstance().getStorageManager();
+        // Runs the whole migration, which blocks on the copy, so it does not hold a common pool thread
+        ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "SRM-Essentials-Migration");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Write pending changes first so the source is up to date, then migrate off the I/O thread
+        storageManager.flushPlayerData()
+                .thenRunAsync(() -> migrate(context, storageManager, from, to), executor)
+                .whenComplete((ignored, error) -> {
+                    if (error != null) {
+                        Log.error("Storage migration failed: " + error.getMessage());
+                    }
+                    running.set(false);
+                    executor.shutdown();
+                });
+
+        return CompletableFuture.completedFuture(null);
+    }
+
+    private void migrate(@Nonnull CommandContext context, @Nonnull StorageManager storageManager,
+                         @Nonnull String from, @Nonnull String to) {
+        MessageManager messages = SRMEssentials.getInstance().getMessageManager();
+        PlayerDataStore active = storageManager.getPlayerStore();
+        PlayerDataStore source = null;
+        PlayerDataStore target = null;
+
+        try {
+            // Reuse the live store so an open database is not opened twice
+            source = active.getName().equals(from) ? active
+                    : PlayerDataStore.open(from, storageManager.getDataFolder(),
+                            storageManager.getGson(), storageManager.getFormat());
+            target = PlayerDataStore.open(to, storageManager.getDataFolder(),
+                    storageManager.getGson(), storageManager.getFormat());
+
+            int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+            StorageMigrator.Result result = new StorageMigrator(source, target, threads).run(line -> {
+                Log.info(line);
+                Msg.send(context, messages.format("commands.essentials.migrate.progress", Map.of("status", line)));
+            });
+
+            Log.info(result.summary());
+            Msg.send(context, messages.format("commands.essentials.migrate.finished", Map.of(
+                    "migrated", String.valueOf(result.migrated()),
+                    "failed", String.valueOf(result.failed()),
+                    "seconds", String.format("%.1f", result.elapsedMillis() / 1000.0),
+                    "rate", String.format("%.0f", result.perSecond()),
+                    "to", to)));
+        } catch (IOException e) {
+            Log.error("Storage migration failed: " + e.getMessage());
+            Msg.send(context, messages.format("commands.essentials.migrate.failed", Map.of("error", String.valueOf(e.getMessage()))));
+        } finally {
+            closeIfNotActive(source, active);
+            closeIfNotActive(target, active);
+        }
+    }
+
+    private static boolean isBackend(@Nonnull String name) {
+        return name.equals(JsonPlayerDataStore.NAME) || name.equals(H2PlayerDataStore.NAME);
+    }
+
+    private static void closeIfNotActive(PlayerDataStore store, @Nonnull PlayerDataStore active) {
+        if (store == null || store == active) {
+            return;
+        }
+        try {
+            store.close();
+        } catch (IOException e) {
+            Log.error("Failed to close " + store.getName() + " storage: " + e.getMessage());
+        }
+    }
+}
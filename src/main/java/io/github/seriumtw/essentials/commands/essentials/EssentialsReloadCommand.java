@@ -28,7 +28,7 @@ public class EssentialsReloadCommand extends AbstractCommand {
         
         // Get MessageManager after reload to ensure we have the fresh instance
         MessageManager messages = SRMEssentials.getInstance().getMessageManager();
-        Msg.send(context, messages.get("commands.essentials.reload.success"));
+        Msg.send(context, messages.format("commands.essentials.reload.success"));
         return CompletableFuture.completedFuture(null);
     }
 }
@@ -0,0 +1,47 @@
+package io.github.seriumtw.essentials.commands.essentials;
+
+import com.hypixel.hytale.server.core.command.system.AbstractCommand;
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import io.github.seriumtw.essentials.SRMEssentials;
+import io.github.seriumtw.essentials.util.MessageManager;
+import io.github.seriumtw.essentials.util.Msg;
+
+import javax.annotation.Nonnull;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Subcommand to show runtime metrics (caches, storage, chat, broadcasts).
+ * Usage: /essentials stats
+ * Requires: essentials.stats permission
+ * Can be executed by console or players.
+ */
+public class EssentialsStatsCommand extends AbstractCommand {
+
+    public EssentialsStatsCommand() {
+        super("stats", "Show EssentialsCore runtime metrics");
+        requirePermission("essentials.stats");
+    }
+
+    @Override
+    protected CompletableFuture<Void> execute(@Nonnull CommandContext context) {
+        SRMEssentials plugin = SRMEssentials.getInstance();
+        MessageManager messages = plugin.getMessageManager();
+
+        Msg.send(context, messages.format("commands.essentials.stats.header"));
+        sendLine(context, messages, "Player cache", plugin.getStorageManager().getCache().describeStats());
+        sendLine(context, messages, "Storage", plugin.getStorageManager().describeStats());
+        sendLine(context, messages, "Permission cache", plugin.getPermissionCache().describeStats());
+        sendLine(context, messages, "Chat", plugin.getChatManager().describeStats());
+        sendLine(context, messages, "Chat limiter", plugin.getChatLimiter().describeStats());
+        sendLine(context, messages, "Broadcasts", plugin.getBroadcastManager().describeStats());
+        sendLine(context, messages, "Region tracking", plugin.getRegionTracker().describeStats());
+        sendLine(context, messages, "RTP pool", plugin.getRtpPoolManager().describeStats());
+        return CompletableFuture.completedFuture(null);
+    }
+
+    private void sendLine(@Nonnull CommandContext context, @Nonnull MessageManager messages,
+                          @Nonnull String name, @Nonnull String value) {
+        Msg.send(context, messages.format("commands.essentials.stats.line", Map.of("name", name, "value", value)));
+    }
+}
@@ -36,11 +36,11 @@ public class GodCommand extends AbstractPlayerCommand {
         if (current != null) {
             // Disable god mode - remove component
             store.removeComponent(ref, Invulnerable.getComponentType());
-            Msg.send(context, messages.get("commands.god.disabled"));
+            Msg.send(context, messages.format("commands.god.disabled"));
         } else {
             // Enable god mode - add component
             store.addComponent(ref, Invulnerable.getComponentType(), Invulnerable.INSTANCE);
-            Msg.send(context, messages.get("commands.god.enabled"));
+            Msg.send(context, messages.format("commands.god.enabled"));
         }
     }
 }
@@ -33,13 +33,13 @@ public class HealCommand extends AbstractPlayerCommand {
                            @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
         EntityStatMap statMap = store.getComponent(ref, EntityStatMap.getComponentType());
         if (statMap == null) {
-            Msg.send(context, messages.get("commands.heal.stats-error"));
+            Msg.send(context, messages.format("commands.heal.stats-error"));
             return;
         }
 
         int healthStatIndex = DefaultEntityStatTypes.getHealth();
         statMap.maximizeStatValue(healthStatIndex);
         
-        Msg.send(context, messages.get("commands.heal.success"));
+        Msg.send(context, messages.format("commands.heal.success"));
     }
 }
@@ -39,9 +39,9 @@ public class DelHomeCommand extends AbstractPlayerCommand {
         boolean deleted = homeManager.deleteHome(playerRef.getUuid(), homeName);
 
         if (deleted) {
-            Msg.send(context, messages.get("commands.delhome.success", Map.of("home", homeName)));
+            Msg.send(context, messages.format("commands.delhome.success", Map.of("home", homeName)));
         } else {
-            Msg.send(context, messages.get("commands.delhome.not-found", Map.of("home", homeName)));
+            Msg.send(context, messages.format("commands.delhome.not-found", Map.of("home", homeName)));
         }
     }
 }
@@ -18,6 +18,7 @@ import io.github.seriumtw.essentials.managers.TeleportManager;
 import io.github.seriumtw.essentials.models.Home;
 import io.github.seriumtw.essentials.util.MessageManager;
 import io.github.seriumtw.essentials.util.Msg;
+import io.github.seriumtw.essentials.util.PlayerLookup;
 import io.github.seriumtw.essentials.util.StorageManager;
 import io.github.seriumtw.essentials.util.TeleportUtil;
 
@@ -51,7 +52,7 @@ public class HomeCommand extends AbstractPlayerCommand {
         Map<String, Home> homes = homeManager.getHomes(playerUuid);
 
         if (homes.isEmpty()) {
-            Msg.send(context, messages.get("commands.home.no-homes"));
+            Msg.send(context, messages.format("commands.home.no-homes"));
             return;
         }
 
@@ -70,14 +71,14 @@ public class HomeCommand extends AbstractPlayerCommand {
                                  @Nonnull BackManager backManager, @Nonnull MessageManager messages) {
         Home home = homeManager.getHome(playerRef.getUuid(), homeName);
         if (home == null) {
-            Msg.send(context, messages.get("commands.home.not-found", Map.of("home", homeName)));
+            Msg.send(context, messages.format("commands.home.not-found", Map.of("home", homeName)));
             return;
         }
 
         backManager.setBackLocation(store, ref, playerRef, currentWorld);
         Vector3d startPosition = TeleportUtil.getStartPosition(store, ref);
         if (startPosition == null) {
-            Msg.send(context, messages.get("errors.generic"));
+            Msg.send(context, messages.format("errors.generic"));
             return;
         }
 
@@ -142,7 +143,7 @@ public class HomeCommand extends AbstractPlayerCommand {
                                            @Nonnull MessageManager messages, @Nonnull StorageManager storageManager) {
             // Check permission
             if (!PermissionsModule.get().hasPermission(playerRef.getUuid(), OTHERS_PERMISSION)) {
-                Msg.send(context, messages.get("no-permission"));
+                Msg.send(context, messages.format("no-permission"));
                 return;
             }
             
@@ -152,16 +153,21 @@ public class HomeCommand extends AbstractPlayerCommand {
             String homeName = parts.length > 1 ? parts[1] : "";
             
             if (targetName.isEmpty()) {
-                Msg.send(context, messages.get("commands.home.player-not-found", Map.of("player", "")));
+                Msg.send(context, messages.format("commands.home.player-not-found", Map.of("player", "")));
                 return;
             }
             
-            // Look up target player UUID
-            UUID targetUuid = storageManager.getUuidByUsername(targetName);
+            // Look up target player UUID (exact name or unambiguous prefix, online or offline)
+            UUID targetUuid = storageManager.resolveUsername(targetName);
             if (targetUuid == null) {
-                Msg.send(context, messages.get("commands.home.player-not-found", Map.of("player", targetName)));
+                Msg.send(context, messages.format("commands.home.player-not-found", Map.of("player", targetName)));
+                Msg.send(context, PlayerLookup.knownPlayerSuggestion(targetName));
                 return;
             }
+            String knownName = storageManager.getUsername(targetUuid);
+            if (knownName != null) {
+                targetName = knownName;
+            }
             
             // If no home specified (e.g., "player:"), list their homes
             if (homeName.isEmpty()) {
@@ -172,7 +178,7 @@ public class HomeCommand extends AbstractPlayerCommand {
             // Get the home
             Home home = homeManager.getHome(targetUuid, homeName);
             if (home == null) {
-                Msg.send(context, messages.get("commands.home.other-not-found", 
+                Msg.send(context, messages.format("commands.home.other-not-found", 
                     Map.of("player", targetName, "home", homeName)));
                 return;
             }
@@ -180,7 +186,7 @@ public class HomeCommand extends AbstractPlayerCommand {
             backManager.setBackLocation(store, ref, playerRef, world);
             Vector3d startPosition = TeleportUtil.getStartPosition(store, ref);
             if (startPosition == null) {
-                Msg.send(context, messages.get("errors.generic"));
+                Msg.send(context, messages.format("errors.generic"));
                 return;
             }
             
@@ -196,7 +202,7 @@ public class HomeCommand extends AbstractPlayerCommand {
             Map<String, Home> homes = homeManager.getHomes(targetUuid);
             
             if (homes.isEmpty()) {
-                Msg.send(context, messages.get("commands.home.other-no-homes", Map.of("player", targetName)));
+                Msg.send(context, messages.format("commands.home.other-no-homes", Map.of("player", targetName)));
                 return;
             }
             
@@ -47,7 +47,7 @@ public class SetHomeCommand extends AbstractPlayerCommand {
                                   @Nonnull MessageManager messages) {
         TransformComponent transform = store.getComponent(ref, TransformComponent.getComponentType());
         if (transform == null) {
-            Msg.send(context, messages.get("commands.sethome.position-error"));
+            Msg.send(context, messages.format("commands.sethome.position-error"));
             return;
         }
 
@@ -71,7 +71,7 @@ public class SetHomeCommand extends AbstractPlayerCommand {
             return;
         }
 
-        Msg.send(context, messages.get("commands.sethome.success", Map.of("home", homeName)));
+        Msg.send(context, messages.format("commands.sethome.success", Map.of("home", homeName)));
     }
 
     // Inner class for /sethome <name> variant
@@ -66,7 +66,7 @@ public class KitCommand extends AbstractPlayerCommand {
         // Get the Player component to access PageManager
         Player player = store.getComponent(ref, Player.getComponentType());
         if (player == null) {
-            Msg.send(context, messages.get("commands.kit.player-error"));
+            Msg.send(context, messages.format("commands.kit.player-error"));
             return;
         }
 
@@ -99,7 +99,7 @@ public class KitCommand extends AbstractPlayerCommand {
             // Get kit (case-insensitive)
             Kit kit = kitManager.getKit(kitName.toLowerCase());
             if (kit == null) {
-                Msg.send(context, messages.get("commands.kit.not-found", Map.of("kit", kitName)));
+                Msg.send(context, messages.format("commands.kit.not-found", Map.of("kit", kitName)));
                 return;
             }
             
@@ -107,7 +107,7 @@ public class KitCommand extends AbstractPlayerCommand {
             if (configManager.isStarterKitEnabled()) {
                 String starterKitName = configManager.getStarterKitName();
                 if (!starterKitName.isEmpty() && kit.getId().equalsIgnoreCase(starterKitName)) {
-                    Msg.send(context, messages.get("commands.kit.not-found", Map.of("kit", kitName)));
+                    Msg.send(context, messages.format("commands.kit.not-found", Map.of("kit", kitName)));
                     return;
                 }
             }
@@ -115,7 +115,7 @@ public class KitCommand extends AbstractPlayerCommand {
             // Check permission
             String permission = "essentials.kit." + kit.getId();
             if (!PermissionsModule.get().hasPermission(playerRef.getUuid(), permission)) {
-                Msg.send(context, messages.get("commands.kit.no-permission"));
+                Msg.send(context, messages.format("commands.kit.no-permission"));
                 return;
             }
             
@@ -124,7 +124,7 @@ public class KitCommand extends AbstractPlayerCommand {
             if (!canBypassCooldown) {
                 long remainingCooldown = kitManager.getRemainingCooldown(playerRef.getUuid(), kit.getId());
                 if (remainingCooldown > 0) {
-                    Msg.send(context, messages.get("commands.kit.cooldown", 
+                    Msg.send(context, messages.format("commands.kit.cooldown", 
                         Map.of("time", CooldownUtil.formatCooldown(remainingCooldown))));
                     return;
                 }
@@ -136,7 +136,7 @@ public class KitCommand extends AbstractPlayerCommand {
             }
             
             // Apply kit on world thread
-            applyKitToPlayer(kit, playerRef, ref, store, world, () -> Msg.send(context, messages.get("commands.kit.received", Map.of("kit", kit.getDisplayName()))));
+            applyKitToPlayer(kit, playerRef, ref, store, world, () -> Msg.send(context, messages.format("commands.kit.received", Map.of("kit", kit.getDisplayName()))));
         }
     }
     
@@ -202,20 +202,20 @@ public class KitCommand extends AbstractPlayerCommand {
             // Get kit (case-insensitive)
             Kit kit = kitManager.getKit(kitName.toLowerCase());
             if (kit == null) {
-                Msg.send(context, messages.get("commands.kit.not-found", Map.of("kit", kitName)));
+                Msg.send(context, messages.format("commands.kit.not-found", Map.of("kit", kitName)));
                 return CompletableFuture.completedFuture(null);
             }
             
             // Validate target player
             if (targetPlayer == null) {
-                Msg.send(context, messages.get("commands.kit.player-not-found", Map.of("player", kitName)));
+                Msg.send(context, messages.format("commands.kit.player-not-found", Map.of("player", kitName)));
                 return CompletableFuture.completedFuture(null);
             }
             
             // Get target player's ref and store
             Ref<EntityStore> targetRef = targetPlayer.getReference();
             if (targetRef == null || !targetRef.isValid()) {
-                Msg.send(context, messages.get("commands.kit.player-not-found", Map.of("player", targetPlayer.getUsername())));
+                Msg.send(context, messages.format("commands.kit.player-not-found", Map.of("player", targetPlayer.getUsername())));
                 return CompletableFuture.completedFuture(null);
             }
             
@@ -227,8 +227,8 @@ public class KitCommand extends AbstractPlayerCommand {
             // Apply kit on target player's world thread (no permission or cooldown checks)
             applyKitToPlayer(kit, targetPlayer, targetRef, targetStore, targetWorld, () -> {
                 // Send messages to both players
-                Msg.send(targetPlayer, messages.get("commands.kit.received", Map.of("kit", kit.getDisplayName())));
-                Msg.send(context, messages.get("commands.kit.given", 
+                Msg.send(targetPlayer, messages.format("commands.kit.received", Map.of("kit", kit.getDisplayName())));
+                Msg.send(context, messages.format("commands.kit.given", 
                     Map.of("kit", kit.getDisplayName(), "player", targetPlayer.getUsername())));
             });
             
@@ -49,32 +49,32 @@ public class KitCreateCommand extends AbstractPlayerCommand {
 
         // Validate kit name
         if (!kitName.matches("^[a-zA-Z0-9_-]+$")) {
-            Msg.send(context, messages.get("commands.kit.create.invalid-name"));
+            Msg.send(context, messages.format("commands.kit.create.invalid-name"));
             return;
         }
 
         // Prevent reserved names
         if (kitName.equalsIgnoreCase("create") || kitName.equalsIgnoreCase("delete")) {
-            Msg.send(context, messages.get("commands.kit.create.reserved-name", Map.of("name", kitName)));
+            Msg.send(context, messages.format("commands.kit.create.reserved-name", Map.of("name", kitName)));
             return;
         }
 
         // Check if kit already exists
         if (kitManager.getKit(kitName) != null) {
-            Msg.send(context, messages.get("commands.kit.create.already-exists", Map.of("name", kitName)));
+            Msg.send(context, messages.format("commands.kit.create.already-exists", Map.of("name", kitName)));
             return;
         }
 
         // Get player's inventory
         Player player = store.getComponent(ref, Player.getComponentType());
         if (player == null) {
-            Msg.send(context, messages.get("commands.kit.create.inventory-error"));
+            Msg.send(context, messages.format("commands.kit.create.inventory-error"));
             return;
         }
 
         Inventory inventory = player.getInventory();
         if (inventory == null) {
-            Msg.send(context, messages.get("commands.kit.create.inventory-error"));
+            Msg.send(context, messages.format("commands.kit.create.inventory-error"));
             return;
         }
 
@@ -96,15 +96,15 @@ public class KitCreateCommand extends AbstractPlayerCommand {
         collectItems(inventory.getTools(), "tools", items);
 
         if (items.isEmpty()) {
-            Msg.send(context, messages.get("commands.kit.create.empty-inventory"));
+            Msg.send(context, messages.format("commands.kit.create.empty-inventory"));
             return;
         }
 
         // Create the kit
         kitManager.createKit(kitName, items);
 
-        Msg.send(context, messages.get("commands.kit.create.success", Map.of("name", kitName, "count", String.valueOf(items.size()))));
-        Msg.send(context, messages.get("commands.kit.create.config-info"));
+        Msg.send(context, messages.format("commands.kit.create.success", Map.of("name", kitName, "count", String.valueOf(items.size()))));
+        Msg.send(context, messages.format("commands.kit.create.config-info"));
     }
 
     /**
@@ -42,13 +42,13 @@ public class KitDeleteCommand extends AbstractPlayerCommand {
 
         // Check if kit exists
         if (kitManager.getKit(kitName) == null) {
-            Msg.send(context, messages.get("commands.kit.delete.not-found", Map.of("name", kitName)));
+            Msg.send(context, messages.format("commands.kit.delete.not-found", Map.of("name", kitName)));
             return;
         }
 
         // Delete the kit
         kitManager.deleteKit(kitName);
 
-        Msg.send(context, messages.get("commands.kit.delete.success", Map.of("name", kitName)));
+        Msg.send(context, messages.format("commands.kit.delete.success", Map.of("name", kitName)));
     }
 }
@@ -2,19 +2,20 @@ package io.github.seriumtw.essentials.commands.msg;
 
 import com.hypixel.hytale.component.Ref;
 import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.server.core.Message;
 import com.hypixel.hytale.server.core.command.system.CommandContext;
 import com.hypixel.hytale.server.core.command.system.basecommands.AbstractPlayerCommand;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
-import com.hypixel.hytale.server.core.universe.Universe;
 import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import io.github.seriumtw.essentials.SRMEssentials;
+import io.github.seriumtw.essentials.util.ChatLimiter;
 import io.github.seriumtw.essentials.util.MessageManager;
 import io.github.seriumtw.essentials.util.Msg;
+import io.github.seriumtw.essentials.util.PlayerLookup;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
-import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
@@ -50,7 +51,7 @@ public class MsgCommand extends AbstractPlayerCommand {
         String[] parts = rawInput.split("\\s+", 3); // Split into [command, player, message]
         
         if (parts.length < 3) {
-            Msg.send(context, messages.get("commands.msg.usage"));
+            Msg.send(context, messages.format("commands.msg.usage"));
             return;
         }
         
@@ -61,12 +62,13 @@ public class MsgCommand extends AbstractPlayerCommand {
         PlayerRef target = findPlayer(targetName);
         
         if (target == null) {
-            Msg.send(context, messages.get("commands.msg.player-not-found", Map.of("player", targetName)));
+            Msg.send(context, messages.format("commands.msg.player-not-found", Map.of("player", targetName)));
+            Msg.send(context, PlayerLookup.suggestion(targetName));
             return;
         }
 
         if (target.getUuid().equals(playerRef.getUuid())) {
-            Msg.send(context, messages.get("commands.msg.cannot-self"));
+            Msg.send(context, messages.format("commands.msg.cannot-self"));
             return;
         }
 
@@ -75,15 +77,28 @@ public class MsgCommand extends AbstractPlayerCommand {
 
     /**
      * Send a private message and track for /reply.
+     * Blocked (with a notice to the sender) when it exceeds the sender's chat spam limits.
      */
     public static void sendMessage(@Nonnull PlayerRef sender, @Nonnull PlayerRef target, 
                                    @Nonnull String message, @Nullable CommandContext context,
                                    @Nonnull MessageManager messages) {
+        ChatLimiter.Result result = SRMEssentials.getInstance().getChatLimiter()
+                .check(sender.getUuid(), message, target.getUuid());
+        if (result != ChatLimiter.Result.ALLOWED) {
+            Message reason = messages.format(ChatLimiter.messageKey(result));
+            if (context != null) {
+                Msg.send(context, reason);
+            } else {
+                Msg.send(sender, reason);
+            }
+            return;
+        }
+
         // Send to target: [From PlayerName] message
-        Msg.send(target, messages.get("commands.msg.format-from", Map.of("player", sender.getUsername(), "message", message)));
+        Msg.send(target, messages.format("commands.msg.format-from", Map.of("player", sender.getUsername(), "message", message)));
         
         // Confirm to sender: [To PlayerName] message
-        String toMessage = messages.get("commands.msg.format-to", Map.of("player", target.getUsername(), "message", message));
+        Message toMessage = messages.format("commands.msg.format-to", Map.of("player", target.getUsername(), "message", message));
         if (context != null) {
             Msg.send(context, toMessage);
         } else {
@@ -104,17 +119,11 @@ public class MsgCommand extends AbstractPlayerCommand {
     }
 
     /**
-     * Find a player by name (case-insensitive).
+     * Find an online player by name or unambiguous prefix (case-insensitive).
      */
     @Nullable
     public static PlayerRef findPlayer(String name) {
-        List<PlayerRef> players = Universe.get().getPlayers();
-        for (PlayerRef player : players) {
-            if (player.getUsername().equalsIgnoreCase(name)) {
-                return player;
-            }
-        }
-        return null;
+        return PlayerLookup.findOnlinePlayer(name);
     }
 
     /**
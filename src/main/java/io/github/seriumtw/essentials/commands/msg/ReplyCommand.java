@@ -42,7 +42,7 @@ public class ReplyCommand extends AbstractPlayerCommand {
         String[] parts = rawInput.split("\\s+", 2); // Split into [command, message]
         
         if (parts.length < 2) {
-            Msg.send(context, messages.get("commands.reply.usage"));
+            Msg.send(context, messages.format("commands.reply.usage"));
             return;
         }
         
@@ -51,14 +51,14 @@ public class ReplyCommand extends AbstractPlayerCommand {
         // Get last message partner
         UUID targetUuid = MsgCommand.getLastMessagePartner(playerRef.getUuid());
         if (targetUuid == null) {
-            Msg.send(context, messages.get("commands.reply.no-one"));
+            Msg.send(context, messages.format("commands.reply.no-one"));
             return;
         }
 
         // Find target player
         PlayerRef target = Universe.get().getPlayer(targetUuid);
         if (target == null) {
-            Msg.send(context, messages.get("commands.reply.player-offline"));
+            Msg.send(context, messages.format("commands.reply.player-offline"));
             return;
         }
 
@@ -62,7 +62,7 @@ public class RepairCommand extends AbstractPlayerCommand {
                 long elapsed = (System.currentTimeMillis() - lastUse) / 1000;
                 long remaining = cooldownSeconds - elapsed;
                 if (remaining > 0) {
-                    Msg.send(context, messages.get("commands.repair.cooldown", Map.of("time", CooldownUtil.formatCooldown(remaining))));
+                    Msg.send(context, messages.format("commands.repair.cooldown", Map.of("time", CooldownUtil.formatCooldown(remaining))));
                     return;
                 }
             }
@@ -70,31 +70,31 @@ public class RepairCommand extends AbstractPlayerCommand {
 
         Player player = store.getComponent(ref, Player.getComponentType());
         if (player == null) {
-            Msg.send(context, messages.get("commands.repair.player-data-error"));
+            Msg.send(context, messages.format("commands.repair.player-data-error"));
             return;
         }
 
         Inventory inventory = player.getInventory();
         if (inventory == null) {
-            Msg.send(context, messages.get("commands.repair.inventory-error"));
+            Msg.send(context, messages.format("commands.repair.inventory-error"));
             return;
         }
 
         ItemStack heldItem = inventory.getItemInHand();
         if (heldItem == null || heldItem.isEmpty()) {
-            Msg.send(context, messages.get("commands.repair.no-item"));
+            Msg.send(context, messages.format("commands.repair.no-item"));
             return;
         }
 
         double maxDurability = heldItem.getMaxDurability();
         if (maxDurability <= 0) {
-            Msg.send(context, messages.get("commands.repair.cannot-repair"));
+            Msg.send(context, messages.format("commands.repair.cannot-repair"));
             return;
         }
 
         double currentDurability = heldItem.getDurability();
         if (currentDurability >= maxDurability) {
-            Msg.send(context, messages.get("commands.repair.already-full"));
+            Msg.send(context, messages.format("commands.repair.already-full"));
             return;
         }
 
@@ -112,6 +112,6 @@ public class RepairCommand extends AbstractPlayerCommand {
         player.sendInventory();
 
         SoundUtil.playSound(playerRef, "SFX_Item_Repair");
-        Msg.send(context, messages.get("commands.repair.success"));
+        Msg.send(context, messages.format("commands.repair.success"));
     }
 }
@@ -12,6 +12,7 @@ import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import io.github.seriumtw.essentials.SRMEssentials;
 import io.github.seriumtw.essentials.managers.BackManager;
+import io.github.seriumtw.essentials.managers.RtpPoolManager;
 import io.github.seriumtw.essentials.managers.TeleportManager;
 import io.github.seriumtw.essentials.models.PlayerData;
 import io.github.seriumtw.essentials.util.ConfigManager;
@@ -39,15 +40,18 @@ public class RtpCommand extends AbstractPlayerCommand {
     private final StorageManager storageManager;
     private final TeleportManager teleportManager;
     private final BackManager backManager;
+    private final RtpPoolManager rtpPool;
     private final MessageManager messages;
 
     public RtpCommand(@Nonnull ConfigManager configManager, @Nonnull StorageManager storageManager,
-                      @Nonnull TeleportManager teleportManager, @Nonnull BackManager backManager) {
+                      @Nonnull TeleportManager teleportManager, @Nonnull BackManager backManager,
+                      @Nonnull RtpPoolManager rtpPool) {
         super("rtp", "Randomly teleport to a location");
         this.configManager = configManager;
         this.storageManager = storageManager;
         this.teleportManager = teleportManager;
         this.backManager = backManager;
+        this.rtpPool = rtpPool;
         this.messages = SRMEssentials.getInstance().getMessageManager();
 
         requirePermission("essentials.rtp");
@@ -68,7 +72,7 @@ public class RtpCommand extends AbstractPlayerCommand {
                 long elapsed = (System.currentTimeMillis() - lastUse) / 1000;
                 long remaining = cooldownSeconds - elapsed;
                 if (remaining > 0) {
-                    Msg.send(context, messages.get("commands.rtp.cooldown", Map.of("time", CooldownUtil.formatCooldown(remaining))));
+                    Msg.send(context, messages.format("commands.rtp.cooldown", Map.of("time", CooldownUtil.formatCooldown(remaining))));
                     return;
                 }
             }
@@ -88,7 +92,7 @@ public class RtpCommand extends AbstractPlayerCommand {
             radius = configManager.getRtpRadius(rtpWorldName);
             
             if (radius == null) {
-                Msg.send(context, messages.get("commands.rtp.not-enabled"));
+                Msg.send(context, messages.format("commands.rtp.not-enabled"));
                 return;
             }
         }
@@ -96,94 +100,64 @@ public class RtpCommand extends AbstractPlayerCommand {
         // Verify the world exists
         World rtpWorld = Universe.get().getWorld(rtpWorldName);
         if (rtpWorld == null) {
-            Msg.send(context, messages.get("commands.rtp.world-not-loaded", Map.of("world", rtpWorldName)));
+            Msg.send(context, messages.format("commands.rtp.world-not-loaded", Map.of("world", rtpWorldName)));
             return;
         }
 
-        boolean isCrossWorld = !rtpWorldName.equals(currentWorldName);
-        
         backManager.setBackLocation(store, ref, playerRef, world);
         Vector3d startPos = TeleportUtil.getStartPosition(store, ref);
         if (startPos == null) {
-            Msg.send(context, messages.get("errors.generic"));
+            Msg.send(context, messages.format("errors.generic"));
             return;
         }
 
-        if (isCrossWorld) {
-            // Cross-world RTP - use async chunk loading
-            final Vector3d startPosition = startPos.clone();
-
-            findSafeLocationAsync(rtpWorld, radius, 0)
-                .thenAccept(result -> {
-                    if (result == null) {
-                        Msg.send(playerRef, messages.get("commands.rtp.no-safe-location", Map.of("attempts", String.valueOf(MAX_ATTEMPTS))));
-                        return;
-                    }
-                    
-                    // Execute teleport back on the player's current world thread
-                    world.execute(() -> {
-                        teleportManager.queueTeleport(
-                            playerRef, ref, store, startPosition,
-                                rtpWorldName, result.x, result.y, result.z,
-                            0.0f, 0.0f,
-                            messages.get("commands.rtp.teleported"),
-                            () -> {
-                                data.setLastRtpTime(System.currentTimeMillis());
-                                storageManager.savePlayerData(playerUuid);
-                            }
-                        );
-                    });
-                })
-                .exceptionally(ex -> {
-                    Msg.send(playerRef, messages.get("commands.rtp.failed"));
-                    return null;
-                });
-        } else {
-            // Same-world RTP - use sync chunk access
-            findSafeLocationSync(rtpWorld, radius, playerRef, ref, store, rtpWorldName, data, playerUuid);
+        // Serve from the pool when it has a location ready, no search needed
+        RtpPoolManager.Location pooled = rtpPool.take(rtpWorldName);
+        if (pooled != null) {
+            queueTeleport(playerRef, ref, store, startPos, rtpWorldName, pooled.x(), pooled.y(), pooled.z(), data);
+            return;
         }
-    }
 
-    /**
-     * Synchronously finds a safe RTP location (for same-world teleports).
-     */
-    private void findSafeLocationSync(World rtpWorld, int radius, PlayerRef playerRef, 
-                                       Ref<EntityStore> ref, Store<EntityStore> store,
-                                       String rtpWorldName, PlayerData data, UUID playerUuid) {
-        ThreadLocalRandom random = ThreadLocalRandom.current();
-        
-        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
-            double x = random.nextDouble(-radius, radius);
-            double z = random.nextDouble(-radius, radius);
+        // Pool empty - search with async chunk loading, off the world thread
+        final Vector3d startPosition = startPos.clone();
 
-            Double safeY = TeleportUtil.findSafeRtpY(rtpWorld, x, z);
-            
-            if (safeY != null) {
-                Vector3d startPosition = TeleportUtil.getStartPosition(store, ref);
-                if (startPosition == null) {
-                    Msg.send(playerRef, messages.get("errors.generic"));
+        findSafeLocationAsync(rtpWorld, radius, 0)
+            .thenAccept(result -> {
+                if (result == null) {
+                    Msg.send(playerRef, messages.format("commands.rtp.no-safe-location", Map.of("attempts", String.valueOf(MAX_ATTEMPTS))));
                     return;
                 }
 
-                teleportManager.queueTeleport(
-                    playerRef, ref, store, startPosition,
-                    rtpWorldName, x, safeY, z,
-                    0.0f, 0.0f,
-                    messages.get("commands.rtp.teleported"),
-                    () -> {
-                        data.setLastRtpTime(System.currentTimeMillis());
-                        storageManager.savePlayerData(playerUuid);
-                    }
-                );
-                return;
-            }
-        }
+                // Execute teleport back on the player's current world thread
+                world.execute(() -> queueTeleport(playerRef, ref, store, startPosition,
+                        rtpWorldName, result.x, result.y, result.z, data));
+            })
+            .exceptionally(ex -> {
+                Msg.send(playerRef, messages.format("commands.rtp.failed"));
+                return null;
+            });
+    }
 
-        Msg.send(playerRef, messages.get("commands.rtp.no-safe-location", Map.of("attempts", String.valueOf(MAX_ATTEMPTS))));
+    /**
+     * Queues the teleport to a found location and starts the cooldown once it completes.
+     */
+    private void queueTeleport(PlayerRef playerRef, Ref<EntityStore> ref, Store<EntityStore> store,
+                               Vector3d startPosition, String rtpWorldName, double x, double y, double z,
+                               PlayerData data) {
+        teleportManager.queueTeleport(
+            playerRef, ref, store, startPosition,
+            rtpWorldName, x, y, z,
+            0.0f, 0.0f,
+            messages.get("commands.rtp.teleported"),
+            () -> {
+                data.setLastRtpTime(System.currentTimeMillis());
+                storageManager.savePlayerData(playerRef.getUuid());
+            }
+        );
     }
 
     /**
-     * Asynchronously finds a safe RTP location (for cross-world teleports).
+     * Asynchronously finds a safe RTP location, for when the pool is empty.
      * Recursively tries up to MAX_ATTEMPTS locations.
      */
     private CompletableFuture<RtpLocation> findSafeLocationAsync(World rtpWorld, int radius, int attempt) {
@@ -7,6 +7,7 @@ import com.hypixel.hytale.server.core.command.system.basecommands.AbstractPlayer
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import io.github.seriumtw.essentials.util.ColorTemplate;
 import io.github.seriumtw.essentials.util.ColorUtil;
 import io.github.seriumtw.essentials.util.ConfigManager;
 
@@ -35,21 +36,18 @@ public class RulesCommand extends AbstractPlayerCommand {
         String rulesMessage = configManager.getRulesMessage();
         
         if (rulesMessage.trim().isEmpty()) {
-            playerRef.sendMessage(ColorUtil.colorize("&cNo rules configured."));
+            playerRef.sendMessage(ColorUtil.colorizeCached("&cNo rules configured."));
             return;
         }
         
-        // Replace placeholder
-        rulesMessage = rulesMessage.replace("%player%", playerRef.getUsername());
-        
         // Normalize line endings
         rulesMessage = rulesMessage.replace("\r", "");
         
-        // Split by newlines and send each line
+        // Split by newlines and send each line (each line is colorized once and cached)
         String[] lines = rulesMessage.split("\n");
         for (String line : lines) {
             if (!line.trim().isEmpty()) {
-                playerRef.sendMessage(ColorUtil.colorize(line));
+                playerRef.sendMessage(ColorTemplate.percent(line).render("player", playerRef.getUsername()));
             }
         }
     }
@@ -2,9 +2,10 @@ package io.github.seriumtw.essentials.commands.shout;
 
 import com.hypixel.hytale.server.core.command.system.AbstractCommand;
 import com.hypixel.hytale.server.core.command.system.CommandContext;
-import com.hypixel.hytale.server.core.universe.Universe;
 import io.github.seriumtw.essentials.SRMEssentials;
-import io.github.seriumtw.essentials.util.ColorUtil;
+import io.github.seriumtw.essentials.managers.BroadcastManager;
+import io.github.seriumtw.essentials.models.Audience;
+import io.github.seriumtw.essentials.util.ChatLimiter;
 import io.github.seriumtw.essentials.util.ConfigManager;
 import io.github.seriumtw.essentials.util.MessageManager;
 import io.github.seriumtw.essentials.util.Msg;
@@ -20,11 +21,13 @@ import java.util.concurrent.CompletableFuture;
  */
 public class ShoutCommand extends AbstractCommand {
     private final ConfigManager configManager;
+    private final BroadcastManager broadcastManager;
     private final MessageManager messages;
 
-    public ShoutCommand(@Nonnull ConfigManager configManager) {
+    public ShoutCommand(@Nonnull ConfigManager configManager, @Nonnull BroadcastManager broadcastManager) {
         super("shout", "Broadcast a message to all players");
         this.configManager = configManager;
+        this.broadcastManager = broadcastManager;
         this.messages = SRMEssentials.getInstance().getMessageManager();
 
         addAliases("broadcast");
@@ -41,12 +44,22 @@ public class ShoutCommand extends AbstractCommand {
         String[] parts = rawInput.split("\\s+", 2); // Split into [command, message]
         
         if (parts.length < 2) {
-            Msg.send(context, messages.get("commands.shout.usage"));
+            Msg.send(context, messages.format("commands.shout.usage"));
             return CompletableFuture.completedFuture(null);
         }
         
+        // Console broadcasts are never limited
+        if (context.isPlayer()) {
+            ChatLimiter.Result result = SRMEssentials.getInstance().getChatLimiter()
+                    .check(context.sender().getUuid(), parts[1]);
+            if (result != ChatLimiter.Result.ALLOWED) {
+                Msg.send(context, messages.format(ChatLimiter.messageKey(result)));
+                return CompletableFuture.completedFuture(null);
+            }
+        }
+
         String message = configManager.getShoutPrefix() + parts[1];
-        Universe.get().sendMessage(ColorUtil.colorize(message));
+        broadcastManager.broadcast(message, Audience.all());
         return CompletableFuture.completedFuture(null);
     }
 }
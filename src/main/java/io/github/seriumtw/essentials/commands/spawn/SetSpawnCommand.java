@@ -37,7 +37,7 @@ public class SetSpawnCommand extends AbstractPlayerCommand {
                            @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
         TransformComponent transform = store.getComponent(ref, TransformComponent.getComponentType());
         if (transform == null) {
-            Msg.send(context, messages.get("commands.setspawn.position-error"));
+            Msg.send(context, messages.format("commands.setspawn.position-error"));
             return;
         }
 
@@ -61,6 +61,6 @@ public class SetSpawnCommand extends AbstractPlayerCommand {
         Transform spawnTransform = new Transform(spawnPosition, spawnRotation);
         world.getWorldConfig().setSpawnProvider(new GlobalSpawnProvider(spawnTransform));
 
-        Msg.send(context, messages.get("commands.setspawn.success"));
+        Msg.send(context, messages.format("commands.setspawn.success"));
     }
 }
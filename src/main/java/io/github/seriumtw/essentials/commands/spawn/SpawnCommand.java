@@ -56,14 +56,14 @@ public class SpawnCommand extends AbstractPlayerCommand {
         Spawn spawn = spawnManager.getSpawn();
 
         if (spawn == null) {
-            Msg.send(context, messages.get("commands.spawn.not-set"));
+            Msg.send(context, messages.format("commands.spawn.not-set"));
             return;
         }
 
         backManager.setBackLocation(store, ref, playerRef, world);
         Vector3d startPosition = TeleportUtil.getStartPosition(store, ref);
         if (startPosition == null) {
-            Msg.send(context, messages.get("errors.generic"));
+            Msg.send(context, messages.format("errors.generic"));
             return;
         }
 
@@ -97,7 +97,7 @@ public class SpawnCommand extends AbstractPlayerCommand {
             Spawn spawn = spawnManager.getSpawn();
 
             if (spawn == null) {
-                Msg.send(context, messages.get("commands.spawn.not-set"));
+                Msg.send(context, messages.format("commands.spawn.not-set"));
                 return CompletableFuture.completedFuture(null);
             }
 
@@ -108,8 +108,8 @@ public class SpawnCommand extends AbstractPlayerCommand {
                 TeleportUtil.saveLocationAndTeleportToSpawn(targetPlayer, backManager, spawn);
 
                 String senderName = "Console";
-                Msg.send(context, messages.get("commands.spawn.teleported-other", Map.of("player", targetPlayer.getUsername())));
-                Msg.send(targetPlayer, messages.get("commands.spawn.teleported-by", Map.of("sender", senderName)));
+                Msg.send(context, messages.format("commands.spawn.teleported-other", Map.of("player", targetPlayer.getUsername())));
+                Msg.send(targetPlayer, messages.format("commands.spawn.teleported-by", Map.of("sender", senderName)));
             });
 
             return CompletableFuture.completedFuture(null);
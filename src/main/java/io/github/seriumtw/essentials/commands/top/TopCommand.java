@@ -42,7 +42,7 @@ public class TopCommand extends AbstractPlayerCommand {
         // Get player's current position
         TransformComponent transform = store.getComponent(ref, TransformComponent.getComponentType());
         if (transform == null) {
-            Msg.send(context, messages.get("commands.top.position-error"));
+            Msg.send(context, messages.format("commands.top.position-error"));
             return;
         }
 
@@ -54,14 +54,14 @@ public class TopCommand extends AbstractPlayerCommand {
         long chunkIndex = ChunkUtil.indexChunkFromBlock(blockX, blockZ);
         WorldChunk chunk = world.getChunk(chunkIndex);
         if (chunk == null) {
-            Msg.send(context, messages.get("commands.top.chunk-not-loaded"));
+            Msg.send(context, messages.format("commands.top.chunk-not-loaded"));
             return;
         }
 
         // Find highest solid block from top down
         Integer topY = findHighestSolidBlock(chunk, blockX, blockZ);
         if (topY == null) {
-            Msg.send(context, messages.get("commands.top.no-ground"));
+            Msg.send(context, messages.format("commands.top.no-ground"));
             return;
         }
 
@@ -79,7 +79,7 @@ public class TopCommand extends AbstractPlayerCommand {
         Teleport teleport = new Teleport(world, targetPos, rotation);
         store.putComponent(ref, Teleport.getComponentType(), teleport);
 
-        Msg.send(context, messages.get("commands.top.teleported"));
+        Msg.send(context, messages.format("commands.top.teleported"));
     }
 
     /**
@@ -42,33 +42,33 @@ public class TpaCommand extends AbstractPlayerCommand {
         PlayerRef target = context.get(targetArg);
 
         if (target == null) {
-            Msg.send(context, messages.get("commands.tpa.player-not-found"));
+            Msg.send(context, messages.format("commands.tpa.player-not-found"));
             return;
         }
 
         Ref<EntityStore> targetRef = target.getReference();
         if (targetRef == null || !targetRef.isValid()) {
-            Msg.send(context, messages.get("commands.tpa.player-not-found"));
+            Msg.send(context, messages.format("commands.tpa.player-not-found"));
             return;
         }
 
         if (target.getUuid().equals(playerRef.getUuid())) {
-            Msg.send(context, messages.get("commands.tpa.cannot-self"));
+            Msg.send(context, messages.format("commands.tpa.cannot-self"));
             return;
         }
 
         boolean created = tpaManager.createRequest(playerRef, target);
         if (!created) {
-            Msg.send(context, messages.get("commands.tpa.already-pending", Map.of("player", target.getUsername())));
+            Msg.send(context, messages.format("commands.tpa.already-pending", Map.of("player", target.getUsername())));
             return;
         }
 
         // Notify the requester
-        Msg.send(context, messages.get("commands.tpa.request-sent", Map.of("player", target.getUsername())));
+        Msg.send(context, messages.format("commands.tpa.request-sent", Map.of("player", target.getUsername())));
 
         // Notify the target
         SoundUtil.playSound(target, "SFX_Alchemy_Bench_Close");
-        Msg.send(target, messages.get("commands.tpa.request-received", Map.of("player", playerRef.getUsername())));
-        Msg.send(target, messages.get("commands.tpa.accept-instruction", Map.of("player", playerRef.getUsername())));
+        Msg.send(target, messages.format("commands.tpa.request-received", Map.of("player", playerRef.getUsername())));
+        Msg.send(target, messages.format("commands.tpa.accept-instruction", Map.of("player", playerRef.getUsername())));
     }
 }
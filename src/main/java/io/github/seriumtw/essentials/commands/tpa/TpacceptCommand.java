@@ -17,10 +17,10 @@ import io.github.seriumtw.essentials.managers.TeleportManager;
 import io.github.seriumtw.essentials.managers.TpaManager;
 import io.github.seriumtw.essentials.util.MessageManager;
 import io.github.seriumtw.essentials.util.Msg;
+import io.github.seriumtw.essentials.util.PlayerLookup;
 import io.github.seriumtw.essentials.util.TeleportUtil;
 
 import javax.annotation.Nonnull;
-import javax.annotation.Nullable;
 import java.util.Map;
 
 /**
@@ -55,7 +55,7 @@ public class TpacceptCommand extends AbstractPlayerCommand {
         // /tpaccept with no arguments - accept most recent request
         TpaManager.TpaRequest request = tpaManager.acceptMostRecentRequest(playerRef);
         if (request == null) {
-            Msg.send(context, messages.get("commands.tpaccept.no-requests"));
+            Msg.send(context, messages.format("commands.tpaccept.no-requests"));
             return;
         }
         
@@ -64,14 +64,14 @@ public class TpacceptCommand extends AbstractPlayerCommand {
         // Get the requester's PlayerRef
         PlayerRef requester = Universe.get().getPlayer(request.getRequesterUuid());
         if (requester == null) {
-            Msg.send(context, messages.get("commands.tpaccept.player-offline", Map.of("player", requesterName)));
+            Msg.send(context, messages.format("commands.tpaccept.player-offline", Map.of("player", requesterName)));
             return;
         }
 
         // Get the requester's entity ref and store
         Ref<EntityStore> requesterRef = requester.getReference();
         if (requesterRef == null || !requesterRef.isValid()) {
-            Msg.send(context, messages.get("commands.tpaccept.player-unavailable", Map.of("player", requesterName)));
+            Msg.send(context, messages.format("commands.tpaccept.player-unavailable", Map.of("player", requesterName)));
             return;
         }
         Store<EntityStore> requesterStore = requesterRef.getStore();
@@ -80,7 +80,7 @@ public class TpacceptCommand extends AbstractPlayerCommand {
         World requesterWorld = requesterStore.getExternalData().getWorld();
 
         // Notify the target that the request was accepted
-        Msg.send(context, messages.get("commands.tpaccept.accepted", Map.of("player", requesterName)));
+        Msg.send(context, messages.format("commands.tpaccept.accepted", Map.of("player", requesterName)));
 
         // Save requester's location and queue teleport (must be on their world thread)
         executeTeleport(playerRef, requester, requesterRef, requesterStore, requesterWorld, backManager, messages, teleportManager);
@@ -111,24 +111,25 @@ public class TpacceptCommand extends AbstractPlayerCommand {
             String requesterName = context.get(playerArg);
             
             // Player name specified - look them up
-            PlayerRef requester = findPlayer(requesterName);
+            PlayerRef requester = PlayerLookup.findOnlinePlayer(requesterName);
             
             if (requester == null) {
-                Msg.send(context, messages.get("commands.tpaccept.player-offline", Map.of("player", requesterName)));
+                Msg.send(context, messages.format("commands.tpaccept.player-offline", Map.of("player", requesterName)));
+                Msg.send(context, PlayerLookup.suggestion(requesterName));
                 return;
             }
             
             // Accept request from specific player
             TpaManager.TpaRequest request = tpaManager.acceptRequest(playerRef, requester.getUsername());
             if (request == null) {
-                Msg.send(context, messages.get("commands.tpaccept.no-request-from", Map.of("player", requester.getUsername())));
+                Msg.send(context, messages.format("commands.tpaccept.no-request-from", Map.of("player", requester.getUsername())));
                 return;
             }
 
             // Get the requester's entity ref and store
             Ref<EntityStore> requesterRef = requester.getReference();
             if (requesterRef == null || !requesterRef.isValid()) {
-                Msg.send(context, messages.get("commands.tpaccept.player-unavailable", Map.of("player", requester.getUsername())));
+                Msg.send(context, messages.format("commands.tpaccept.player-unavailable", Map.of("player", requester.getUsername())));
                 return;
             }
             Store<EntityStore> requesterStore = requesterRef.getStore();
@@ -137,24 +138,11 @@ public class TpacceptCommand extends AbstractPlayerCommand {
             World requesterWorld = requesterStore.getExternalData().getWorld();
 
             // Notify the target that the request was accepted
-            Msg.send(context, messages.get("commands.tpaccept.accepted", Map.of("player", requester.getUsername())));
+            Msg.send(context, messages.format("commands.tpaccept.accepted", Map.of("player", requester.getUsername())));
 
             // Save requester's location and queue teleport (must be on their world thread)
             executeTeleport(playerRef, requester, requesterRef, requesterStore, requesterWorld, backManager, messages, teleportManager);
         }
-        
-        /**
-         * Find a player by name (case-insensitive).
-         */
-        @Nullable
-        private static PlayerRef findPlayer(String name) {
-            for (PlayerRef player : Universe.get().getPlayers()) {
-                if (player.getUsername().equalsIgnoreCase(name)) {
-                    return player;
-                }
-            }
-            return null;
-        }
     }
 
     private static void executeTeleport(@Nonnull PlayerRef playerRef, PlayerRef requester, Ref<EntityStore> requesterRef, Store<EntityStore> requesterStore, World requesterWorld, BackManager backManager, MessageManager messages, TeleportManager teleportManager) {
@@ -166,7 +154,7 @@ public class TpacceptCommand extends AbstractPlayerCommand {
             backManager.setBackLocation(requesterStore, requesterRef, requester, requesterWorld);
             Vector3d startPosition = TeleportUtil.getStartPosition(requesterStore, requesterRef);
             if (startPosition == null) {
-                Msg.send(requester, messages.get("errors.generic"));
+                Msg.send(requester, messages.format("errors.generic"));
                 return;
             }
 
@@ -38,25 +38,25 @@ public class TphereCommand extends AbstractPlayerCommand {
         PlayerRef target = context.get(targetArg);
 
         if (target == null) {
-            Msg.send(context, messages.get("commands.tphere.player-not-found"));
+            Msg.send(context, messages.format("commands.tphere.player-not-found"));
             return;
         }
 
         Ref<EntityStore> targetRef = target.getReference();
         if (targetRef == null || !targetRef.isValid()) {
-            Msg.send(context, messages.get("commands.tphere.player-not-found"));
+            Msg.send(context, messages.format("commands.tphere.player-not-found"));
             return;
         }
 
         if (target.getUuid().equals(playerRef.getUuid())) {
-            Msg.send(context, messages.get("commands.tphere.cannot-self"));
+            Msg.send(context, messages.format("commands.tphere.cannot-self"));
             return;
         }
 
         // Teleport target to the command sender
         TeleportUtil.teleportToPlayer(target, playerRef);
 
-        Msg.send(context, messages.get("commands.tphere.success", Map.of("player", target.getUsername())));
-        Msg.send(target, messages.get("commands.tphere.teleported", Map.of("player", playerRef.getUsername())));
+        Msg.send(context, messages.format("commands.tphere.success", Map.of("player", target.getUsername())));
+        Msg.send(target, messages.format("commands.tphere.teleported", Map.of("player", playerRef.getUsername())));
     }
 }
@@ -58,7 +58,7 @@ public class TrashCommand extends AbstractPlayerCommand {
             new ContainerWindow(trashContainer)
         );
 
-        Msg.send(playerRef, messages.get("trash.opened"));
+        Msg.send(playerRef, messages.format("trash.opened"));
     }
 
     private static @NotNull SimpleItemContainer getSimpleItemContainer() {
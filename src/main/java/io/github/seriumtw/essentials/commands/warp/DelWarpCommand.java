@@ -39,9 +39,9 @@ public class DelWarpCommand extends AbstractPlayerCommand {
         boolean deleted = warpManager.deleteWarp(warpName);
 
         if (deleted) {
-            Msg.send(context, messages.get("commands.delwarp.success", Map.of("warp", warpName)));
+            Msg.send(context, messages.format("commands.delwarp.success", Map.of("warp", warpName)));
         } else {
-            Msg.send(context, messages.get("commands.delwarp.not-found", Map.of("warp", warpName)));
+            Msg.send(context, messages.format("commands.delwarp.not-found", Map.of("warp", warpName)));
         }
     }
 }
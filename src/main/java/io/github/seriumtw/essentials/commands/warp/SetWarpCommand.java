@@ -42,7 +42,7 @@ public class SetWarpCommand extends AbstractPlayerCommand {
 
         TransformComponent transform = store.getComponent(ref, TransformComponent.getComponentType());
         if (transform == null) {
-            Msg.send(context, messages.get("commands.setwarp.position-error"));
+            Msg.send(context, messages.format("commands.setwarp.position-error"));
             return;
         }
 
@@ -65,6 +65,6 @@ public class SetWarpCommand extends AbstractPlayerCommand {
             return;
         }
 
-        Msg.send(context, messages.get("commands.setwarp.success", Map.of("warp", warpName, "world", world.getName())));
+        Msg.send(context, messages.format("commands.setwarp.success", Map.of("warp", warpName, "world", world.getName())));
     }
 }
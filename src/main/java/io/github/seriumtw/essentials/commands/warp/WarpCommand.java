@@ -52,7 +52,7 @@ public class WarpCommand extends AbstractPlayerCommand {
         Map<String, Warp> warps = warpManager.getWarps();
 
         if (warps.isEmpty()) {
-            Msg.send(context, messages.get("commands.warp.no-warps"));
+            Msg.send(context, messages.format("commands.warp.no-warps"));
             return;
         }
 
@@ -86,14 +86,14 @@ public class WarpCommand extends AbstractPlayerCommand {
             MessageManager messages = SRMEssentials.getInstance().getMessageManager();
 
             if (warp == null) {
-                Msg.send(context, messages.get("commands.warp.not-found", Map.of("warp", warpName)));
+                Msg.send(context, messages.format("commands.warp.not-found", Map.of("warp", warpName)));
                 return;
             }
 
             backManager.setBackLocation(store, ref, playerRef, world);
             Vector3d startPosition = TeleportUtil.getStartPosition(store, ref);
             if (startPosition == null) {
-                Msg.send(context, messages.get("errors.generic"));
+                Msg.send(context, messages.format("errors.generic"));
                 return;
             }
 
@@ -131,7 +131,7 @@ public class WarpCommand extends AbstractPlayerCommand {
             Warp warp = warpManager.getWarp(warpName);
 
             if (warp == null) {
-                Msg.send(context, messages.get("commands.warp.not-found", Map.of("warp", warpName)));
+                Msg.send(context, messages.format("commands.warp.not-found", Map.of("warp", warpName)));
                 return CompletableFuture.completedFuture(null);
             }
 
@@ -150,9 +150,9 @@ public class WarpCommand extends AbstractPlayerCommand {
                 }
 
                 String senderName = "Console";
-                Msg.send(context, messages.get("commands.warp.teleported-other", 
+                Msg.send(context, messages.format("commands.warp.teleported-other", 
                     Map.of("player", targetPlayer.getUsername(), "warp", warpName)));
-                Msg.send(targetPlayer, messages.get("commands.warp.teleported-by", 
+                Msg.send(targetPlayer, messages.format("commands.warp.teleported-by", 
                     Map.of("sender", senderName, "warp", warpName)));
             });
 
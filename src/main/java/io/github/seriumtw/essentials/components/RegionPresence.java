@@ -0,0 +1,163 @@
+package io.github.seriumtw.essentials.components;
+
+import com.hypixel.hytale.component.Component;
+import com.hypixel.hytale.component.ComponentRegistryProxy;
+import com.hypixel.hytale.component.ComponentType;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import io.github.seriumtw.essentials.models.ProtectionSnapshot;
+import io.github.seriumtw.essentials.models.Region;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * The block a player was last seen in and the areas it was in, as evaluated against a
+ * protection snapshot. Regions are only evaluated again when the block, the world or the
+ * snapshot changes; until then the region's flags can be read from here without a lookup.
+ * Also keeps the last block the player was allowed to be in, where entry-deny pushes them back to.
+ * Not saved with the entity.
+ */
+public class RegionPresence implements Component<EntityStore> {
+    private static ComponentType<EntityStore, RegionPresence> componentType;
+
+    private World world;
+    private int x;
+    private int y;
+    private int z;
+    private ProtectionSnapshot snapshot;
+    private boolean inSpawn;
+    @Nullable
+    private Region region;
+    // Only set by allow(), so a denied block is never used as the way back
+    @Nullable
+    private World allowedWorld;
+    private int allowedX;
+    private int allowedY;
+    private int allowedZ;
+
+    private RegionPresence() {
+    }
+
+    public RegionPresence(@Nonnull World world, int x, int y, int z,
+                          @Nonnull ProtectionSnapshot snapshot, boolean inSpawn, @Nullable Region region) {
+        moveTo(world, x, y, z, snapshot, inSpawn, region);
+    }
+
+    /**
+     * Registers the component. Must be called in setup(), before any system that queries it.
+     */
+    public static void register(@Nonnull ComponentRegistryProxy<EntityStore> registry) {
+        componentType = registry.registerComponent(RegionPresence.class, RegionPresence::new);
+    }
+
+    public static ComponentType<EntityStore, RegionPresence> getComponentType() {
+        return componentType;
+    }
+
+    /**
+     * Checks if nothing changed since the last evaluation: same block, same world, same snapshot.
+     */
+    public boolean isAt(@Nonnull World world, int x, int y, int z, @Nonnull ProtectionSnapshot snapshot) {
+        // The world and snapshot are compared by reference
+        return this.x == x && this.y == y && this.z == z && this.world == world && this.snapshot == snapshot;
+    }
+
+    /**
+     * Records a new evaluated position.
+     */
+    public void moveTo(@Nonnull World world, int x, int y, int z,
+                       @Nonnull ProtectionSnapshot snapshot, boolean inSpawn, @Nullable Region region) {
+        this.world = world;
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.snapshot = snapshot;
+        this.inSpawn = inSpawn;
+        this.region = region;
+    }
+
+    /**
+     * Marks the recorded block as allowed, so entry-deny pushes the player back here.
+     */
+    public void allow() {
+        this.allowedWorld = world;
+        this.allowedX = x;
+        this.allowedY = y;
+        this.allowedZ = z;
+    }
+
+    /**
+     * Gets the world the player was last seen in.
+     */
+    @Nonnull
+    public World getWorld() {
+        return world;
+    }
+
+    public int getX() {
+        return x;
+    }
+
+    public int getY() {
+        return y;
+    }
+
+    public int getZ() {
+        return z;
+    }
+
+    @Nonnull
+    public ProtectionSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    public boolean isInSpawn() {
+        return inSpawn;
+    }
+
+    /**
+     * Gets the named region the player is in, or null if none.
+     */
+    @Nullable
+    public Region getRegion() {
+        return region;
+    }
+
+    /**
+     * Gets the world of the last allowed block, or null if no block was allowed yet.
+     */
+    @Nullable
+    public World getAllowedWorld() {
+        return allowedWorld;
+    }
+
+    public int getAllowedX() {
+        return allowedX;
+    }
+
+    public int getAllowedY() {
+        return allowedY;
+    }
+
+    public int getAllowedZ() {
+        return allowedZ;
+    }
+
+    @Override
+    public Component<EntityStore> clone() {
+        RegionPresence copy = new RegionPresence();
+        copy.world = world;
+        copy.x = x;
+        copy.y = y;
+        copy.z = z;
+        copy.snapshot = snapshot;
+        copy.inSpawn = inSpawn;
+        copy.region = region;
+        copy.allowedWorld = allowedWorld;
+        copy.allowedX = allowedX;
+        copy.allowedY = allowedY;
+        copy.allowedZ = allowedZ;
+        return copy;
+    }
+}
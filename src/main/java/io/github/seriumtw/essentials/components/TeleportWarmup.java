@@ -0,0 +1,163 @@
+package io.github.seriumtw.essentials.components;
+
+import com.hypixel.hytale.component.Component;
+import com.hypixel.hytale.component.ComponentRegistryProxy;
+import com.hypixel.hytale.component.ComponentType;
+import com.hypixel.hytale.math.vector.Vector3d;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.UUID;
+
+/**
+ * A delayed teleport counting down on a player.
+ * Added when a teleport is queued and removed when it runs or is cancelled, so only waiting
+ * players are visited by the movement check and the warmup disappears with the entity
+ * (e.g. on disconnect). Not saved with the entity.
+ */
+public class TeleportWarmup implements Component<EntityStore> {
+    private static ComponentType<EntityStore, TeleportWarmup> componentType;
+
+    private Vector3d startPosition;
+    // For coordinate teleports
+    @Nullable
+    private String worldName;
+    private double x, y, z;
+    private float yaw, pitch;
+    // For player teleports
+    @Nullable
+    private UUID targetPlayerUuid;
+    @Nullable
+    private String successMessage;
+    @Nullable
+    private Runnable onSuccess;
+    private float delaySeconds;
+    private float elapsedTime;
+
+    private TeleportWarmup() {
+    }
+
+    /**
+     * Registers the component. Must be called in setup(), before any system that queries it.
+     */
+    public static void register(@Nonnull ComponentRegistryProxy<EntityStore> registry) {
+        componentType = registry.registerComponent(TeleportWarmup.class, TeleportWarmup::new);
+    }
+
+    public static ComponentType<EntityStore, TeleportWarmup> getComponentType() {
+        return componentType;
+    }
+
+    /**
+     * Creates a warmup for a teleport to coordinates (homes, warps, spawn).
+     */
+    @Nonnull
+    public static TeleportWarmup toLocation(@Nonnull Vector3d startPosition, @Nonnull String worldName,
+                                            double x, double y, double z, float yaw, float pitch,
+                                            @Nullable String successMessage, @Nullable Runnable onSuccess,
+                                            int delaySeconds) {
+        TeleportWarmup warmup = new TeleportWarmup();
+        warmup.startPosition = startPosition.clone(); // Clone to prevent mutation
+        warmup.worldName = worldName;
+        warmup.x = x;
+        warmup.y = y;
+        warmup.z = z;
+        warmup.yaw = yaw;
+        warmup.pitch = pitch;
+        warmup.successMessage = successMessage;
+        warmup.onSuccess = onSuccess;
+        warmup.delaySeconds = delaySeconds;
+        return warmup;
+    }
+
+    /**
+     * Creates a warmup for a teleport to another player (TPA).
+     */
+    @Nonnull
+    public static TeleportWarmup toPlayer(@Nonnull Vector3d startPosition, @Nonnull UUID targetPlayerUuid,
+                                          @Nullable String successMessage, int delaySeconds) {
+        TeleportWarmup warmup = new TeleportWarmup();
+        warmup.startPosition = startPosition.clone(); // Clone to prevent mutation
+        warmup.targetPlayerUuid = targetPlayerUuid;
+        warmup.successMessage = successMessage;
+        warmup.delaySeconds = delaySeconds;
+        return warmup;
+    }
+
+    @Nonnull
+    public Vector3d getStartPosition() {
+        return startPosition;
+    }
+
+    public boolean isPlayerTeleport() {
+        return targetPlayerUuid != null;
+    }
+
+    @Nullable
+    public String getWorldName() {
+        return worldName;
+    }
+
+    public double getX() {
+        return x;
+    }
+
+    public double getY() {
+        return y;
+    }
+
+    public double getZ() {
+        return z;
+    }
+
+    public float getYaw() {
+        return yaw;
+    }
+
+    public float getPitch() {
+        return pitch;
+    }
+
+    @Nullable
+    public UUID getTargetPlayerUuid() {
+        return targetPlayerUuid;
+    }
+
+    @Nullable
+    public String getSuccessMessage() {
+        return successMessage;
+    }
+
+    @Nullable
+    public Runnable getOnSuccess() {
+        return onSuccess;
+    }
+
+    /**
+     * Adds tick time to the countdown.
+     * @return true once the delay has passed
+     */
+    public boolean advance(float deltaTime) {
+        elapsedTime += deltaTime;
+        return elapsedTime >= delaySeconds;
+    }
+
+    @Override
+    public Component<EntityStore> clone() {
+        TeleportWarmup copy = new TeleportWarmup();
+        copy.startPosition = startPosition != null ? startPosition.clone() : null;
+        copy.worldName = worldName;
+        copy.x = x;
+        copy.y = y;
+        copy.z = z;
+        copy.yaw = yaw;
+        copy.pitch = pitch;
+        copy.targetPlayerUuid = targetPlayerUuid;
+        copy.successMessage = successMessage;
+        copy.onSuccess = onSuccess;
+        copy.delaySeconds = delaySeconds;
+        copy.elapsedTime = elapsedTime;
+        return copy;
+    }
+}
@@ -10,9 +10,9 @@ import com.hypixel.hytale.server.core.Message;
 import com.hypixel.hytale.server.core.event.events.ecs.BreakBlockEvent;
 import com.hypixel.hytale.server.core.event.events.ecs.DamageBlockEvent;
 import com.hypixel.hytale.server.core.event.events.ecs.PlaceBlockEvent;
-import com.hypixel.hytale.server.core.permissions.PermissionsModule;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import io.github.seriumtw.essentials.SRMEssentials;
 import io.github.seriumtw.essentials.util.ConfigManager;
 import org.jetbrains.annotations.NotNull;
 
@@ -31,13 +31,14 @@ public class BuildProtectionEvent {
     }
 
     public void register(@Nonnull ComponentRegistryProxy<EntityStore> registry) {
+        // These systems query any entity, not just players, so non-player block edits are blocked too
         registry.registerSystem(new BreakBlockProtectionSystem(configManager));
         registry.registerSystem(new PlaceBlockProtectionSystem(configManager));
         registry.registerSystem(new DamageBlockProtectionSystem(configManager));
     }
 
     private static boolean canBypass(@Nonnull UUID playerUuid) {
-        return PermissionsModule.get().hasPermission(playerUuid, BYPASS_PERMISSION);
+        return SRMEssentials.getInstance().getPermissionCache().has(playerUuid, BYPASS_PERMISSION);
     }
 
     private static void sendProtectedMessage(PlayerRef playerRef) {
@@ -2,9 +2,11 @@ package io.github.seriumtw.essentials.events;
 
 import com.hypixel.hytale.event.EventRegistry;
 import com.hypixel.hytale.server.core.event.events.player.PlayerChatEvent;
+import com.hypixel.hytale.server.core.event.events.player.PlayerConnectEvent;
 import io.github.seriumtw.essentials.managers.ChatManager;
 
 import javax.annotation.Nonnull;
+import java.util.concurrent.CompletableFuture;
 
 public class ChatEvent {
     private final ChatManager chatManager;
@@ -14,13 +16,19 @@ public class ChatEvent {
     }
 
     public void register(@Nonnull EventRegistry eventRegistry) {
+        // Resolve prefix/suffix/group on connect so the first message is formatted from the cache
+        eventRegistry.registerGlobal(PlayerConnectEvent.class, event -> {
+            if (chatManager.isEnabled()) {
+                chatManager.loadIdentity(event.getPlayerRef());
+            }
+        });
+
+        // Hand the message to the chat pipeline, which completes the event on a chat thread.
+        // Runs even with formatting disabled, so the spam filter still applies
         eventRegistry.<String, PlayerChatEvent>registerAsyncGlobal(PlayerChatEvent.class, future ->
-                future.thenApply(event -> {
-                    if (chatManager.isEnabled()) {
-                        event.setFormatter(chatManager.createFormatter());
-                    }
-                    return event;
-                })
+                future.thenCompose(event -> !event.isCancelled()
+                        ? chatManager.process(event)
+                        : CompletableFuture.completedFuture(event))
         );
     }
 }
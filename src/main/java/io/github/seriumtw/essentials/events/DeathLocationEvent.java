@@ -49,7 +49,8 @@ public class DeathLocationEvent {
 
         @Override
         public Query<EntityStore> getQuery() {
-            return Query.any();
+            // Players only
+            return PlayerRef.getComponentType();
         }
 
         @Override
@@ -5,13 +5,15 @@ import com.hypixel.hytale.server.core.event.events.player.AddPlayerToWorldEvent;
 import com.hypixel.hytale.server.core.event.events.player.PlayerConnectEvent;
 import com.hypixel.hytale.server.core.event.events.player.PlayerDisconnectEvent;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
-import com.hypixel.hytale.server.core.universe.Universe;
-import io.github.seriumtw.essentials.util.ColorUtil;
+import io.github.seriumtw.essentials.managers.BroadcastManager;
+import io.github.seriumtw.essentials.models.Audience;
+import io.github.seriumtw.essentials.util.ColorTemplate;
 import io.github.seriumtw.essentials.util.ConfigManager;
 import io.github.seriumtw.essentials.util.Log;
 import io.github.seriumtw.essentials.util.StorageManager;
 
 import javax.annotation.Nonnull;
+import java.util.Set;
 
 /**
  * Broadcasts join and leave messages to all players.
@@ -20,11 +22,14 @@ import javax.annotation.Nonnull;
 public class JoinLeaveEvent {
     private final ConfigManager configManager;
     private final StorageManager storageManager;
+    private final BroadcastManager broadcastManager;
 
     public JoinLeaveEvent(@Nonnull ConfigManager configManager,
-                          @Nonnull StorageManager storageManager) {
+                          @Nonnull StorageManager storageManager,
+                          @Nonnull BroadcastManager broadcastManager) {
         this.configManager = configManager;
         this.storageManager = storageManager;
+        this.broadcastManager = broadcastManager;
     }
 
     public void register(@Nonnull EventRegistry eventRegistry) {
@@ -55,11 +60,8 @@ public class JoinLeaveEvent {
                 message = configManager.getJoinMessage();
             }
 
-            // Replace placeholder
-            message = message.replace("%player%", playerName);
-
             // Broadcast to all players
-            Universe.get().sendMessage(ColorUtil.colorize(message));
+            broadcastManager.broadcast(ColorTemplate.percent(message).render("player", playerName), Audience.all());
         });
 
         // Leave messages - PlayerDisconnectEvent fires when player disconnects
@@ -72,11 +74,9 @@ public class JoinLeaveEvent {
             String playerName = playerRef.getUsername();
             String message = configManager.getLeaveMessage();
 
-            // Replace placeholder
-            message = message.replace("%player%", playerName);
-
-            // Broadcast to all remaining players (thread-safe)
-            Universe.get().sendMessage(ColorUtil.colorize(message));
+            // Broadcast to all remaining players
+            broadcastManager.broadcast(ColorTemplate.percent(message).render("player", playerName),
+                    Audience.all().excluding(Set.of(playerRef.getUuid())));
         });
 
         Log.info("Join/leave message broadcasts registered.");
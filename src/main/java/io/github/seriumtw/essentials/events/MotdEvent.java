@@ -2,7 +2,7 @@ package io.github.seriumtw.essentials.events;
 
 import com.hypixel.hytale.event.EventRegistry;
 import com.hypixel.hytale.server.core.event.events.player.PlayerConnectEvent;
-import io.github.seriumtw.essentials.util.ColorUtil;
+import io.github.seriumtw.essentials.util.ColorTemplate;
 import io.github.seriumtw.essentials.util.ConfigManager;
 
 import javax.annotation.Nonnull;
@@ -26,17 +26,14 @@ public class MotdEvent {
             String message = configManager.getMotdMessage();
             String playerName = event.getPlayerRef().getUsername();
 
-            // Replace placeholder
-            message = message.replace("%player%", playerName);
-
             // Normalize line endings (remove \r from Windows line endings)
             message = message.replace("\r", "");
 
-            // Split by newlines and send each line
+            // Split by newlines and send each line (each line is colorized once and cached)
             String[] lines = message.split("\n");
             for (String line : lines) {
                 if (!line.trim().isEmpty()) {
-                    event.getPlayerRef().sendMessage(ColorUtil.colorize(line));
+                    event.getPlayerRef().sendMessage(ColorTemplate.percent(line).render("player", playerName));
                 }
             }
         });
@@ -0,0 +1,28 @@
+package io.github.seriumtw.essentials.events;
+
+import com.hypixel.hytale.event.EventRegistry;
+import com.hypixel.hytale.server.core.event.events.player.PlayerConnectEvent;
+import io.github.seriumtw.essentials.util.Log;
+import io.github.seriumtw.essentials.util.StorageManager;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Starts loading a player's data in the background as soon as they connect,
+ * so the first command or event that needs it does not block on disk I/O.
+ */
+public class PlayerDataPreloadEvent {
+    private final StorageManager storageManager;
+
+    public PlayerDataPreloadEvent(@Nonnull StorageManager storageManager) {
+        this.storageManager = storageManager;
+    }
+
+    public void register(@Nonnull EventRegistry eventRegistry) {
+        eventRegistry.registerGlobal(PlayerConnectEvent.class, event -> {
+            storageManager.preloadPlayerData(event.getPlayerRef().getUuid());
+        });
+
+        Log.info("Player data preloading registered.");
+    }
+}
@@ -2,10 +2,10 @@ package io.github.seriumtw.essentials.events;
 
 import com.hypixel.hytale.event.EventRegistry;
 import com.hypixel.hytale.server.core.event.events.player.PlayerDisconnectEvent;
+import io.github.seriumtw.essentials.SRMEssentials;
 import io.github.seriumtw.essentials.commands.freecam.FreecamCommand;
 import io.github.seriumtw.essentials.commands.msg.MsgCommand;
 import io.github.seriumtw.essentials.managers.BackManager;
-import io.github.seriumtw.essentials.managers.TeleportManager;
 import io.github.seriumtw.essentials.managers.TpaManager;
 import io.github.seriumtw.essentials.util.Log;
 import io.github.seriumtw.essentials.util.StorageManager;
@@ -20,16 +20,13 @@ import java.util.UUID;
 public class PlayerQuitEvent {
     private final StorageManager storageManager;
     private final TpaManager tpaManager;
-    private final TeleportManager teleportManager;
     private final BackManager backManager;
 
     public PlayerQuitEvent(@Nonnull StorageManager storageManager,
                            @Nonnull TpaManager tpaManager,
-                           @Nonnull TeleportManager teleportManager,
                            @Nonnull BackManager backManager) {
         this.storageManager = storageManager;
         this.tpaManager = tpaManager;
-        this.teleportManager = teleportManager;
         this.backManager = backManager;
     }
 
@@ -40,14 +37,16 @@ public class PlayerQuitEvent {
             // Save and clean up player data
             storageManager.savePlayerData(playerUuid);
             storageManager.unloadPlayer(playerUuid);
+            storageManager.unregisterOnlinePlayer(playerUuid);
             tpaManager.onPlayerQuit(playerUuid);
-            teleportManager.onPlayerQuit(playerUuid);
             backManager.onPlayerQuit(playerUuid);
+            SRMEssentials.getInstance().getPermissionCache().onPlayerQuit(playerUuid);
+            SRMEssentials.getInstance().getChatManager().onPlayerQuit(playerUuid);
+            SRMEssentials.getInstance().getChatLimiter().onPlayerQuit(playerUuid);
 
             // Clean up static command/event data
             MsgCommand.onPlayerQuit(playerUuid);
             FreecamCommand.onPlayerQuit(playerUuid);
-            SpawnRegionTitleEvent.onPlayerQuit(playerUuid);
         });
         
         Log.info("Player disconnect cleanup registered.");
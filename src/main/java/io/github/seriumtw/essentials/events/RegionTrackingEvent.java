@@ -0,0 +1,56 @@
+package io.github.seriumtw.essentials.events;
+
+import com.hypixel.hytale.component.ArchetypeChunk;
+import com.hypixel.hytale.component.CommandBuffer;
+import com.hypixel.hytale.component.ComponentRegistryProxy;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.component.query.Query;
+import com.hypixel.hytale.component.system.tick.EntityTickingSystem;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import io.github.seriumtw.essentials.components.RegionPresence;
+import io.github.seriumtw.essentials.managers.RegionTracker;
+import org.jetbrains.annotations.NotNull;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Feeds player positions to the region tracker, which dispatches region enter/leave events.
+ */
+public class RegionTrackingEvent {
+    private final RegionTracker regionTracker;
+
+    public RegionTrackingEvent(@Nonnull RegionTracker regionTracker) {
+        this.regionTracker = regionTracker;
+    }
+
+    public void register(@Nonnull ComponentRegistryProxy<EntityStore> registry) {
+        registry.registerSystem(new RegionTrackingSystem(regionTracker));
+    }
+
+    /**
+     * Ticking system that hands each player's position and tracked state to the region tracker.
+     */
+    private static class RegionTrackingSystem extends EntityTickingSystem<EntityStore> {
+        private final RegionTracker regionTracker;
+
+        RegionTrackingSystem(@Nonnull RegionTracker regionTracker) {
+            this.regionTracker = regionTracker;
+        }
+
+        @Override
+        public Query<EntityStore> getQuery() {
+            // Players only
+            return PlayerRef.getComponentType();
+        }
+
+        @Override
+        public void tick(float deltaTime, int index, ArchetypeChunk<EntityStore> chunk,
+                         @NotNull Store<EntityStore> store, @NotNull CommandBuffer<EntityStore> buffer) {
+            PlayerRef playerRef = chunk.getComponent(index, PlayerRef.getComponentType());
+            RegionPresence presence = chunk.getComponent(index, RegionPresence.getComponentType());
+            regionTracker.tick(playerRef, chunk.getReferenceTo(index), presence,
+                    store.getExternalData().getWorld(), buffer);
+        }
+    }
+}
@@ -10,9 +10,11 @@ import com.hypixel.hytale.component.Store;
 import com.hypixel.hytale.component.query.Query;
 import com.hypixel.hytale.component.system.RefChangeSystem;
 import com.hypixel.hytale.server.core.modules.time.WorldTimeResource;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
-import io.github.seriumtw.essentials.util.ColorUtil;
+import io.github.seriumtw.essentials.managers.BroadcastManager;
+import io.github.seriumtw.essentials.models.Audience;
 import io.github.seriumtw.essentials.util.ConfigManager;
 import io.github.seriumtw.essentials.util.Log;
 import io.github.seriumtw.essentials.util.MessageManager;
@@ -29,14 +31,17 @@ import java.util.concurrent.atomic.AtomicInteger;
 public class SleepPercentageEvent {
     private final ConfigManager configManager;
     private final MessageManager messages;
+    private final BroadcastManager broadcastManager;
 
-    public SleepPercentageEvent(@Nonnull ConfigManager configManager, @Nonnull MessageManager messages) {
+    public SleepPercentageEvent(@Nonnull ConfigManager configManager, @Nonnull MessageManager messages,
+                                @Nonnull BroadcastManager broadcastManager) {
         this.configManager = configManager;
         this.messages = messages;
+        this.broadcastManager = broadcastManager;
     }
 
     public void register(@Nonnull ComponentRegistryProxy<EntityStore> registry) {
-        registry.registerSystem(new SleepTrackingSystem(configManager, messages));
+        registry.registerSystem(new SleepTrackingSystem(configManager, messages, broadcastManager));
     }
 
     /**
@@ -49,12 +54,14 @@ public class SleepPercentageEvent {
 
         private final ConfigManager config;
         private final MessageManager messages;
+        private final BroadcastManager broadcastManager;
         // Track sleeping players per world
         private final Map<String, AtomicInteger> sleepingCountPerWorld = new ConcurrentHashMap<>();
 
-        SleepTrackingSystem(ConfigManager config, MessageManager messages) {
+        SleepTrackingSystem(ConfigManager config, MessageManager messages, BroadcastManager broadcastManager) {
             this.config = config;
             this.messages = messages;
+            this.broadcastManager = broadcastManager;
         }
 
         @Override
@@ -64,7 +71,8 @@ public class SleepPercentageEvent {
 
         @Override
         public Query<EntityStore> getQuery() {
-            return Query.any();
+            // Players only
+            return PlayerRef.getComponentType();
         }
 
         @Override
@@ -176,10 +184,7 @@ public class SleepPercentageEvent {
             }
 
             // Broadcast message
-            String message = messages.get("sleep.skipping");
-            if (!message.isEmpty()) {
-                world.sendMessage(ColorUtil.colorize(message));
-            }
+            broadcastManager.broadcast(messages.get("sleep.skipping"), Audience.world(worldName));
             Log.info("Night skipped in world '" + worldName + "' due to sleep percentage.");
         }
     }
@@ -2,6 +2,7 @@ package io.github.seriumtw.essentials.events;
 
 import com.hypixel.hytale.component.ArchetypeChunk;
 import com.hypixel.hytale.component.CommandBuffer;
+import com.hypixel.hytale.component.Ref;
 import com.hypixel.hytale.component.ComponentRegistryProxy;
 import com.hypixel.hytale.component.Store;
 import com.hypixel.hytale.component.SystemGroup;
@@ -16,7 +17,9 @@ import com.hypixel.hytale.server.core.modules.entity.damage.DamageEventSystem;
 import com.hypixel.hytale.server.core.modules.entity.damage.DamageModule;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import io.github.seriumtw.essentials.components.RegionPresence;
 import io.github.seriumtw.essentials.managers.SpawnProtectionManager;
+import io.github.seriumtw.essentials.models.Region;
 import org.jetbrains.annotations.NotNull;
 
 import javax.annotation.Nonnull;
@@ -48,7 +51,7 @@ public class SpawnProtectionEvent {
             int index,
             @Nonnull com.hypixel.hytale.math.vector.Vector3i blockPos) {
         
-        if (!manager.isEnabled()) {
+        if (!manager.isActive()) {
             return false;
         }
 
@@ -60,7 +63,7 @@ public class SpawnProtectionEvent {
         }
 
         PlayerRef playerRef = chunk.getComponent(index, PlayerRef.getComponentType());
-        if (playerRef != null && manager.canBypass(playerRef.getUuid())) {
+        if (playerRef != null && !manager.isProtectedFor(playerRef.getUuid(), worldName, blockPos)) {
             return false;
         }
 
@@ -69,6 +72,9 @@ public class SpawnProtectionEvent {
     }
 
     public void register(@Nonnull ComponentRegistryProxy<EntityStore> registry) {
+        // The block systems query any entity, not just players, so non-player block edits are
+        // protected too. The damage filter only needs players.
+
         // Register block break protection
         registry.registerSystem(new BreakBlockProtectionSystem(spawnProtectionManager));
 
@@ -183,7 +189,10 @@ public class SpawnProtectionEvent {
 
     /**
      * Filters damage in spawn area by running in the FilterDamageGroup.
-     * When invulnerable is enabled, cancels ALL damage to players in spawn.
+     * When invulnerable is enabled, cancels ALL damage to players in spawn or in an invulnerable region.
+     * Also cancels damage between players when either of them is in a region with pvp = false.
+     * Region flags are read from the players' tracked {@link RegionPresence}, evaluated when they
+     * last crossed a block, so no region lookup is done per hit.
      */
     private static class SpawnDamageFilterSystem extends DamageEventSystem {
         
@@ -202,7 +211,8 @@ public class SpawnProtectionEvent {
 
         @Override
         public Query<EntityStore> getQuery() {
-            return Query.any();
+            // Players only
+            return PlayerRef.getComponentType();
         }
 
         @Override
@@ -210,28 +220,60 @@ public class SpawnProtectionEvent {
                            @NotNull Store<EntityStore> store,
                            @NotNull CommandBuffer<EntityStore> buffer,
                            @NotNull Damage event) {
-            // Only apply if spawn protection and invulnerability are both enabled
-            if (!manager.isEnabled() || !manager.isInvulnerableEnabled() || event.isCancelled()) {
+            // Only apply if spawn protection or a region can protect players
+            if (!manager.isActive() || event.isCancelled()) {
                 return;
             }
 
-            // Check if the victim is a player
-            PlayerRef victimRef = chunk.getComponent(index, PlayerRef.getComponentType());
-            if (victimRef == null) {
-                return;
+            RegionPresence victim = chunk.getComponent(index, RegionPresence.getComponentType());
+            boolean cancel;
+            if (victim != null) {
+                cancel = isInvulnerable(victim) || isBlockedPvp(store, event, victim);
+            } else {
+                // Not tracked yet (first tick after joining); look the position up instead
+                PlayerRef victimRef = chunk.getComponent(index, PlayerRef.getComponentType());
+                String worldName = store.getExternalData().getWorld().getName();
+                cancel = manager.isInvulnerableAt(worldName, victimRef.getTransform().getPosition());
             }
 
-            // Get current world name
-            String worldName = store.getExternalData().getWorld().getName();
+            if (cancel) {
+                event.setCancelled(true);
+                event.setAmount(0);
+            }
+        }
 
-            // Check if victim is in protected area
-            if (!manager.isInProtectedArea(worldName, victimRef.getTransform().getPosition())) {
-                return;
+        private static boolean isInvulnerable(@Nonnull RegionPresence presence) {
+            if (presence.isInSpawn() && presence.getSnapshot().isSpawnInvulnerable()) {
+                return true;
             }
+            Region region = presence.getRegion();
+            return region != null && region.isInvulnerable();
+        }
+
+        private static boolean allowsPvp(@Nonnull RegionPresence presence) {
+            Region region = presence.getRegion();
+            return region == null || region.allowsPvp();
+        }
 
-            // Cancel ALL damage when player is in spawn with invulnerability enabled
-            event.setCancelled(true);
-            event.setAmount(0);
+        /**
+         * Checks if the damage is a player attacking while the victim or the attacker is in a
+         * no-pvp region, so players can neither be hit in nor hit out of a safe zone.
+         */
+        private static boolean isBlockedPvp(@Nonnull Store<EntityStore> store, @Nonnull Damage event,
+                                            @Nonnull RegionPresence victim) {
+            if (!(event.getSource() instanceof Damage.EntitySource source)) {
+                return false;
+            }
+            Ref<EntityStore> attacker = source.getRef();
+            if (attacker == null || !attacker.isValid() || attacker.getStore() != store
+                    || store.getComponent(attacker, PlayerRef.getComponentType()) == null) {
+                return false;
+            }
+            if (!allowsPvp(victim)) {
+                return true;
+            }
+            RegionPresence attackerPresence = store.getComponent(attacker, RegionPresence.getComponentType());
+            return attackerPresence != null && !allowsPvp(attackerPresence);
         }
     }
 }
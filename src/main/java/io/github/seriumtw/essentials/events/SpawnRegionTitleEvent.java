@@ -1,120 +1,75 @@
 package io.github.seriumtw.essentials.events;
 
-import com.hypixel.hytale.component.ArchetypeChunk;
-import com.hypixel.hytale.component.CommandBuffer;
-import com.hypixel.hytale.component.ComponentRegistryProxy;
-import com.hypixel.hytale.component.Store;
-import com.hypixel.hytale.component.query.Query;
-import com.hypixel.hytale.component.system.tick.EntityTickingSystem;
 import com.hypixel.hytale.server.core.Message;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
-import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import com.hypixel.hytale.server.core.util.EventTitleUtil;
-import io.github.seriumtw.essentials.managers.SpawnProtectionManager;
+import io.github.seriumtw.essentials.api.RegionEnterEvent;
+import io.github.seriumtw.essentials.api.RegionLeaveEvent;
+import io.github.seriumtw.essentials.api.RegionListener;
+import io.github.seriumtw.essentials.managers.RegionManager;
+import io.github.seriumtw.essentials.managers.RegionTracker;
+import io.github.seriumtw.essentials.models.Region;
+import io.github.seriumtw.essentials.util.ColorUtil;
 import io.github.seriumtw.essentials.util.ConfigManager;
-import io.github.seriumtw.essentials.util.Log;
-import org.jetbrains.annotations.NotNull;
 
 import javax.annotation.Nonnull;
-import java.util.Map;
-import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 
-public class SpawnRegionTitleEvent {
-    private final SpawnProtectionManager spawnProtectionManager;
+/**
+ * Shows titles when players enter or leave the spawn area, and when they enter a named
+ * region that has a title set in regions.toml.
+ * Listens to the region tracker, so titles follow config reloads without re-registering.
+ */
+public class SpawnRegionTitleEvent implements RegionListener {
     private final ConfigManager configManager;
-    
-    // Static reference for cleanup access
-    private static final Map<UUID, Boolean> playerInSpawn = new ConcurrentHashMap<>();
+    private final RegionManager regionManager;
 
-    public SpawnRegionTitleEvent(@Nonnull SpawnProtectionManager spawnProtectionManager, 
-                                  @Nonnull ConfigManager configManager) {
-        this.spawnProtectionManager = spawnProtectionManager;
+    public SpawnRegionTitleEvent(@Nonnull ConfigManager configManager, @Nonnull RegionManager regionManager) {
         this.configManager = configManager;
+        this.regionManager = regionManager;
     }
 
-    public void register(@Nonnull ComponentRegistryProxy<EntityStore> registry) {
-        if (!spawnProtectionManager.isEnabled() || !configManager.isSpawnProtectionShowTitles()) {
-            return;
-        }
-
-        registry.registerSystem(new SpawnRegionTitleSystem(spawnProtectionManager, configManager));
-        Log.info("Spawn region titles enabled.");
+    public void register(@Nonnull RegionTracker regionTracker) {
+        regionTracker.addListener(this);
     }
 
-    /**
-     * Clean up player data when they disconnect.
-     */
-    public static void onPlayerQuit(UUID uuid) {
-        playerInSpawn.remove(uuid);
+    @Override
+    public void onEnter(@Nonnull RegionEnterEvent event) {
+        if (!RegionTracker.SPAWN_REGION.equals(event.regionId())) {
+            showRegionTitle(event);
+            return;
+        }
+        if (!configManager.isSpawnProtectionShowTitles()) {
+            return;
+        }
+        showTitle(event.player(), configManager.getSpawnProtectionEnterTitle(),
+                configManager.getSpawnProtectionEnterSubtitle(), true);
     }
 
-    /**
-     * Ticking system that detects when players enter/exit spawn area and shows titles.
-     */
-    private static class SpawnRegionTitleSystem extends EntityTickingSystem<EntityStore> {
-        private final SpawnProtectionManager manager;
-        private final ConfigManager config;
-
-        SpawnRegionTitleSystem(SpawnProtectionManager manager, ConfigManager config) {
-            this.manager = manager;
-            this.config = config;
+    @Override
+    public void onLeave(@Nonnull RegionLeaveEvent event) {
+        if (!RegionTracker.SPAWN_REGION.equals(event.regionId()) || !configManager.isSpawnProtectionShowTitles()) {
+            return;
         }
+        showTitle(event.player(), configManager.getSpawnProtectionExitTitle(),
+                configManager.getSpawnProtectionExitSubtitle(), false);
+    }
 
-        @Override
-        public Query<EntityStore> getQuery() {
-            return Query.any();
+    private void showRegionTitle(@Nonnull RegionEnterEvent event) {
+        Region region = regionManager.getRegion(event.regionId());
+        if (region == null || region.getFlags().title().isEmpty()) {
+            return;
         }
+        EventTitleUtil.hideEventTitleFromPlayer(event.player(), 0);
+        EventTitleUtil.showEventTitleToPlayer(event.player(),
+                ColorUtil.colorizeCached(region.getFlags().title()), Message.raw(""), true);
+    }
 
-        @Override
-        public void tick(float deltaTime, int index, ArchetypeChunk<EntityStore> chunk,
-                         @NotNull Store<EntityStore> store, @NotNull CommandBuffer<EntityStore> buffer) {
-            PlayerRef playerRef = chunk.getComponent(index, PlayerRef.getComponentType());
-            if (playerRef == null) {
-                return;
-            }
-
-            UUID uuid = playerRef.getUuid();
-            String worldName = store.getExternalData().getWorld().getName();
-            boolean isInSpawn = manager.isInProtectedArea(worldName, playerRef.getTransform().getPosition());
-            Boolean wasInSpawn = playerInSpawn.get(uuid);
-
-            // First time seeing this player, just record state
-            if (wasInSpawn == null) {
-                playerInSpawn.put(uuid, isInSpawn);
-                return;
-            }
-
-            // Check for state change
-            if (isInSpawn && !wasInSpawn) {
-                // Player entered spawn
-                String enterTitle = config.getSpawnProtectionEnterTitle();
-                String enterSubtitle = config.getSpawnProtectionEnterSubtitle();
-                if (!enterTitle.isEmpty() || !enterSubtitle.isEmpty()) {
-                    EventTitleUtil.hideEventTitleFromPlayer(playerRef, 0);
-                    EventTitleUtil.showEventTitleToPlayer(
-                            playerRef,
-                            Message.raw(enterTitle),
-                            Message.raw(enterSubtitle),
-                            true
-                    );
-                }
-            } else if (!isInSpawn && wasInSpawn) {
-                // Player left spawn
-                String exitTitle = config.getSpawnProtectionExitTitle();
-                String exitSubtitle = config.getSpawnProtectionExitSubtitle();
-                if (!exitTitle.isEmpty() || !exitSubtitle.isEmpty()) {
-                    EventTitleUtil.hideEventTitleFromPlayer(playerRef, 0);
-                    EventTitleUtil.showEventTitleToPlayer(
-                            playerRef,
-                            Message.raw(exitTitle),
-                            Message.raw(exitSubtitle),
-                            false
-                    );
-                }
-            }
-
-            playerInSpawn.put(uuid, isInSpawn);
+    private static void showTitle(@Nonnull PlayerRef playerRef, @Nonnull String title, @Nonnull String subtitle,
+                                  boolean major) {
+        if (title.isEmpty() && subtitle.isEmpty()) {
+            return;
         }
+        EventTitleUtil.hideEventTitleFromPlayer(playerRef, 0);
+        EventTitleUtil.showEventTitleToPlayer(playerRef, Message.raw(title), Message.raw(subtitle), major);
     }
 }
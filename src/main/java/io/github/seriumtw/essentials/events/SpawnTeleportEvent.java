@@ -114,7 +114,8 @@ public class SpawnTeleportEvent {
 
         @Override
         public Query<EntityStore> getQuery() {
-            return Query.any();
+            // Players only
+            return PlayerRef.getComponentType();
         }
 
         @Override
@@ -10,6 +10,7 @@ import com.hypixel.hytale.component.system.tick.EntityTickingSystem;
 import com.hypixel.hytale.math.vector.Vector3d;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import io.github.seriumtw.essentials.components.TeleportWarmup;
 import io.github.seriumtw.essentials.managers.TeleportManager;
 import org.jetbrains.annotations.NotNull;
 
@@ -17,6 +18,8 @@ import javax.annotation.Nonnull;
 
 /**
  * Checks player movement each tick and cancels pending teleports if they move too far.
+ * Only players with a {@link TeleportWarmup} are visited; the warmup is removed
+ * once the teleport runs or is cancelled.
  */
 public class TeleportMovementEvent {
     private final TeleportManager teleportManager;
@@ -41,27 +44,20 @@ public class TeleportMovementEvent {
 
         @Override
         public Query<EntityStore> getQuery() {
-            return Query.any();
+            return Query.and(PlayerRef.getComponentType(), TeleportWarmup.getComponentType());
         }
 
         @Override
         public void tick(float deltaTime, int index, ArchetypeChunk<EntityStore> chunk,
                          @NotNull Store<EntityStore> store, @NotNull CommandBuffer<EntityStore> buffer) {
             PlayerRef playerRef = chunk.getComponent(index, PlayerRef.getComponentType());
-            if (playerRef == null) {
-                return;
-            }
-
-            // Only check if player has a pending teleport
-            if (!teleportManager.hasPendingTeleport(playerRef.getUuid())) {
-                return;
-            }
+            TeleportWarmup warmup = chunk.getComponent(index, TeleportWarmup.getComponentType());
 
             // Get the current entity ref from this tick (not the stored one from command time)
             Ref<EntityStore> currentRef = chunk.getReferenceTo(index);
-            
+
             Vector3d currentPosition = playerRef.getTransform().getPosition();
-            teleportManager.tick(playerRef.getUuid(), currentRef, currentPosition, deltaTime, buffer);
+            teleportManager.tick(playerRef, currentRef, warmup, currentPosition, deltaTime, buffer);
         }
     }
 }
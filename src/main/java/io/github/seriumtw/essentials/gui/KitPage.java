@@ -16,7 +16,6 @@ import com.hypixel.hytale.protocol.packets.interface_.CustomUIEventBindingType;
 import com.hypixel.hytale.server.core.entity.entities.Player;
 import com.hypixel.hytale.server.core.entity.entities.player.pages.InteractiveCustomUIPage;
 import com.hypixel.hytale.server.core.inventory.Inventory;
-import com.hypixel.hytale.server.core.permissions.PermissionsModule;
 import com.hypixel.hytale.server.core.ui.builder.EventData;
 import com.hypixel.hytale.server.core.ui.builder.UICommandBuilder;
 import com.hypixel.hytale.server.core.ui.builder.UIEventBuilder;
@@ -28,6 +27,7 @@ import io.github.seriumtw.essentials.models.Kit;
 import io.github.seriumtw.essentials.util.ConfigManager;
 import io.github.seriumtw.essentials.util.CooldownUtil;
 import io.github.seriumtw.essentials.util.MessageManager;
+import io.github.seriumtw.essentials.util.PermissionCache;
 import io.github.seriumtw.essentials.util.Msg;
 
 /**
@@ -39,12 +39,14 @@ public class KitPage extends InteractiveCustomUIPage<KitPage.KitPageData> {
     private final KitManager kitManager;
     private final ConfigManager configManager;
     private final MessageManager messages;
+    private final PermissionCache permissions;
 
     public KitPage(@Nonnull PlayerRef playerRef, @Nonnull KitManager kitManager, @Nonnull ConfigManager configManager) {
         super(playerRef, CustomPageLifetime.CanDismiss, KitPageData.CODEC);
         this.kitManager = kitManager;
         this.configManager = configManager;
         this.messages = SRMEssentials.getInstance().getMessageManager();
+        this.permissions = SRMEssentials.getInstance().getPermissionCache();
     }
 
     @Override
@@ -96,7 +98,7 @@ public class KitPage extends InteractiveCustomUIPage<KitPage.KitPageData> {
 
                 // Check permission and cooldown status
                 String permission = "essentials.kit." + kit.getId();
-                boolean hasPermission = PermissionsModule.get().hasPermission(playerRef.getUuid(), permission);
+                boolean hasPermission = permissions.has(playerRef.getUuid(), permission);
 
                 String status;
                 if (!hasPermission) {
@@ -129,25 +131,25 @@ public class KitPage extends InteractiveCustomUIPage<KitPage.KitPageData> {
 
         Kit kit = kitManager.getKit(data.kit);
         if (kit == null) {
-            Msg.send(playerRef, messages.get("gui.kit.not-found"));
+            Msg.send(playerRef, messages.format("gui.kit.not-found"));
             this.close();
             return;
         }
 
         // Check permission
         String permission = "essentials.kit." + kit.getId();
-        if (!PermissionsModule.get().hasPermission(playerRef.getUuid(), permission)) {
-            Msg.send(playerRef, messages.get("gui.kit.no-permission"));
+        if (!permissions.has(playerRef.getUuid(), permission)) {
+            Msg.send(playerRef, messages.format("gui.kit.no-permission"));
             this.close();
             return;
         }
 
         // Check cooldown (unless player has bypass permission)
-        boolean canBypassCooldown = PermissionsModule.get().hasPermission(playerRef.getUuid(), COOLDOWN_BYPASS_PERMISSION);
+        boolean canBypassCooldown = permissions.has(playerRef.getUuid(), COOLDOWN_BYPASS_PERMISSION);
         if (!canBypassCooldown) {
             long remainingCooldown = kitManager.getRemainingCooldown(playerRef.getUuid(), kit.getId());
             if (remainingCooldown > 0) {
-                Msg.send(playerRef, messages.get("gui.kit.cooldown", Map.of("time", CooldownUtil.formatCooldown(remainingCooldown))));
+                Msg.send(playerRef, messages.format("gui.kit.cooldown", Map.of("time", CooldownUtil.formatCooldown(remainingCooldown))));
                 this.close();
                 return;
             }
@@ -156,14 +158,14 @@ public class KitPage extends InteractiveCustomUIPage<KitPage.KitPageData> {
         // Get player inventory
         Player player = store.getComponent(ref, Player.getComponentType());
         if (player == null) {
-            Msg.send(playerRef, messages.get("gui.kit.inventory-error"));
+            Msg.send(playerRef, messages.format("gui.kit.inventory-error"));
             this.close();
             return;
         }
 
         Inventory inventory = player.getInventory();
         if (inventory == null) {
-            Msg.send(playerRef, messages.get("gui.kit.inventory-error"));
+            Msg.send(playerRef, messages.format("gui.kit.inventory-error"));
             this.close();
             return;
         }
@@ -179,7 +181,7 @@ public class KitPage extends InteractiveCustomUIPage<KitPage.KitPageData> {
             kitManager.setKitUsed(playerRef.getUuid(), kit.getId());
         }
 
-        Msg.send(playerRef, messages.get("gui.kit.received", Map.of("kit", kit.getDisplayName())));
+        Msg.send(playerRef, messages.format("gui.kit.received", Map.of("kit", kit.getDisplayName())));
         this.close();
     }
 
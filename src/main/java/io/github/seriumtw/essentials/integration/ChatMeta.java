@@ -0,0 +1,11 @@
+package io.github.seriumtw.essentials.integration;
+
+import javax.annotation.Nonnull;
+
+/**
+ * A player's chat-related metadata from SRM-Perms, resolved in a single call.
+ * Values are never null; missing values are empty strings.
+ */
+public record ChatMeta(@Nonnull String prefix, @Nonnull String suffix, @Nonnull String group) {
+    public static final ChatMeta EMPTY = new ChatMeta("", "", "");
+}
@@ -4,8 +4,12 @@ import io.github.seriumtw.essentials.util.Log;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 /**
  * Integration bridge for SRM-Perms API.
@@ -16,16 +20,28 @@ import java.util.UUID;
  * - Player suffix (from group metadata)
  * - Player's primary group name
  * - Custom meta values
+ * - Notifications when a user's or group's permission data changes
+ *
+ * All API methods are looked up once in {@link #init()} against the API interfaces and kept
+ * as method handles, so a lookup is a chain of direct calls with no reflection.
  */
 public final class SRMPermsIntegration {
     
-    private static boolean available = false;
+    private static volatile boolean available = false;
     private static boolean initialized = false;
     
-    // Cached API instance and methods for performance
+    // Cached API instance
     private static Object api = null;
-    private static Method getUserManagerMethod = null;
-    private static Method getUserMethod = null;
+
+    // Resolved once in init(), adapted to take Object (and return Object or String)
+    private static MethodHandle getUserManager = null;   // () -> UserManager, bound to the API
+    private static MethodHandle getUser = null;          // (UserManager, UUID) -> User
+    private static MethodHandle getCachedData = null;    // (User) -> CachedData
+    private static MethodHandle getMetaData = null;      // (CachedData) -> CachedMetaData
+    private static MethodHandle getPrefix = null;        // (CachedMetaData) -> String
+    private static MethodHandle getSuffix = null;        // (CachedMetaData) -> String
+    private static MethodHandle getPrimaryGroup = null;  // (CachedMetaData) -> String
+    private static MethodHandle getMetaValue = null;     // (CachedMetaData, String) -> String
     
     private SRMPermsIntegration() {
         // Utility class
@@ -56,10 +72,7 @@ public final class SRMPermsIntegration {
                 return;
             }
             
-            // Cache method references for better performance
-            getUserManagerMethod = api.getClass().getMethod("getUserManager");
-            Object userManager = getUserManagerMethod.invoke(api);
-            getUserMethod = userManager.getClass().getMethod("getUser", UUID.class);
+            resolveHandles();
             
             available = true;
             Log.info("SRM-Perms integration enabled! Chat will use prefix/suffix from SRM-Perms.");
@@ -75,11 +88,62 @@ public final class SRMPermsIntegration {
             Log.warning("SRM-Perms API not loaded: " + e.getMessage());
             
         } catch (Exception e) {
-            // Unexpected error
+            // Unexpected error (including an API without the expected methods)
             available = false;
             Log.warning("Failed to initialize SRM-Perms integration: " + e.getMessage());
         }
     }
+
+    /**
+     * Looks up the method chain API -> UserManager -> User -> CachedData -> CachedMetaData.
+     * Each step is resolved on the declared return type of the previous one (the public API
+     * interface), not on the implementation class, so the handles work for any implementation.
+     */
+    private static void resolveHandles() throws ReflectiveOperationException {
+        MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+
+        Method userManagerMethod = findApiMethod(api.getClass(), "getUserManager");
+        getUserManager = lookup.unreflect(userManagerMethod).bindTo(api)
+                .asType(MethodType.genericMethodType(0));
+
+        Method userMethod = userManagerMethod.getReturnType().getMethod("getUser", UUID.class);
+        getUser = generic(lookup.unreflect(userMethod));
+
+        Method cachedDataMethod = userMethod.getReturnType().getMethod("getCachedData");
+        getCachedData = generic(lookup.unreflect(cachedDataMethod));
+
+        Method metaDataMethod = cachedDataMethod.getReturnType().getMethod("getMetaData");
+        getMetaData = generic(lookup.unreflect(metaDataMethod));
+
+        Class<?> metaType = metaDataMethod.getReturnType();
+        MethodType stringGetter = MethodType.methodType(String.class, Object.class);
+        getPrefix = lookup.unreflect(metaType.getMethod("getPrefix")).asType(stringGetter);
+        getSuffix = lookup.unreflect(metaType.getMethod("getSuffix")).asType(stringGetter);
+        getPrimaryGroup = lookup.unreflect(metaType.getMethod("getPrimaryGroup")).asType(stringGetter);
+        getMetaValue = lookup.unreflect(metaType.getMethod("getMetaValue", String.class))
+                .asType(MethodType.methodType(String.class, Object.class, String.class));
+    }
+
+    /**
+     * Finds a method on the API through a public type (the API instance itself is usually
+     * a non-public implementation class).
+     */
+    @Nonnull
+    private static Method findApiMethod(@Nonnull Class<?> type, @Nonnull String name) throws NoSuchMethodException {
+        for (Class<?> iface : type.getInterfaces()) {
+            try {
+                return iface.getMethod(name);
+            } catch (NoSuchMethodException ignored) {
+                // Try the next interface
+            }
+        }
+        return type.getMethod(name);
+    }
+
+    @Nonnull
+    private static MethodHandle generic(@Nonnull MethodHandle handle) {
+        return handle.asType(MethodType.genericMethodType(handle.type().parameterCount()));
+    }
     
     /**
      * Checks if SRM-Perms integration is available.
@@ -88,34 +152,45 @@ public final class SRMPermsIntegration {
     public static boolean isAvailable() {
         return available;
     }
-    
+
     /**
-     * Gets the prefix for a player from SRM-Perms.
+     * Gets a player's prefix, suffix and primary group in one lookup.
      * @param uuid the player's UUID
-     * @return the prefix, or empty string if not available
+     * @return the chat metadata, or {@link ChatMeta#EMPTY} if not available
      */
     @Nonnull
-    public static String getPrefix(@Nonnull UUID uuid) {
+    public static ChatMeta resolveChatMeta(@Nonnull UUID uuid) {
         if (!available) {
-            return "";
+            return ChatMeta.EMPTY;
         }
-        
+
         try {
-            Object metaData = getMetaData(uuid);
+            Object metaData = lookupMetaData(uuid);
             if (metaData == null) {
-                return "";
+                return ChatMeta.EMPTY;
             }
-            
-            Method getPrefixMethod = metaData.getClass().getMethod("getPrefix");
-            String prefix = (String) getPrefixMethod.invoke(metaData);
-            return prefix != null ? prefix : "";
-            
-        } catch (Exception e) {
-            Log.warning("Failed to get prefix from SRM-Perms: " + e.getMessage());
-            return "";
+
+            return new ChatMeta(
+                    nonNull((String) getPrefix.invokeExact(metaData)),
+                    nonNull((String) getSuffix.invokeExact(metaData)),
+                    nonNull((String) getPrimaryGroup.invokeExact(metaData)));
+
+        } catch (Throwable e) {
+            Log.warning("Failed to get chat metadata from SRM-Perms: " + e.getMessage());
+            return ChatMeta.EMPTY;
         }
     }
     
+    /**
+     * Gets the prefix for a player from SRM-Perms.
+     * @param uuid the player's UUID
+     * @return the prefix, or empty string if not available
+     */
+    @Nonnull
+    public static String getPrefix(@Nonnull UUID uuid) {
+        return resolveChatMeta(uuid).prefix();
+    }
+    
     /**
      * Gets the suffix for a player from SRM-Perms.
      * @param uuid the player's UUID
@@ -123,24 +198,7 @@ public final class SRMPermsIntegration {
      */
     @Nonnull
     public static String getSuffix(@Nonnull UUID uuid) {
-        if (!available) {
-            return "";
-        }
-        
-        try {
-            Object metaData = getMetaData(uuid);
-            if (metaData == null) {
-                return "";
-            }
-            
-            Method getSuffixMethod = metaData.getClass().getMethod("getSuffix");
-            String suffix = (String) getSuffixMethod.invoke(metaData);
-            return suffix != null ? suffix : "";
-            
-        } catch (Exception e) {
-            Log.warning("Failed to get suffix from SRM-Perms: " + e.getMessage());
-            return "";
-        }
+        return resolveChatMeta(uuid).suffix();
     }
     
     /**
@@ -150,24 +208,7 @@ public final class SRMPermsIntegration {
      */
     @Nonnull
     public static String getPrimaryGroup(@Nonnull UUID uuid) {
-        if (!available) {
-            return "";
-        }
-        
-        try {
-            Object metaData = getMetaData(uuid);
-            if (metaData == null) {
-                return "";
-            }
-            
-            Method getPrimaryGroupMethod = metaData.getClass().getMethod("getPrimaryGroup");
-            String group = (String) getPrimaryGroupMethod.invoke(metaData);
-            return group != null ? group : "";
-            
-        } catch (Exception e) {
-            Log.warning("Failed to get primary group from SRM-Perms: " + e.getMessage());
-            return "";
-        }
+        return resolveChatMeta(uuid).group();
     }
     
     /**
@@ -183,46 +224,126 @@ public final class SRMPermsIntegration {
         }
         
         try {
-            Object metaData = getMetaData(uuid);
+            Object metaData = lookupMetaData(uuid);
             if (metaData == null) {
                 return null;
             }
             
-            Method getMetaValueMethod = metaData.getClass().getMethod("getMetaValue", String.class);
-            return (String) getMetaValueMethod.invoke(metaData, key);
+            return (String) getMetaValue.invokeExact(metaData, key);
             
-        } catch (Exception e) {
+        } catch (Throwable e) {
             Log.warning("Failed to get meta value '" + key + "' from SRM-Perms: " + e.getMessage());
             return null;
         }
     }
     
+    /**
+     * Subscribes to SRM-Perms data changes, so cached permission results can be dropped
+     * as soon as they become stale.
+     * @param userChanged called with the player's UUID when a user's data is recalculated
+     * @param groupChanged called when a group's data is recalculated (may affect anyone)
+     * @return true if subscribed, false if SRM-Perms is unavailable or has no event bus
+     */
+    public static boolean subscribeChanges(@Nonnull Consumer<UUID> userChanged, @Nonnull Runnable groupChanged) {
+        if (!available) {
+            return false;
+        }
+
+        try {
+            // Resolved on the API interfaces like in init(); the instances are implementation classes
+            Method eventBusMethod = findApiMethod(api.getClass(), "getEventBus");
+            Object eventBus = eventBusMethod.invoke(api);
+            Method subscribeMethod = eventBusMethod.getReturnType().getMethod("subscribe", Class.class, Consumer.class);
+
+            Class<?> userEventClass = Class.forName("io.github.seriumtw.perms.api.event.user.UserDataRecalculateEvent");
+            Method eventUserMethod = userEventClass.getMethod("getUser");
+            Method userUuidMethod = findUuidAccessor(eventUserMethod.getReturnType());
+            Consumer<Object> userHandler = event -> {
+                UUID uuid = getEventUserUuid(event, eventUserMethod, userUuidMethod);
+                if (uuid != null) {
+                    userChanged.accept(uuid);
+                }
+            };
+            subscribeMethod.invoke(eventBus, userEventClass, userHandler);
+
+            try {
+                Class<?> groupEventClass = Class.forName("io.github.seriumtw.perms.api.event.group.GroupDataRecalculateEvent");
+                Consumer<Object> groupHandler = event -> groupChanged.run();
+                subscribeMethod.invoke(eventBus, groupEventClass, groupHandler);
+            } catch (ClassNotFoundException e) {
+                // Older SRM-Perms without group events; user events still cover direct changes
+            }
+            return true;
+
+        } catch (ClassNotFoundException | NoSuchMethodException e) {
+            Log.info("SRM-Perms does not provide change events. Permission checks are cached with a TTL only.");
+            return false;
+
+        } catch (Exception e) {
+            Log.warning("Failed to subscribe to SRM-Perms events: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Finds the UUID accessor on the API's user type.
+     */
+    @Nonnull
+    private static Method findUuidAccessor(@Nonnull Class<?> userType) throws NoSuchMethodException {
+        for (String name : new String[]{"getUniqueId", "getUuid"}) {
+            try {
+                return userType.getMethod(name);
+            } catch (NoSuchMethodException ignored) {
+                // Try the next accessor name
+            }
+        }
+        throw new NoSuchMethodException(userType.getName() + " has no UUID accessor");
+    }
+
+    /**
+     * Gets the UUID of the user a recalculate event is about.
+     */
+    @Nullable
+    private static UUID getEventUserUuid(@Nonnull Object event, @Nonnull Method eventUserMethod,
+                                         @Nonnull Method userUuidMethod) {
+        try {
+            Object user = eventUserMethod.invoke(event);
+            return user != null ? (UUID) userUuidMethod.invoke(user) : null;
+        } catch (Exception e) {
+            Log.warning("Failed to read SRM-Perms event user: " + e.getMessage());
+            return null;
+        }
+    }
+
     /**
      * Internal method to get the CachedMetaData for a user.
      */
     @Nullable
-    private static Object getMetaData(@Nonnull UUID uuid) throws Exception {
+    private static Object lookupMetaData(@Nonnull UUID uuid) throws Throwable {
         // Get UserManager
-        Object userManager = getUserManagerMethod.invoke(api);
+        Object userManager = (Object) getUserManager.invokeExact();
         if (userManager == null) {
             return null;
         }
         
         // Get User (may be null if player is offline/not loaded)
-        Object user = getUserMethod.invoke(userManager, uuid);
+        Object user = (Object) getUser.invokeExact(userManager, (Object) uuid);
         if (user == null) {
             return null;
         }
         
         // Get CachedData
-        Method getCachedDataMethod = user.getClass().getMethod("getCachedData");
-        Object cachedData = getCachedDataMethod.invoke(user);
+        Object cachedData = (Object) getCachedData.invokeExact(user);
         if (cachedData == null) {
             return null;
         }
         
         // Get MetaData
-        Method getMetaDataMethod = cachedData.getClass().getMethod("getMetaData");
-        return getMetaDataMethod.invoke(cachedData);
+        return (Object) getMetaData.invokeExact(cachedData);
+    }
+
+    @Nonnull
+    private static String nonNull(@Nullable String value) {
+        return value != null ? value : "";
     }
 }
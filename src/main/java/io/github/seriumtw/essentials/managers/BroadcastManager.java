@@ -0,0 +1,168 @@
+package io.github.seriumtw.essentials.managers;
+
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.server.core.Message;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.Universe;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import io.github.seriumtw.essentials.SRMEssentials;
+import io.github.seriumtw.essentials.models.Audience;
+import io.github.seriumtw.essentials.util.ColorUtil;
+import io.github.seriumtw.essentials.util.Log;
+import io.github.seriumtw.essentials.util.PermissionCache;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sends one message to many players (join/leave messages, /shout, sleep notices).
+ *
+ * The message is colorized once by the caller (or once here for plain strings) and the same
+ * Message is sent to every recipient. Recipients are filtered by {@link Audience} and grouped
+ * by world; each world gets a single task on its own thread that sends to all of its
+ * recipients, so position checks (radius) read positions on the thread that owns them.
+ * Players not in a world yet (e.g. still connecting) are sent to directly.
+ */
+public class BroadcastManager {
+    private final PermissionCache permissions;
+
+    private final LongAdder broadcasts = new LongAdder();
+    private final LongAdder recipients = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    public BroadcastManager() {
+        this.permissions = SRMEssentials.getInstance().getPermissionCache();
+    }
+
+    /**
+     * Colorizes a message once and broadcasts it.
+     */
+    public void broadcast(@Nonnull String message, @Nonnull Audience audience) {
+        if (!message.isEmpty()) {
+            broadcast(ColorUtil.colorize(message), audience);
+        }
+    }
+
+    /**
+     * Broadcasts an already styled message. The message is shared by all recipients and must
+     * not be modified afterwards.
+     */
+    public void broadcast(@Nonnull Message message, @Nonnull Audience audience) {
+        long start = System.nanoTime();
+        Map<World, List<PlayerRef>> byWorld = new HashMap<>();
+        List<PlayerRef> direct = new ArrayList<>();
+
+        for (PlayerRef player : Universe.get().getPlayers()) {
+            if (audience.excluded().contains(player.getUuid())) {
+                continue;
+            }
+            if (audience.permission() != null && !permissions.has(player.getUuid(), audience.permission())) {
+                continue;
+            }
+
+            World world = getWorld(player);
+            if (world == null) {
+                // Not placed in a world yet; only world-independent audiences include them
+                if (audience.world() == null && !audience.hasRadius()) {
+                    direct.add(player);
+                }
+                continue;
+            }
+            if (audience.world() != null && !audience.world().equals(world.getName())) {
+                continue;
+            }
+            byWorld.computeIfAbsent(world, w -> new ArrayList<>()).add(player);
+        }
+
+        Delivery delivery = new Delivery(start, byWorld.size() + 1);
+        for (Map.Entry<World, List<PlayerRef>> entry : byWorld.entrySet()) {
+            List<PlayerRef> batch = entry.getValue();
+            try {
+                entry.getKey().execute(() -> delivery.done(send(message, audience, batch)));
+            } catch (Exception e) {
+                Log.warning("Failed to schedule broadcast in world '" + entry.getKey().getName() + "': " + e.getMessage());
+                delivery.done(0);
+            }
+        }
+        // Players outside worlds, sent on the caller's thread
+        delivery.done(send(message, Audience.all(), direct));
+    }
+
+    /**
+     * Sends to a batch of players, checking the radius if the audience has one.
+     * @return The number of players the message was sent to
+     */
+    private int send(@Nonnull Message message, @Nonnull Audience audience, @Nonnull List<PlayerRef> batch) {
+        int sent = 0;
+        for (PlayerRef player : batch) {
+            try {
+                if (audience.hasRadius() && !audience.isInRange(player.getTransform().getPosition())) {
+                    continue;
+                }
+                player.sendMessage(message);
+                sent++;
+            } catch (Exception e) {
+                // Player disconnected while the batch was queued
+                Log.warning("Failed to send broadcast to " + player.getUsername() + ": " + e.getMessage());
+            }
+        }
+        return sent;
+    }
+
+    @Nullable
+    private World getWorld(@Nonnull PlayerRef player) {
+        Ref<EntityStore> ref = player.getReference();
+        if (ref == null || !ref.isValid()) {
+            return null;
+        }
+        return ref.getStore().getExternalData().getWorld();
+    }
+
+    /**
+     * Gets a one-line summary of broadcast metrics for /essentials stats.
+     */
+    @Nonnull
+    public String describeStats() {
+        long count = broadcasts.sum();
+        long sent = recipients.sum();
+        double avgRecipients = count == 0 ? 0.0 : (double) sent / count;
+        double avgMillis = count == 0 ? 0.0 : totalNanos.sum() / (count * 1_000_000.0);
+        double maxMillis = maxNanos.get() / 1_000_000.0;
+        return String.format("%d broadcasts, %d recipients (%.1f avg), %.2fms avg, %.2fms max delivery",
+                count, sent, avgRecipients, avgMillis, maxMillis);
+    }
+
+    /**
+     * Tracks the world batches of one broadcast and records its metrics when the last one is done.
+     */
+    private final class Delivery {
+        private final long start;
+        private final AtomicInteger remaining;
+        private final AtomicInteger sent = new AtomicInteger();
+
+        Delivery(long start, int batches) {
+            this.start = start;
+            this.remaining = new AtomicInteger(batches);
+        }
+
+        void done(int batchSent) {
+            sent.addAndGet(batchSent);
+            if (remaining.decrementAndGet() == 0) {
+                long elapsed = System.nanoTime() - start;
+                broadcasts.increment();
+                recipients.add(sent.get());
+                totalNanos.add(elapsed);
+                maxNanos.accumulateAndGet(elapsed, Math::max);
+            }
+        }
+    }
+}
@@ -4,14 +4,35 @@ import com.hypixel.hytale.server.core.Message;
 import com.hypixel.hytale.server.core.event.events.player.PlayerChatEvent;
 import com.hypixel.hytale.server.core.permissions.PermissionsModule;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
+import io.github.seriumtw.essentials.SRMEssentials;
+import io.github.seriumtw.essentials.integration.ChatMeta;
 import io.github.seriumtw.essentials.integration.SRMPermsIntegration;
-import io.github.seriumtw.essentials.util.ColorUtil;
+import io.github.seriumtw.essentials.models.ChatMessage;
+import io.github.seriumtw.essentials.util.ChatLimiter;
+import io.github.seriumtw.essentials.util.ColorTemplate;
 import io.github.seriumtw.essentials.util.ConfigManager;
+import io.github.seriumtw.essentials.util.Log;
+import io.github.seriumtw.essentials.util.MessageManager;
+import io.github.seriumtw.essentials.util.Msg;
+import io.github.seriumtw.essentials.util.PermissionCache;
+import io.github.seriumtw.essentials.util.Template;
 
 import javax.annotation.Nonnull;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.regex.Pattern;
 
 /**
@@ -24,16 +45,201 @@ import java.util.regex.Pattern;
  * When SRM-Perms is NOT available:
  * - Falls back to group-based formats from config.toml
  * - Uses [chat.fallback-formats] section
+ *
+ * Each online player's resolved prefix, suffix, group and format (with everything but the
+ * message already filled in and its color codes already parsed) is cached, so formatting a
+ * message is a map lookup plus splicing the message into the styled parts. The cache is filled on connect and dropped when SRM-Perms reports a change,
+ * on /essentials reload, on disconnect, or after the permission cache TTL.
+ *
+ * Messages go through a pipeline of stages (sanitize, filter, format, route; see
+ * {@link ChatStage}) on a small pool of chat threads instead of the network/event threads.
+ * The pipeline runs even when chat formatting is disabled, so spam filtering still applies;
+ * only the sanitize and format stages are skipped then.
+ * The pool's queue is bounded: when it is half full and the overload policy is "slow", each
+ * player can only send one message every few seconds; when it is full, messages are dropped.
  */
 public class ChatManager {
     private static final String COLOR_PERMISSION = "essentials.chat.color";
     // Matches color codes (&0-&f, &#RRGGBB) and formatting codes (&l, &r)
     private static final Pattern FORMAT_CODE_PATTERN = Pattern.compile("&[0-9a-fA-FlLrR]|&#[0-9a-fA-F]{6}");
+    private static final String MESSAGE_PLACEHOLDER = "message";
 
     private final ConfigManager configManager;
+    private final PermissionCache permissions;
+    private final MessageManager messages;
+    private final ChatLimiter limiter;
+    private final ConcurrentHashMap<UUID, ChatIdentity> identities = new ConcurrentHashMap<>();
+
+    private final Map<ChatStage.Phase, List<ChatStage>> stages = new EnumMap<>(ChatStage.Phase.class);
+    private final ThreadPoolExecutor executor;
+    // When each player's last message was accepted while chat was in slow mode
+    private final ConcurrentHashMap<UUID, Long> lastAccepted = new ConcurrentHashMap<>();
+
+    private final LongAdder processed = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder processingNanos = new LongAdder();
 
     public ChatManager(@Nonnull ConfigManager configManager) {
         this.configManager = configManager;
+        this.permissions = SRMEssentials.getInstance().getPermissionCache();
+        this.messages = SRMEssentials.getInstance().getMessageManager();
+        this.limiter = SRMEssentials.getInstance().getChatLimiter();
+
+        for (ChatStage.Phase phase : ChatStage.Phase.values()) {
+            stages.put(phase, new CopyOnWriteArrayList<>());
+        }
+
+        int threads = Math.max(1, configManager.getChatPipelineThreads());
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(Math.max(1, configManager.getChatMaxQueue())), runnable -> {
+                    Thread thread = new Thread(runnable, "SRM-Essentials-Chat-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        addStage(ChatStage.Phase.SANITIZE, this::sanitize);
+        addStage(ChatStage.Phase.FILTER, this::filterSpam);
+        addStage(ChatStage.Phase.FORMAT, this::format);
+    }
+
+    /**
+     * Adds a stage to the chat pipeline. Stages of the same phase run in the order they were added.
+     */
+    public void addStage(@Nonnull ChatStage.Phase phase, @Nonnull ChatStage stage) {
+        stages.get(phase).add(stage);
+    }
+
+    /**
+     * Runs a chat event through the pipeline on the chat threads.
+     * The returned future completes with the same event, cancelled or with its content,
+     * targets and formatter set.
+     */
+    @Nonnull
+    public CompletableFuture<PlayerChatEvent> process(@Nonnull PlayerChatEvent event) {
+        PlayerRef sender = event.getSender();
+        if (!admit(sender.getUuid())) {
+            reject(event, sender, "chat.slow-mode");
+            return CompletableFuture.completedFuture(event);
+        }
+
+        ChatMessage message = new ChatMessage(sender, event.getContent(), event.getTargets());
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                runStages(message);
+                apply(event, message);
+                return event;
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            reject(event, sender, "chat.overloaded");
+            return CompletableFuture.completedFuture(event);
+        }
+    }
+
+    /**
+     * Checks if a message may be queued. Always true unless slow mode applies, i.e. the
+     * overload policy is "slow" and the queue is at least half full.
+     */
+    private boolean admit(@Nonnull UUID playerUuid) {
+        BlockingQueue<Runnable> queue = executor.getQueue();
+        if (!"slow".equalsIgnoreCase(configManager.getChatOverloadPolicy())
+                || queue.size() < queue.remainingCapacity()) {
+            return true;
+        }
+
+        long now = System.nanoTime();
+        long interval = TimeUnit.SECONDS.toNanos(Math.max(1, configManager.getChatSlowModeSeconds()));
+        Long last = lastAccepted.get(playerUuid);
+        if (last != null && now - last < interval) {
+            return false;
+        }
+        lastAccepted.put(playerUuid, now);
+        return true;
+    }
+
+    private void reject(@Nonnull PlayerChatEvent event, @Nonnull PlayerRef sender, @Nonnull String messageKey) {
+        dropped.increment();
+        event.setCancelled(true);
+        Msg.send(sender, messages.format(messageKey));
+    }
+
+    private void runStages(@Nonnull ChatMessage message) {
+        long start = System.nanoTime();
+        try {
+            for (ChatStage.Phase phase : ChatStage.Phase.values()) {
+                for (ChatStage stage : stages.get(phase)) {
+                    try {
+                        stage.process(message);
+                    } catch (Exception e) {
+                        Log.warning("Chat " + phase.name().toLowerCase() + " stage failed: " + e.getMessage());
+                    }
+                    if (message.isCancelled()) {
+                        return;
+                    }
+                }
+            }
+        } finally {
+            processed.increment();
+            processingNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Copies the pipeline's result back onto the event.
+     */
+    private void apply(@Nonnull PlayerChatEvent event, @Nonnull ChatMessage message) {
+        if (message.isCancelled()) {
+            event.setCancelled(true);
+            if (message.getCancelReason() != null) {
+                Msg.send(message.getSender(), message.getCancelReason());
+            }
+            return;
+        }
+
+        String content = message.getContent();
+        Message formatted = message.getFormatted();
+        event.setContent(content);
+        event.setTargets(message.getTargets());
+        if (!isEnabled()) {
+            // Formatting is off: keep the server's default formatter
+            return;
+        }
+        if (formatted != null) {
+            // Reuse the message built on the chat thread unless someone changed the text since
+            event.setFormatter((player, text) -> text.equals(content) ? formatted : formatMessage(player, text));
+        } else {
+            event.setFormatter(createFormatter());
+        }
+    }
+
+    /**
+     * Strips color codes unless the sender may use them.
+     */
+    private void sanitize(@Nonnull ChatMessage message) {
+        if (isEnabled() && !permissions.has(message.getSender().getUuid(), COLOR_PERMISSION)) {
+            message.setContent(stripColorCodes(message.getContent()));
+        }
+    }
+
+    /**
+     * Blocks messages over the sender's rate limit or repeating one of their last messages.
+     */
+    private void filterSpam(@Nonnull ChatMessage message) {
+        ChatLimiter.Result result = limiter.check(message.getSender().getUuid(), message.getContent());
+        if (result != ChatLimiter.Result.ALLOWED) {
+            message.cancel(messages.get(ChatLimiter.messageKey(result)));
+        }
+    }
+
+    /**
+     * Builds the styled message from the sender's cached chat format.
+     */
+    private void format(@Nonnull ChatMessage message) {
+        if (!isEnabled()) {
+            return;
+        }
+        ChatIdentity identity = getIdentity(message.getSender());
+        message.setFormatted(identity.format.render(MESSAGE_PLACEHOLDER, message.getContent()));
     }
 
     /**
@@ -51,17 +257,102 @@ public class ChatManager {
     @Nonnull
     public Message formatMessage(@Nonnull PlayerRef sender, @Nonnull String content) {
         UUID uuid = sender.getUuid();
+        ChatIdentity identity = getIdentity(sender);
+
+        // Strip color codes from message unless player has permission
+        String sanitizedContent = content;
+        if (!permissions.has(uuid, COLOR_PERMISSION)) {
+            sanitizedContent = stripColorCodes(content);
+        }
+
+        return identity.format.render(MESSAGE_PLACEHOLDER, sanitizedContent);
+    }
+
+    /**
+     * Gets a player's prefix, suffix and group as used in chat (cached).
+     */
+    @Nonnull
+    public ChatMeta getChatMeta(@Nonnull PlayerRef player) {
+        return getIdentity(player).meta;
+    }
+
+    /**
+     * Resolves and caches a player's chat identity ahead of their first message.
+     */
+    public void loadIdentity(@Nonnull PlayerRef player) {
+        identities.put(player.getUuid(), resolveIdentity(player));
+    }
+
+    /**
+     * Drops a player's cached chat identity (their prefix, suffix or groups changed).
+     */
+    public void invalidate(@Nonnull UUID playerUuid) {
+        identities.remove(playerUuid);
+    }
+
+    /**
+     * Drops all cached chat identities (formats or groups changed).
+     */
+    public void invalidateAll() {
+        identities.clear();
+    }
+
+    /**
+     * Removes a player's chat identity on disconnect.
+     */
+    public void onPlayerQuit(@Nonnull UUID playerUuid) {
+        identities.remove(playerUuid);
+        lastAccepted.remove(playerUuid);
+    }
+
+    /**
+     * Gets a one-line summary of chat pipeline metrics for /essentials stats.
+     */
+    @Nonnull
+    public String describeStats() {
+        long count = processed.sum();
+        double avgMillis = count == 0 ? 0.0 : processingNanos.sum() / (count * 1_000_000.0);
+        return String.format("%d processed, %d dropped, %d queued, %.2fms avg",
+                count, dropped.sum(), executor.getQueue().size(), avgMillis);
+    }
+
+    /**
+     * Stops the chat threads. Messages still queued are discarded.
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Nonnull
+    private ChatIdentity getIdentity(@Nonnull PlayerRef sender) {
+        ChatIdentity identity = identities.get(sender.getUuid());
+        long ttlNanos = TimeUnit.SECONDS.toNanos(Math.max(1, configManager.getPermissionCacheTtl()));
+        if (identity == null || System.nanoTime() - identity.createdAt >= ttlNanos) {
+            identity = resolveIdentity(sender);
+            identities.put(sender.getUuid(), identity);
+        }
+        return identity;
+    }
+
+    /**
+     * Looks up a player's prefix, suffix and group and fills them into their chat format.
+     * Uses SRM-Perms prefix/suffix if available, otherwise falls back to config-based formats.
+     */
+    @Nonnull
+    private ChatIdentity resolveIdentity(@Nonnull PlayerRef player) {
+        UUID uuid = player.getUuid();
         String format;
         String prefix = "";
         String suffix = "";
         String group = "";
-        
+
         // Check if SRM-Perms is available for prefix/suffix
         if (SRMPermsIntegration.isAvailable()) {
-            // Use SRM-Perms data
-            prefix = SRMPermsIntegration.getPrefix(uuid);
-            suffix = SRMPermsIntegration.getSuffix(uuid);
-            group = SRMPermsIntegration.getPrimaryGroup(uuid);
+            // Use SRM-Perms data (one lookup for all three values)
+            ChatMeta meta = SRMPermsIntegration.resolveChatMeta(uuid);
+            prefix = meta.prefix();
+            suffix = meta.suffix();
+            group = meta.group();
             format = configManager.getChatFormat();
         } else {
             // Fallback to config-based formats
@@ -69,21 +360,14 @@ public class ChatManager {
             format = getFormatForGroup(group);
         }
 
-        // Strip color codes from message unless player has permission
-        String sanitizedContent = content;
-        if (!PermissionsModule.get().hasPermission(uuid, COLOR_PERMISSION)) {
-            sanitizedContent = stripColorCodes(content);
-        }
-
-        // Apply all placeholders
-        String formatted = format
-                .replace("%prefix%", prefix)
-                .replace("%suffix%", suffix)
-                .replace("%group%", group)
-                .replace("%player%", sender.getUsername())
-                .replace("%message%", sanitizedContent);
+        // Fill in every placeholder except the message
+        Template bound = Template.percent(format).bind(Map.of(
+                "prefix", prefix,
+                "suffix", suffix,
+                "group", group,
+                "player", player.getUsername()));
 
-        return ColorUtil.colorize(formatted);
+        return new ChatIdentity(new ChatMeta(prefix, suffix, group), ColorTemplate.compile(bound), System.nanoTime());
     }
 
     /**
@@ -127,13 +411,6 @@ public class ChatManager {
             }
         }
 
-        // Also check all player groups (not just primary)
-        Set<String> playerGroups = PermissionsModule.get().getGroupsForUser(
-            // We need the UUID here, but we only have the group name
-            // This is a limitation - for full group matching, use SRM-Perms
-            java.util.UUID.fromString("00000000-0000-0000-0000-000000000000") // placeholder
-        );
-
         return configManager.getChatFallbackFormat();
     }
 
@@ -172,4 +449,20 @@ public class ChatManager {
     public boolean isEnabled() {
         return configManager.isChatEnabled();
     }
+
+    /**
+     * A player's resolved chat metadata and their partly filled-in chat format.
+     */
+    private static final class ChatIdentity {
+        private final ChatMeta meta;
+        // Colorized format with only %message% left to fill in
+        private final ColorTemplate format;
+        private final long createdAt;
+
+        ChatIdentity(ChatMeta meta, ColorTemplate format, long createdAt) {
+            this.meta = meta;
+            this.format = format;
+            this.createdAt = createdAt;
+        }
+    }
 }
@@ -0,0 +1,32 @@
+package io.github.seriumtw.essentials.managers;
+
+import io.github.seriumtw.essentials.models.ChatMessage;
+
+import javax.annotation.Nonnull;
+
+/**
+ * A step of the chat pipeline, added with {@link ChatManager#addStage}.
+ * Stages run on a chat worker thread, never on a world thread.
+ */
+@FunctionalInterface
+public interface ChatStage {
+
+    /**
+     * The pipeline phases, in the order they run.
+     */
+    enum Phase {
+        // Clean up the text (e.g. strip color codes the sender may not use)
+        SANITIZE,
+        // Decide whether the message is sent at all (e.g. spam checks)
+        FILTER,
+        // Build the styled message
+        FORMAT,
+        // Decide who receives it
+        ROUTE
+    }
+
+    /**
+     * Processes a message. Call {@link ChatMessage#cancel} to stop it.
+     */
+    void process(@Nonnull ChatMessage message);
+}
@@ -1,11 +1,11 @@
 package io.github.seriumtw.essentials.managers;
 
-import com.hypixel.hytale.server.core.permissions.PermissionsModule;
 import io.github.seriumtw.essentials.SRMEssentials;
 import io.github.seriumtw.essentials.models.Home;
 import io.github.seriumtw.essentials.models.PlayerData;
 import io.github.seriumtw.essentials.util.ConfigManager;
 import io.github.seriumtw.essentials.util.MessageManager;
+import io.github.seriumtw.essentials.util.PermissionCache;
 import io.github.seriumtw.essentials.util.StorageManager;
 
 import javax.annotation.Nonnull;
@@ -23,11 +23,13 @@ public class HomeManager {
     private final StorageManager storageManager;
     private final ConfigManager configManager;
     private final MessageManager messages;
+    private final PermissionCache permissions;
 
     public HomeManager(@Nonnull StorageManager storageManager, @Nonnull ConfigManager configManager) {
         this.storageManager = storageManager;
         this.configManager = configManager;
         this.messages = SRMEssentials.getInstance().getMessageManager();
+        this.permissions = SRMEssentials.getInstance().getPermissionCache();
     }
 
     @Nonnull
@@ -48,7 +50,7 @@ public class HomeManager {
             int limit = entry.getValue();
             String permission = HOME_LIMIT_PERMISSION_PREFIX + tier;
 
-            if (PermissionsModule.get().hasPermission(playerUuid, permission)) {
+            if (permissions.has(playerUuid, permission)) {
                 maxLimit = Math.max(maxLimit, limit);
             }
         }
@@ -0,0 +1,193 @@
+package io.github.seriumtw.essentials.managers;
+
+import io.github.seriumtw.essentials.models.Region;
+import io.github.seriumtw.essentials.util.Log;
+import io.github.seriumtw.essentials.util.RegionIndex;
+import org.tomlj.Toml;
+import org.tomlj.TomlArray;
+import org.tomlj.TomlParseResult;
+import org.tomlj.TomlTable;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Loads named protected regions from regions.toml and keeps them in a spatial index.
+ * The index is immutable and replaced as a whole on reload, so lookups need no locking.
+ */
+public class RegionManager {
+    private final Path regionsPath;
+    private volatile List<Region> regions = List.of();
+    private volatile Map<String, Region> regionsByName = Map.of();
+    private volatile RegionIndex index = RegionIndex.empty();
+
+    public RegionManager(@Nonnull Path dataFolder) {
+        this.regionsPath = dataFolder.resolve("regions.toml");
+        load();
+    }
+
+    /**
+     * Loads regions from regions.toml
+     */
+    private void load() {
+        if (!Files.exists(regionsPath)) {
+            createDefault();
+        }
+
+        try {
+            TomlParseResult config = Toml.parse(regionsPath);
+
+            if (config.hasErrors()) {
+                config.errors().forEach(error -> Log.error("Regions config error: " + error.toString()));
+                Log.warning("Region loading failed due to config errors.");
+                return;
+            }
+
+            List<Region> loaded = new ArrayList<>();
+            TomlTable regionsTable = config.getTable("regions");
+            if (regionsTable != null) {
+                for (String name : regionsTable.keySet()) {
+                    TomlTable regionTable = regionsTable.getTable(name);
+                    if (regionTable == null) continue;
+
+                    Region region = parseRegion(name, regionTable);
+                    if (region != null) {
+                        loaded.add(region);
+                    }
+                }
+            }
+
+            Map<String, Region> byName = new HashMap<>();
+            for (Region region : loaded) {
+                byName.put(region.getName(), region);
+            }
+            regions = Collections.unmodifiableList(loaded);
+            regionsByName = Collections.unmodifiableMap(byName);
+            index = RegionIndex.build(loaded);
+            Log.info("Loaded " + loaded.size() + " protected regions from regions.toml");
+        } catch (IOException e) {
+            Log.error("Failed to load regions: " + e.getMessage());
+        }
+    }
+
+    @Nullable
+    private Region parseRegion(@Nonnull String name, @Nonnull TomlTable table) {
+        String world = table.getString("world", () -> "default");
+        String shape = table.getString("shape", () -> "cuboid").toLowerCase();
+        Region.Flags flags = new Region.Flags(
+                table.getBoolean("pvp", () -> true),
+                table.getBoolean("build", () -> false),
+                table.getBoolean("invulnerable", () -> false),
+                table.getString("title", () -> ""),
+                table.getBoolean("entry-deny", () -> false));
+
+        try {
+            if (shape.equals("cylinder")) {
+                TomlArray center = table.getArray("center");
+                if (center == null || center.size() < 2) {
+                    Log.warning("Region " + name + " is missing center = [x, z], skipping.");
+                    return null;
+                }
+                int radius = Math.toIntExact(table.getLong("radius", () -> 0L));
+                int minY = Math.toIntExact(table.getLong("min-y", () -> (long) Integer.MIN_VALUE));
+                int maxY = Math.toIntExact(table.getLong("max-y", () -> (long) Integer.MAX_VALUE));
+                return Region.cylinder(name, world, Math.toIntExact(center.getLong(0)),
+                        Math.toIntExact(center.getLong(1)), radius, minY, maxY, flags);
+            }
+
+            if (!shape.equals("cuboid")) {
+                Log.warning("Region " + name + " has unknown shape '" + shape + "', skipping.");
+                return null;
+            }
+            TomlArray min = table.getArray("min");
+            TomlArray max = table.getArray("max");
+            if (min == null || max == null || min.size() < 3 || max.size() < 3) {
+                Log.warning("Region " + name + " is missing min/max = [x, y, z], skipping.");
+                return null;
+            }
+            return Region.cuboid(name, world,
+                    Math.toIntExact(min.getLong(0)), Math.toIntExact(min.getLong(1)), Math.toIntExact(min.getLong(2)),
+                    Math.toIntExact(max.getLong(0)), Math.toIntExact(max.getLong(1)), Math.toIntExact(max.getLong(2)),
+                    flags);
+        } catch (RuntimeException e) {
+            Log.warning("Region " + name + " has invalid bounds, skipping: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Reloads regions from regions.toml
+     */
+    public void reload() {
+        Log.info("Reloading regions...");
+        load();
+    }
+
+    /**
+     * Creates default regions.toml from resources
+     */
+    private void createDefault() {
+        try {
+            Files.createDirectories(regionsPath.getParent());
+
+            try (InputStream is = getClass().getClassLoader().getResourceAsStream("regions.toml")) {
+                if (is != null) {
+                    Files.copy(is, regionsPath);
+                    Log.info("Created default regions.toml");
+                } else {
+                    Log.error("Could not find regions.toml in resources");
+                }
+            }
+        } catch (IOException e) {
+            Log.error("Failed to create default regions.toml: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Gets the region containing a block position, or null if it is not in any region.
+     */
+    @Nullable
+    public Region getRegionAt(@Nonnull String worldName, int x, int y, int z) {
+        return index.find(worldName, x, y, z);
+    }
+
+    /**
+     * Gets a region by name, or null if there is no such region.
+     */
+    @Nullable
+    public Region getRegion(@Nonnull String name) {
+        return regionsByName.get(name);
+    }
+
+    /**
+     * Gets the current region index.
+     */
+    @Nonnull
+    public RegionIndex getIndex() {
+        return index;
+    }
+
+    /**
+     * Checks if any regions are configured, so callers can skip lookups entirely.
+     */
+    public boolean hasRegions() {
+        return !index.isEmpty();
+    }
+
+    /**
+     * Gets all loaded regions.
+     */
+    @Nonnull
+    public List<Region> getRegions() {
+        return regions;
+    }
+}
@@ -0,0 +1,248 @@
+package io.github.seriumtw.essentials.managers;
+
+import com.hypixel.hytale.component.CommandBuffer;
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.math.vector.Vector3d;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import io.github.seriumtw.essentials.SRMEssentials;
+import io.github.seriumtw.essentials.api.RegionEnterEvent;
+import io.github.seriumtw.essentials.api.RegionLeaveEvent;
+import io.github.seriumtw.essentials.api.RegionListener;
+import io.github.seriumtw.essentials.components.RegionPresence;
+import io.github.seriumtw.essentials.models.ProtectionSnapshot;
+import io.github.seriumtw.essentials.models.Region;
+import io.github.seriumtw.essentials.models.Spawn;
+import io.github.seriumtw.essentials.util.Log;
+import io.github.seriumtw.essentials.util.MessageManager;
+import io.github.seriumtw.essentials.util.Msg;
+import io.github.seriumtw.essentials.util.PermissionCache;
+import io.github.seriumtw.essentials.util.TeleportUtil;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Tracks which areas (the spawn area and named regions) players are in, dispatches
+ * {@link RegionEnterEvent} and {@link RegionLeaveEvent} to {@link RegionListener}s when that
+ * changes, and pushes players back out of regions with entry-deny. Players who join or
+ * teleport into such a region from another world are sent to spawn instead.
+ *
+ * Each player's last block, and the last block they were allowed to be in, is kept in a
+ * {@link RegionPresence} component. The tracking system calls {@link #tick} every tick, but
+ * areas are only evaluated when the player crosses into another block or world, or the
+ * protection settings were reloaded.
+ * Standing still or moving within a block costs a few integer comparisons. An evaluation is
+ * a single pass: the spawn bounds check plus one region index lookup, which gives every flag
+ * of the new position at once.
+ */
+public class RegionTracker {
+    public static final String SPAWN_REGION = "spawn";
+    private static final String BYPASS_PERMISSION = "essentials.region.bypass";
+    private static final String ENTER_PERMISSION_PREFIX = "essentials.region.enter.";
+
+    private final SpawnProtectionManager protection;
+    private final SpawnManager spawnManager;
+    private final MessageManager messages;
+    private final PermissionCache permissions;
+    private final List<RegionListener> listeners = new CopyOnWriteArrayList<>();
+
+    private final LongAdder evaluations = new LongAdder();
+    private final LongAdder enters = new LongAdder();
+    private final LongAdder leaves = new LongAdder();
+    private final LongAdder denied = new LongAdder();
+
+    public RegionTracker(@Nonnull SpawnProtectionManager protection, @Nonnull SpawnManager spawnManager) {
+        this.protection = protection;
+        this.spawnManager = spawnManager;
+        this.messages = SRMEssentials.getInstance().getMessageManager();
+        this.permissions = SRMEssentials.getInstance().getPermissionCache();
+    }
+
+    /**
+     * Adds a listener for players entering and leaving regions.
+     */
+    public void addListener(@Nonnull RegionListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Removes a listener added with {@link #addListener}.
+     */
+    public void removeListener(@Nonnull RegionListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Updates a player's tracked position. Called from the tracking system for every player.
+     * @param presence The player's tracked position, or null if not tracked yet
+     */
+    public void tick(@Nonnull PlayerRef playerRef, @Nonnull Ref<EntityStore> ref, @Nullable RegionPresence presence,
+                     @Nonnull World world, @Nonnull CommandBuffer<EntityStore> buffer) {
+        Vector3d position = playerRef.getTransform().getPosition();
+        int x = (int) Math.floor(position.getX());
+        int y = (int) Math.floor(position.getY());
+        int z = (int) Math.floor(position.getZ());
+        ProtectionSnapshot snapshot = protection.getSnapshot();
+
+        if (presence == null) {
+            // First time seeing this player (e.g. just joined), record state without events
+            String worldName = world.getName();
+            Region region = snapshot.getRegionAt(worldName, x, y, z);
+            boolean pushed = isDenied(playerRef, region) && pushToSpawn(playerRef, ref, region, snapshot, buffer);
+            RegionPresence created = new RegionPresence(world, x, y, z, snapshot,
+                    snapshot.isInSpawn(worldName, x, y, z), pushed ? null : region);
+            if (!pushed) {
+                created.allow();
+            }
+            buffer.putComponent(ref, RegionPresence.getComponentType(), created);
+            return;
+        }
+
+        if (presence.isAt(world, x, y, z, snapshot)) {
+            return;
+        }
+
+        evaluations.increment();
+        String worldName = world.getName();
+        boolean inSpawn = snapshot.isInSpawn(worldName, x, y, z);
+        Region region = snapshot.getRegionAt(worldName, x, y, z);
+
+        World previousWorld = presence.getWorld();
+        boolean wasInSpawn = presence.isInSpawn();
+        Region previousRegion = presence.getRegion();
+        boolean regionChanged = !isSameRegion(previousRegion, region);
+
+        boolean pushed = false;
+        if (regionChanged && isDenied(playerRef, region)) {
+            if (presence.getAllowedWorld() == world && presence.getSnapshot() == snapshot) {
+                denyEntry(playerRef, ref, presence, world, region, buffer);
+                // Remember this block with the old areas, so the denial is not repeated every tick
+                // until the teleport is applied. The allowed block stays where it was, so a second
+                // denial before then still goes back outside.
+                presence.moveTo(world, x, y, z, snapshot, wasInSpawn, previousRegion);
+                return;
+            }
+            // Arrived by a cross-world teleport or a reload: there is no allowed block in this
+            // world to go back to, so the player is sent to spawn and never counts as inside
+            if (pushToSpawn(playerRef, ref, region, snapshot, buffer)) {
+                pushed = true;
+                region = null;
+                regionChanged = previousRegion != null;
+            }
+        }
+
+        presence.moveTo(world, x, y, z, snapshot, inSpawn, region);
+        if (!pushed) {
+            presence.allow();
+        }
+
+        // Leave events first, so listeners see the old area end before the new one starts
+        if (regionChanged && previousRegion != null) {
+            fireLeave(new RegionLeaveEvent(previousRegion.getName(), playerRef, previousWorld));
+        }
+        if (wasInSpawn && !inSpawn) {
+            fireLeave(new RegionLeaveEvent(SPAWN_REGION, playerRef, previousWorld));
+        } else if (inSpawn && !wasInSpawn) {
+            fireEnter(new RegionEnterEvent(SPAWN_REGION, playerRef, world));
+        }
+        if (regionChanged && region != null) {
+            fireEnter(new RegionEnterEvent(region.getName(), playerRef, world));
+        }
+    }
+
+    /**
+     * Pushes a player back to the last block they were allowed to be in before entering a region.
+     */
+    private void denyEntry(@Nonnull PlayerRef playerRef, @Nonnull Ref<EntityStore> ref,
+                           @Nonnull RegionPresence presence, @Nonnull World world, @Nonnull Region region,
+                           @Nonnull CommandBuffer<EntityStore> buffer) {
+        denied.increment();
+        Vector3d back = new Vector3d(presence.getAllowedX() + 0.5, presence.getAllowedY(),
+                presence.getAllowedZ() + 0.5);
+        TeleportUtil.teleportBackBuffered(ref, buffer, world, back, playerRef.getTransform().getRotation());
+        Msg.send(playerRef, messages.format("regions.entry-denied", Map.of("region", region.getName())));
+    }
+
+    /**
+     * Sends a player to spawn, for when they are inside a region they may not enter and have no
+     * allowed block in the same world to go back to.
+     * @return True if the teleport was queued, false if there is no usable spawn
+     */
+    private boolean pushToSpawn(@Nonnull PlayerRef playerRef, @Nonnull Ref<EntityStore> ref, @Nonnull Region region,
+                                @Nonnull ProtectionSnapshot snapshot, @Nonnull CommandBuffer<EntityStore> buffer) {
+        Spawn spawn = spawnManager.getSpawn();
+        if (spawn == null || isDenied(playerRef, snapshot.getRegionAt(spawn.getWorld(),
+                (int) Math.floor(spawn.getX()), (int) Math.floor(spawn.getY()), (int) Math.floor(spawn.getZ())))) {
+            Log.warning("Cannot move " + playerRef.getUsername() + " out of region '" + region.getName()
+                    + "': no spawn is set, or the spawn is in a region they may not enter.");
+            return false;
+        }
+        denied.increment();
+        TeleportUtil.teleportToSpawnBuffered(ref, buffer, spawn);
+        Msg.send(playerRef, messages.format("regions.entry-denied", Map.of("region", region.getName())));
+        return true;
+    }
+
+    /**
+     * Checks if a region has entry-deny and the player may not bypass it.
+     */
+    private boolean isDenied(@Nonnull PlayerRef playerRef, @Nullable Region region) {
+        return region != null && region.isEntryDenied() && !canEnter(playerRef.getUuid(), region);
+    }
+
+    /**
+     * Checks if a player may enter a region with entry-deny.
+     */
+    public boolean canEnter(@Nonnull UUID playerUuid, @Nonnull Region region) {
+        return permissions.has(playerUuid, BYPASS_PERMISSION)
+                || permissions.has(playerUuid, ENTER_PERMISSION_PREFIX + region.getName());
+    }
+
+    /**
+     * Compares regions by name and world, since a reload creates new instances of unchanged regions.
+     */
+    private static boolean isSameRegion(@Nullable Region a, @Nullable Region b) {
+        if (a == b) {
+            return true;
+        }
+        return a != null && b != null && a.getName().equals(b.getName()) && a.getWorld().equals(b.getWorld());
+    }
+
+    private void fireEnter(@Nonnull RegionEnterEvent event) {
+        enters.increment();
+        for (RegionListener listener : listeners) {
+            try {
+                listener.onEnter(event);
+            } catch (Exception e) {
+                Log.warning("Region enter listener failed for " + event.regionId() + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private void fireLeave(@Nonnull RegionLeaveEvent event) {
+        leaves.increment();
+        for (RegionListener listener : listeners) {
+            try {
+                listener.onLeave(event);
+            } catch (Exception e) {
+                Log.warning("Region leave listener failed for " + event.regionId() + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Gets a one-line summary of region tracking for /essentials stats.
+     */
+    @Nonnull
+    public String describeStats() {
+        return String.format("%d block crossings evaluated, %d enters, %d leaves, %d entries denied",
+                evaluations.sum(), enters.sum(), leaves.sum(), denied.sum());
+    }
+}
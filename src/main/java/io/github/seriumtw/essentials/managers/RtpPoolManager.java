@@ -0,0 +1,255 @@
+package io.github.seriumtw.essentials.managers;
+
+import com.hypixel.hytale.server.core.universe.Universe;
+import com.hypixel.hytale.server.core.universe.world.World;
+import io.github.seriumtw.essentials.util.ConfigManager;
+import io.github.seriumtw.essentials.util.Log;
+import io.github.seriumtw.essentials.util.TeleportUtil;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps a pool of ready, safe RTP locations for each configured RTP world, so /rtp can
+ * teleport right away instead of searching on the world thread.
+ *
+ * A background thread refills the pools: it picks random columns within the world's radius
+ * and checks them with {@link TeleportUtil#findSafeRtpYAsync}, which loads the chunk if needed.
+ * Checks are rate limited (rtp.pool-probes-per-second, shared by all worlds) and only a few
+ * run at once, so refilling never floods chunk loading. Locations expire after rtp.pool-expiry
+ * seconds because the terrain may change; the destination is checked again when teleporting.
+ */
+public class RtpPoolManager {
+    private static final long REFILL_INTERVAL_MILLIS = 250;
+    // Checks waiting for their chunk at once, across all worlds
+    private static final int MAX_IN_FLIGHT = 8;
+    private static final long RATE_WINDOW_MILLIS = 60_000;
+
+    /**
+     * A safe location found by the pool.
+     * @param radius The world's RTP radius when it was found; dropped if the radius changes
+     */
+    public record Location(double x, double y, double z, int radius, long foundAt) {
+    }
+
+    private final ConfigManager configManager;
+    private final ScheduledExecutorService executor;
+    private final ConcurrentHashMap<String, WorldPool> pools = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    // Only used on the refill thread
+    private double probeBudget;
+    private long windowStart = System.currentTimeMillis();
+    private long windowFound;
+    private volatile long foundLastMinute;
+
+    private final LongAdder served = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder probes = new LongAdder();
+    private final LongAdder found = new LongAdder();
+    private final LongAdder expired = new LongAdder();
+
+    public RtpPoolManager(@Nonnull ConfigManager configManager) {
+        this.configManager = configManager;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "SRM-Essentials-RTP");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::refill, 5000, REFILL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Takes a ready location for a world.
+     * @return A location within the world's current radius, or null if the pool is empty
+     */
+    @Nullable
+    public Location take(@Nonnull String worldName) {
+        WorldPool pool = pools.get(worldName);
+        Integer radius = configManager.getRtpRadius(worldName);
+        if (pool != null && radius != null) {
+            long expiresBefore = System.currentTimeMillis() - configManager.getRtpPoolExpiry() * 1000L;
+            Location location;
+            while ((location = pool.poll()) != null) {
+                if (location.foundAt() >= expiresBefore && location.radius() == radius) {
+                    served.increment();
+                    return location;
+                }
+                expired.increment();
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Runs one refill round: drops expired locations and starts as many checks as the
+     * rate limit allows, spread over the worlds that are below the pool size.
+     */
+    private void refill() {
+        try {
+            long now = System.currentTimeMillis();
+            updateRate(now);
+
+            int size = configManager.getRtpPoolSize();
+            Map<String, Integer> worlds = configManager.getRtpWorlds();
+            pools.keySet().retainAll(worlds.keySet());
+            if (size <= 0) {
+                pools.clear();
+                return;
+            }
+
+            // Allow up to one second of checks to build up while nothing needs refilling
+            int rate = Math.max(0, configManager.getRtpPoolProbesPerSecond());
+            probeBudget = Math.min(rate, probeBudget + rate * REFILL_INTERVAL_MILLIS / 1000.0);
+
+            long expiresBefore = now - configManager.getRtpPoolExpiry() * 1000L;
+            List<Target> targets = new ArrayList<>();
+            for (Map.Entry<String, Integer> entry : worlds.entrySet()) {
+                WorldPool pool = pools.computeIfAbsent(entry.getKey(), name -> new WorldPool());
+                expired.add(pool.removeExpired(expiresBefore));
+                World world = Universe.get().getWorld(entry.getKey());
+                if (world != null && entry.getValue() > 0) {
+                    targets.add(new Target(world, pool, entry.getValue()));
+                }
+            }
+
+            // One check per world per pass, so a large pool does not starve the others
+            boolean started = true;
+            while (started) {
+                started = false;
+                for (Target target : targets) {
+                    if (probeBudget < 1 || inFlight.get() >= MAX_IN_FLIGHT) {
+                        return;
+                    }
+                    if (target.pool.size() + target.pool.pending.get() < size) {
+                        probe(target, size);
+                        probeBudget -= 1;
+                        started = true;
+                    }
+                }
+            }
+        } catch (Exception e) {
+            Log.warning("RTP pool refill failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Checks one random column and adds it to the pool if it is safe.
+     */
+    private void probe(@Nonnull Target target, int size) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        double x = random.nextDouble(-target.radius, target.radius);
+        double z = random.nextDouble(-target.radius, target.radius);
+
+        probes.increment();
+        inFlight.incrementAndGet();
+        target.pool.pending.incrementAndGet();
+        TeleportUtil.findSafeRtpYAsync(target.world, x, z).whenComplete((safeY, error) -> {
+            inFlight.decrementAndGet();
+            target.pool.pending.decrementAndGet();
+            if (error != null) {
+                Log.warning("RTP pool check failed in world '" + target.world.getName() + "': " + error.getMessage());
+                return;
+            }
+            if (safeY != null && target.pool.size() < size) {
+                target.pool.add(new Location(x, safeY, z, target.radius, System.currentTimeMillis()));
+                found.increment();
+            }
+        });
+    }
+
+    private void updateRate(long now) {
+        if (now - windowStart >= RATE_WINDOW_MILLIS) {
+            long total = found.sum();
+            foundLastMinute = total - windowFound;
+            windowFound = total;
+            windowStart = now;
+        }
+    }
+
+    /**
+     * Stops refilling.
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Gets a one-line summary of the pools for /essentials stats.
+     */
+    @Nonnull
+    public String describeStats() {
+        StringJoiner depth = new StringJoiner(", ");
+        int size = configManager.getRtpPoolSize();
+        for (Map.Entry<String, WorldPool> entry : new TreeMap<>(pools).entrySet()) {
+            depth.add(entry.getKey() + " " + entry.getValue().size() + "/" + size);
+        }
+        return String.format("depth [%s], refilled %d/min (%d checks, %d safe), %d served, %d misses, %d expired",
+                depth, foundLastMinute, probes.sum(), found.sum(), served.sum(), misses.sum(), expired.sum());
+    }
+
+    /**
+     * A world that needs refilling this round.
+     */
+    private record Target(World world, WorldPool pool, int radius) {
+    }
+
+    /**
+     * Ready locations of one world, oldest first.
+     */
+    private static final class WorldPool {
+        private final ConcurrentLinkedQueue<Location> locations = new ConcurrentLinkedQueue<>();
+        // ConcurrentLinkedQueue.size() walks the queue, so the size is kept separately
+        private final AtomicInteger size = new AtomicInteger();
+        // Checks started for this world that have not completed yet
+        private final AtomicInteger pending = new AtomicInteger();
+
+        int size() {
+            return size.get();
+        }
+
+        void add(@Nonnull Location location) {
+            locations.add(location);
+            size.incrementAndGet();
+        }
+
+        @Nullable
+        Location poll() {
+            Location location = locations.poll();
+            if (location != null) {
+                size.decrementAndGet();
+            }
+            return location;
+        }
+
+        /**
+         * Removes locations found before a time.
+         * @return The number of locations removed
+         */
+        int removeExpired(long expiresBefore) {
+            int removed = 0;
+            Location oldest;
+            while ((oldest = locations.peek()) != null && oldest.foundAt() < expiresBefore) {
+                if (locations.remove(oldest)) {
+                    size.decrementAndGet();
+                    removed++;
+                }
+            }
+            return removed;
+        }
+    }
+}
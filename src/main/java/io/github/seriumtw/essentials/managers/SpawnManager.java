@@ -15,14 +15,18 @@ import javax.annotation.Nullable;
 
 public class SpawnManager {
     private final StorageManager storageManager;
+    private final SpawnProtectionManager spawnProtectionManager;
 
-    public SpawnManager(@Nonnull StorageManager storageManager) {
+    public SpawnManager(@Nonnull StorageManager storageManager, @Nonnull SpawnProtectionManager spawnProtectionManager) {
         this.storageManager = storageManager;
+        this.spawnProtectionManager = spawnProtectionManager;
     }
 
     public void setSpawn(@Nonnull String world, double x, double y, double z, float yaw, float pitch) {
         Spawn spawn = new Spawn(world, x, y, z, yaw, pitch);
         storageManager.setSpawn(spawn);
+        // Move the protected area along with the spawn
+        spawnProtectionManager.refresh();
     }
 
     @Nullable
@@ -2,126 +2,168 @@ package io.github.seriumtw.essentials.managers;
 
 import com.hypixel.hytale.math.vector.Vector3d;
 import com.hypixel.hytale.math.vector.Vector3i;
-import com.hypixel.hytale.server.core.permissions.PermissionsModule;
-import io.github.seriumtw.essentials.models.Spawn;
+import io.github.seriumtw.essentials.SRMEssentials;
+import io.github.seriumtw.essentials.models.ProtectionSnapshot;
+import io.github.seriumtw.essentials.models.Region;
 import io.github.seriumtw.essentials.util.ConfigManager;
+import io.github.seriumtw.essentials.util.PermissionCache;
 import io.github.seriumtw.essentials.util.StorageManager;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.util.UUID;
 
 public class SpawnProtectionManager {
     private static final String BYPASS_PERMISSION = "essentials.spawn.bypass";
+    private static final String REGION_BYPASS_PERMISSION = "essentials.region.bypass";
 
     private final ConfigManager configManager;
     private final StorageManager storageManager;
+    private final RegionManager regionManager;
+    private final PermissionCache permissions;
+    // Replaced as a whole by refresh(); checks read it once and never see a half-updated state
+    private volatile ProtectionSnapshot snapshot = ProtectionSnapshot.empty();
 
-    public SpawnProtectionManager(@Nonnull ConfigManager configManager, @Nonnull StorageManager storageManager) {
+    public SpawnProtectionManager(@Nonnull ConfigManager configManager, @Nonnull StorageManager storageManager,
+                                  @Nonnull RegionManager regionManager) {
         this.configManager = configManager;
         this.storageManager = storageManager;
+        this.regionManager = regionManager;
+        this.permissions = SRMEssentials.getInstance().getPermissionCache();
+        refresh();
+    }
+
+    /**
+     * Rebuilds the protection snapshot from the current config, spawn and regions.
+     * Must be called after a config reload, a region reload or /setspawn.
+     */
+    public void refresh() {
+        snapshot = ProtectionSnapshot.of(
+                configManager.isSpawnProtectionEnabled(),
+                configManager.isSpawnProtectionInvulnerable(),
+                storageManager.getSpawn(),
+                configManager.getSpawnProtectionRadius(),
+                configManager.getSpawnProtectionMinY(),
+                configManager.getSpawnProtectionMaxY(),
+                regionManager.getIndex());
+    }
+
+    /**
+     * Gets the current protection snapshot. A new instance is swapped in on every refresh.
+     */
+    @Nonnull
+    public ProtectionSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Checks if any protection applies at all (spawn protection or named regions),
+     * so event handlers can return before doing any lookups.
+     */
+    public boolean isActive() {
+        return snapshot.isActive();
     }
 
     /**
      * Checks if spawn protection is enabled.
      */
     public boolean isEnabled() {
-        return configManager.isSpawnProtectionEnabled();
+        return snapshot.isSpawnEnabled();
     }
 
     /**
      * Checks if invulnerability is enabled in spawn area.
      */
     public boolean isInvulnerableEnabled() {
-        return configManager.isSpawnProtectionInvulnerable();
+        return snapshot.isSpawnInvulnerable();
     }
 
     /**
-     * Checks if a block position is within the protected spawn area.
+     * Checks if a block position is protected, either by spawn protection or by a named region
+     * that does not allow building.
      * @param worldName The world name to check against
      * @param blockPos The block position to check
      */
     public boolean isInProtectedArea(@Nonnull String worldName, @Nonnull Vector3i blockPos) {
-        Spawn spawn = storageManager.getSpawn();
-        if (spawn == null) {
-            return false;
-        }
-
-        // Check if we're in the correct world
-        if (!spawn.getWorld().equals(worldName)) {
-            return false;
-        }
-
-        int radius = configManager.getSpawnProtectionRadius();
-        double dx = Math.abs(blockPos.getX() - spawn.getX());
-        double dz = Math.abs(blockPos.getZ() - spawn.getZ());
-
-        // Check square radius (X/Z)
-        if (dx > radius || dz > radius) {
-            return false;
+        ProtectionSnapshot current = snapshot;
+        int x = blockPos.getX();
+        int y = blockPos.getY();
+        int z = blockPos.getZ();
+        if (current.isInSpawn(worldName, x, y, z)) {
+            return true;
         }
-
-        // Check Y range if configured
-        return isInYRange(blockPos.getY());
+        Region region = current.getRegionAt(worldName, x, y, z);
+        return region != null && !region.allowsBuild();
     }
 
     /**
-     * Checks if an entity position is within the protected spawn area.
-     * @param worldName The world name to check against
-     * @param entityPos The entity position to check
+     * Checks if a player may not build at a block position. Spawn protection is bypassed with
+     * essentials.spawn.bypass, named regions with essentials.region.bypass.
+     * @param playerUuid The player, or null for non-player sources (never bypass)
      */
-    public boolean isInProtectedArea(@Nonnull String worldName, @Nonnull Vector3d entityPos) {
-        Spawn spawn = storageManager.getSpawn();
-        if (spawn == null) {
-            return false;
-        }
-
-        // Check if we're in the correct world
-        if (!spawn.getWorld().equals(worldName)) {
-            return false;
-        }
-
-        int radius = configManager.getSpawnProtectionRadius();
-        double dx = Math.abs(entityPos.getX() - spawn.getX());
-        double dz = Math.abs(entityPos.getZ() - spawn.getZ());
-
-        // Check square radius (X/Z)
-        if (dx > radius || dz > radius) {
-            return false;
+    public boolean isProtectedFor(@Nullable UUID playerUuid, @Nonnull String worldName, @Nonnull Vector3i blockPos) {
+        ProtectionSnapshot current = snapshot;
+        int x = blockPos.getX();
+        int y = blockPos.getY();
+        int z = blockPos.getZ();
+        if (current.isInSpawn(worldName, x, y, z) && (playerUuid == null || !canBypass(playerUuid))) {
+            return true;
         }
-
-        // Check Y range if configured
-        return isInYRange((int) entityPos.getY());
+        Region region = current.getRegionAt(worldName, x, y, z);
+        return region != null && !region.allowsBuild() && (playerUuid == null || !canBypassRegions(playerUuid));
     }
 
     /**
-     * Checks if a Y coordinate is within the configured Y range.
-     * Returns true if Y range is disabled (min-y and max-y are both -1).
+     * Checks if players at an entity position should take no damage, either from spawn
+     * invulnerability or from an invulnerable region.
      */
-    private boolean isInYRange(int y) {
-        int minY = configManager.getSpawnProtectionMinY();
-        int maxY = configManager.getSpawnProtectionMaxY();
-
-        // If both are -1, Y range is disabled (protect all Y levels)
-        if (minY == -1 && maxY == -1) {
+    public boolean isInvulnerableAt(@Nonnull String worldName, @Nonnull Vector3d entityPos) {
+        ProtectionSnapshot current = snapshot;
+        int x = (int) Math.floor(entityPos.getX());
+        int y = (int) Math.floor(entityPos.getY());
+        int z = (int) Math.floor(entityPos.getZ());
+        if (current.isSpawnInvulnerable() && current.isInSpawn(worldName, x, y, z)) {
             return true;
         }
-
-        // Check bounds
-        if (minY != -1 && y < minY) {
-            return false;
-        }
-        if (maxY != -1 && y > maxY) {
+        if (!current.hasRegions()) {
             return false;
         }
+        Region region = current.getRegionAt(worldName, x, y, z);
+        return region != null && region.isInvulnerable();
+    }
+
+    /**
+     * Checks if a block position is within the protected spawn area (ignores named regions).
+     * @param worldName The world name to check against
+     * @param blockPos The block position to check
+     */
+    public boolean isInSpawnArea(@Nonnull String worldName, @Nonnull Vector3i blockPos) {
+        return snapshot.isInSpawn(worldName, blockPos.getX(), blockPos.getY(), blockPos.getZ());
+    }
 
-        return true;
+    /**
+     * Checks if an entity position is within the protected spawn area (ignores named regions).
+     * The entity counts as inside when the block it stands in is.
+     * @param worldName The world name to check against
+     * @param entityPos The entity position to check
+     */
+    public boolean isInSpawnArea(@Nonnull String worldName, @Nonnull Vector3d entityPos) {
+        return snapshot.isInSpawn(worldName, (int) Math.floor(entityPos.getX()),
+                (int) Math.floor(entityPos.getY()), (int) Math.floor(entityPos.getZ()));
     }
 
     /**
      * Checks if a player has permission to bypass spawn protection.
      */
     public boolean canBypass(@Nonnull UUID playerUuid) {
-        return PermissionsModule.get().hasPermission(playerUuid, BYPASS_PERMISSION);
+        return permissions.has(playerUuid, BYPASS_PERMISSION);
+    }
+
+    /**
+     * Checks if a player has permission to bypass named region protection.
+     */
+    public boolean canBypassRegions(@Nonnull UUID playerUuid) {
+        return permissions.has(playerUuid, REGION_BYPASS_PERMISSION);
     }
 
 }
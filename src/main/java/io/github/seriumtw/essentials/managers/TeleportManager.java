@@ -4,14 +4,15 @@ import com.hypixel.hytale.component.CommandBuffer;
 import com.hypixel.hytale.component.Ref;
 import com.hypixel.hytale.component.Store;
 import com.hypixel.hytale.math.vector.Vector3d;
-import com.hypixel.hytale.server.core.permissions.PermissionsModule;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import io.github.seriumtw.essentials.SRMEssentials;
+import io.github.seriumtw.essentials.components.TeleportWarmup;
 import io.github.seriumtw.essentials.util.ConfigManager;
 import io.github.seriumtw.essentials.util.Log;
 import io.github.seriumtw.essentials.util.MessageManager;
 import io.github.seriumtw.essentials.util.Msg;
+import io.github.seriumtw.essentials.util.PermissionCache;
 import io.github.seriumtw.essentials.util.SoundUtil;
 import io.github.seriumtw.essentials.util.TeleportUtil;
 
@@ -19,12 +20,13 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Manages delayed teleports with movement cancellation.
  * Players must stand still during the teleport delay or the teleport is canceled.
- * Teleport destinations are stored as data and executed via buffer.run() callback.
+ * A waiting teleport is a {@link TeleportWarmup} component on the player entity; the movement
+ * system ticks it and removes it through the command buffer when it runs or is cancelled.
+ * Teleports are executed via buffer.run() callback.
  */
 public class TeleportManager {
     private static final String BYPASS_PERMISSION = "essentials.teleport.bypass";
@@ -33,11 +35,12 @@ public class TeleportManager {
 
     private final ConfigManager configManager;
     private final MessageManager messages;
-    private final ConcurrentHashMap<UUID, PendingTeleport> pendingTeleports = new ConcurrentHashMap<>();
+    private final PermissionCache permissions;
 
     public TeleportManager(@Nonnull ConfigManager configManager) {
         this.configManager = configManager;
         this.messages = SRMEssentials.getInstance().getMessageManager();
+        this.permissions = SRMEssentials.getInstance().getPermissionCache();
     }
 
     /**
@@ -52,6 +55,7 @@ public class TeleportManager {
 
     /**
      * Queues a coordinate-based teleport with an optional success callback.
+     * Must be called on the player's world thread.
      */
     public void queueTeleport(@Nonnull PlayerRef playerRef, @Nonnull Ref<EntityStore> entityRef,
                               @Nonnull Store<EntityStore> store, @Nonnull Vector3d startPosition,
@@ -62,7 +66,7 @@ public class TeleportManager {
         int delay = configManager.getTeleportDelay();
 
         // Check bypass permission or if delay is 0
-        if (delay <= 0 || PermissionsModule.get().hasPermission(playerUuid, BYPASS_PERMISSION)) {
+        if (delay <= 0 || permissions.has(playerUuid, BYPASS_PERMISSION)) {
             // Execute immediately
             String error = TeleportUtil.teleportSafe(store, entityRef, worldName, x, y, z, yaw, pitch);
             if (error != null) {
@@ -79,21 +83,13 @@ public class TeleportManager {
             return;
         }
 
-        // Create pending teleport and add atomically
-        TeleportDestination destination = new TeleportDestination(worldName, x, y, z, yaw, pitch);
-        PendingTeleport pending = new PendingTeleport(playerRef, startPosition, destination, successMessage, delay, onSuccess);
-        PendingTeleport existing = pendingTeleports.putIfAbsent(playerUuid, pending);
-        
-        if (existing != null) {
-            Msg.send(playerRef, messages.get("teleport.already-pending"));
-            return;
-        }
-
-        Msg.send(playerRef, messages.get("teleport.countdown", Map.of("delay", String.valueOf(delay))));
+        startWarmup(playerRef, entityRef, store, delay, TeleportWarmup.toLocation(
+                startPosition, worldName, x, y, z, yaw, pitch, successMessage, onSuccess, delay));
     }
 
     /**
      * Queues a player-to-player teleport (for TPA).
+     * Must be called on the player's world thread.
      */
     public void queueTeleportToPlayer(@Nonnull PlayerRef playerRef, @Nonnull Ref<EntityStore> entityRef,
                                       @Nonnull Store<EntityStore> store, @Nonnull Vector3d startPosition,
@@ -102,7 +98,7 @@ public class TeleportManager {
         int delay = configManager.getTeleportDelay();
 
         // Check bypass permission or if delay is 0
-        if (delay <= 0 || PermissionsModule.get().hasPermission(playerUuid, BYPASS_PERMISSION)) {
+        if (delay <= 0 || permissions.has(playerUuid, BYPASS_PERMISSION)) {
             // Execute immediately
             TeleportUtil.teleportToPlayer(playerRef, targetPlayer);
             SoundUtil.playSound(playerRef, TELEPORT_SOUND);
@@ -112,238 +108,103 @@ public class TeleportManager {
             return;
         }
 
-        // Create pending teleport with target player UUID and add atomically
-        PendingTeleport pending = new PendingTeleport(playerRef, startPosition, targetPlayer.getUuid(), 
-                                                       targetPlayer.getUsername(), successMessage, delay);
-        PendingTeleport existing = pendingTeleports.putIfAbsent(playerUuid, pending);
-        
-        if (existing != null) {
-            Msg.send(playerRef, messages.get("teleport.already-pending"));
+        startWarmup(playerRef, entityRef, store, delay,
+                TeleportWarmup.toPlayer(startPosition, targetPlayer.getUuid(), successMessage, delay));
+    }
+
+    /**
+     * Attaches a warmup to the player unless one is already counting down.
+     */
+    private void startWarmup(@Nonnull PlayerRef playerRef, @Nonnull Ref<EntityStore> entityRef,
+                             @Nonnull Store<EntityStore> store, int delay, @Nonnull TeleportWarmup warmup) {
+        if (!entityRef.isValid()) {
+            // Player left while the teleport was being prepared
+            return;
+        }
+
+        if (store.getComponent(entityRef, TeleportWarmup.getComponentType()) != null) {
+            Msg.send(playerRef, messages.format("teleport.already-pending"));
             return;
         }
 
-        Msg.send(playerRef, messages.get("teleport.countdown", Map.of("delay", String.valueOf(delay))));
+        store.putComponent(entityRef, TeleportWarmup.getComponentType(), warmup);
+        Msg.send(playerRef, messages.format("teleport.countdown", Map.of("delay", String.valueOf(delay))));
     }
 
     /**
-     * Ticks pending teleports. Called from the tick system.
+     * Ticks a pending teleport. Called from the tick system for players with a {@link TeleportWarmup}.
+     * Removes the warmup through the buffer once the teleport runs or is cancelled.
      */
-    public void tick(@Nonnull UUID playerUuid, @Nonnull Ref<EntityStore> currentRef,
-                     @Nonnull Vector3d currentPosition, float deltaTime,
+    public void tick(@Nonnull PlayerRef playerRef, @Nonnull Ref<EntityStore> currentRef,
+                     @Nonnull TeleportWarmup warmup, @Nonnull Vector3d currentPosition, float deltaTime,
                      @Nonnull CommandBuffer<EntityStore> buffer) {
-        PendingTeleport pending = pendingTeleports.get(playerUuid);
-        if (pending == null) {
-            return;
-        }
-
         // Check movement
-        double distanceSquared = pending.getStartPosition().distanceSquaredTo(currentPosition);
+        double distanceSquared = warmup.getStartPosition().distanceSquaredTo(currentPosition);
         double maxDistanceSquared = CANCEL_DISTANCE * CANCEL_DISTANCE;
 
         if (distanceSquared > maxDistanceSquared) {
-            cancelTeleport(playerUuid, messages.get("teleport.cancelled-moved"));
+            buffer.removeComponent(currentRef, TeleportWarmup.getComponentType());
+            Msg.send(playerRef, messages.format("teleport.cancelled-moved"));
             return;
         }
 
         // Update elapsed time and check if ready to teleport
-        pending.addElapsedTime(deltaTime);
-        if (pending.isReady()) {
-            executeTeleport(playerUuid, currentRef, buffer);
+        if (warmup.advance(deltaTime)) {
+            buffer.removeComponent(currentRef, TeleportWarmup.getComponentType());
+            executeTeleport(playerRef, currentRef, warmup, buffer);
         }
     }
 
     /**
      * Executes a pending teleport using buffer.run() to defer execution.
      */
-    private void executeTeleport(@Nonnull UUID playerUuid, @Nonnull Ref<EntityStore> currentRef,
-                                 @Nonnull CommandBuffer<EntityStore> buffer) {
-        PendingTeleport pending = pendingTeleports.remove(playerUuid);
-        if (pending == null) {
-            return;
-        }
-
+    private void executeTeleport(@Nonnull PlayerRef playerRef, @Nonnull Ref<EntityStore> currentRef,
+                                 @Nonnull TeleportWarmup warmup, @Nonnull CommandBuffer<EntityStore> buffer) {
         // Use buffer.run() to execute after the tick system finishes processing
         buffer.run(store -> {
             try {
                 if (!currentRef.isValid()) {
-                    Msg.send(pending.getPlayerRef(), messages.get("teleport.failed"));
+                    Msg.send(playerRef, messages.format("teleport.failed"));
                     return;
                 }
 
-                if (pending.isPlayerTeleport()) {
+                if (warmup.isPlayerTeleport()) {
                     // Teleport to another player (async, handles cross-world)
                     TeleportUtil.teleportToPlayerByUuid(
                         store, 
                         currentRef, 
-                        pending.getTargetPlayerUuid(),
-                        () -> {
-                            // Success callback
-                            SoundUtil.playSound(pending.getPlayerRef(), TELEPORT_SOUND);
-                            if (pending.getSuccessMessage() != null) {
-                                Msg.send(pending.getPlayerRef(), pending.getSuccessMessage());
-                            }
-                            if (pending.getOnSuccess() != null) {
-                                pending.getOnSuccess().run();
-                            }
-                        },
+                        warmup.getTargetPlayerUuid(),
+                        () -> onTeleported(playerRef, warmup),
                         error -> {
                             // Error callback
-                            Msg.send(pending.getPlayerRef(), error);
+                            Msg.send(playerRef, error);
                         }
                     );
                 } else {
                     // Teleport to coordinates
-                    TeleportDestination dest = pending.getDestination();
-                    String error = TeleportUtil.teleportSafe(store, currentRef, dest.worldName,
-                            dest.x, dest.y, dest.z, dest.yaw, dest.pitch);
+                    String error = TeleportUtil.teleportSafe(store, currentRef, warmup.getWorldName(),
+                            warmup.getX(), warmup.getY(), warmup.getZ(), warmup.getYaw(), warmup.getPitch());
 
                     if (error != null) {
-                        Msg.send(pending.getPlayerRef(), error);
+                        Msg.send(playerRef, error);
                     } else {
-                        SoundUtil.playSound(pending.getPlayerRef(), TELEPORT_SOUND);
-                        if (pending.getSuccessMessage() != null) {
-                            Msg.send(pending.getPlayerRef(), pending.getSuccessMessage());
-                        }
-                        if (pending.getOnSuccess() != null) {
-                            pending.getOnSuccess().run();
-                        }
+                        onTeleported(playerRef, warmup);
                     }
                 }
             } catch (Exception e) {
-                Log.error("Failed to execute teleport for " + playerUuid + ": " + e.getMessage());
-                Msg.send(pending.getPlayerRef(), messages.get("teleport.failed"));
+                Log.error("Failed to execute teleport for " + playerRef.getUuid() + ": " + e.getMessage());
+                Msg.send(playerRef, messages.format("teleport.failed"));
             }
         });
     }
 
-    /**
-     * Cancels a pending teleport for a player.
-     */
-    public void cancelTeleport(@Nonnull UUID playerUuid, @Nullable String reason) {
-        PendingTeleport pending = pendingTeleports.remove(playerUuid);
-        if (pending != null && reason != null) {
-            Msg.send(pending.getPlayerRef(), reason);
-        }
-    }
-
-    /**
-     * Checks if a player has a pending teleport.
-     */
-    public boolean hasPendingTeleport(@Nonnull UUID playerUuid) {
-        return pendingTeleports.containsKey(playerUuid);
-    }
-
-    /**
-     * Cleans up pending teleport for a player when they disconnect.
-     */
-    public void onPlayerQuit(@Nonnull UUID playerUuid) {
-        pendingTeleports.remove(playerUuid);
-    }
-
-    /**
-     * Shuts down the manager.
-     */
-    public void shutdown() {
-        pendingTeleports.clear();
-    }
-
-    /**
-     * Stores teleport destination data.
-     */
-    private static class TeleportDestination {
-        final String worldName;
-        final double x, y, z;
-        final float yaw, pitch;
-
-        TeleportDestination(String worldName, double x, double y, double z, float yaw, float pitch) {
-            this.worldName = worldName;
-            this.x = x;
-            this.y = y;
-            this.z = z;
-            this.yaw = yaw;
-            this.pitch = pitch;
-        }
-    }
-
-    /**
-     * Represents a pending teleport.
-     */
-    private static class PendingTeleport {
-        private final PlayerRef playerRef;
-        private final Vector3d startPosition;
-        private final TeleportDestination destination; // For coordinate teleports
-        private final UUID targetPlayerUuid;           // For player teleports
-        private final String targetPlayerName;         // For player teleports
-        private final String successMessage;
-        private final Runnable onSuccess;
-        private final float delaySeconds;
-        private float elapsedTime;
-
-        // Constructor for coordinate teleport
-        PendingTeleport(@Nonnull PlayerRef playerRef, @Nonnull Vector3d startPosition,
-                        @Nonnull TeleportDestination destination, @Nullable String successMessage, 
-                        int delaySeconds, @Nullable Runnable onSuccess) {
-            this.playerRef = playerRef;
-            this.startPosition = startPosition.clone(); // Clone to prevent mutation
-            this.destination = destination;
-            this.targetPlayerUuid = null;
-            this.targetPlayerName = null;
-            this.successMessage = successMessage;
-            this.onSuccess = onSuccess;
-            this.delaySeconds = delaySeconds;
-            this.elapsedTime = 0f;
-        }
-
-        // Constructor for player teleport
-        PendingTeleport(@Nonnull PlayerRef playerRef, @Nonnull Vector3d startPosition,
-                        @Nonnull UUID targetPlayerUuid, @Nonnull String targetPlayerName,
-                        @Nullable String successMessage, int delaySeconds) {
-            this.playerRef = playerRef;
-            this.startPosition = startPosition.clone(); // Clone to prevent mutation
-            this.destination = null;
-            this.targetPlayerUuid = targetPlayerUuid;
-            this.targetPlayerName = targetPlayerName;
-            this.successMessage = successMessage;
-            this.onSuccess = null;
-            this.delaySeconds = delaySeconds;
-            this.elapsedTime = 0f;
-        }
-
-        PlayerRef getPlayerRef() {
-            return playerRef;
+    private void onTeleported(@Nonnull PlayerRef playerRef, @Nonnull TeleportWarmup warmup) {
+        SoundUtil.playSound(playerRef, TELEPORT_SOUND);
+        if (warmup.getSuccessMessage() != null) {
+            Msg.send(playerRef, warmup.getSuccessMessage());
         }
-
-        Vector3d getStartPosition() {
-            return startPosition;
-        }
-
-        TeleportDestination getDestination() {
-            return destination;
-        }
-
-        UUID getTargetPlayerUuid() {
-            return targetPlayerUuid;
-        }
-
-        boolean isPlayerTeleport() {
-            return targetPlayerUuid != null;
-        }
-
-        String getSuccessMessage() {
-            return successMessage;
-        }
-
-        Runnable getOnSuccess() {
-            return onSuccess;
-        }
-
-        void addElapsedTime(float deltaTime) {
-            this.elapsedTime += deltaTime;
-        }
-
-        boolean isReady() {
-            return elapsedTime >= delaySeconds;
+        if (warmup.getOnSuccess() != null) {
+            warmup.getOnSuccess().run();
         }
-
     }
 }
@@ -157,7 +157,7 @@ public class TpaManager {
             // Notify the requester that their request expired
             PlayerRef requester = Universe.get().getPlayer(requesterUuid);
             if (requester != null) {
-                Msg.send(requester, messages.get("tpa.request-expired", Map.of("player", request.getTargetName())));
+                Msg.send(requester, messages.format("tpa.request-expired", Map.of("player", request.getTargetName())));
             }
         }
     }
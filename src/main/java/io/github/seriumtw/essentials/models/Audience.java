@@ -0,0 +1,88 @@
+package io.github.seriumtw.essentials.models;
+
+import com.hypixel.hytale.math.vector.Vector3d;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Who receives a broadcast. Immutable; each filter returns a new audience, e.g.
+ * {@code Audience.world("world").withPermission("essentials.staff").excluding(ignoring)}.
+ * @param world Only players in this world, or null for every world
+ * @param permission Only players with this permission, or null for everyone
+ * @param center Only players within radius blocks of this position (in world), or null for any distance
+ * @param radius Radius around center, in blocks
+ * @param excluded Players who never receive the broadcast (e.g. the ones ignoring the sender)
+ */
+public record Audience(@Nullable String world, @Nullable String permission, @Nullable Vector3d center,
+                       double radius, @Nonnull Set<UUID> excluded) {
+    private static final Audience ALL = new Audience(null, null, null, 0, Set.of());
+
+    /**
+     * Everyone online.
+     */
+    @Nonnull
+    public static Audience all() {
+        return ALL;
+    }
+
+    /**
+     * Everyone in a world.
+     */
+    @Nonnull
+    public static Audience world(@Nonnull String worldName) {
+        return ALL.inWorld(worldName);
+    }
+
+    /**
+     * Everyone within a radius of a position in a world.
+     */
+    @Nonnull
+    public static Audience near(@Nonnull String worldName, @Nonnull Vector3d center, double radius) {
+        return new Audience(worldName, null, center.clone(), radius, Set.of());
+    }
+
+    @Nonnull
+    public Audience inWorld(@Nonnull String worldName) {
+        return new Audience(worldName, permission, center, radius, excluded);
+    }
+
+    @Nonnull
+    public Audience withPermission(@Nonnull String requiredPermission) {
+        return new Audience(world, requiredPermission, center, radius, excluded);
+    }
+
+    @Nonnull
+    public Audience excluding(@Nonnull Collection<UUID> players) {
+        if (players.isEmpty()) {
+            return this;
+        }
+        Set<UUID> merged = new HashSet<>(excluded);
+        merged.addAll(players);
+        return new Audience(world, permission, center, radius, Set.copyOf(merged));
+    }
+
+    /**
+     * Checks if the audience needs player positions (only known on the world thread).
+     */
+    public boolean hasRadius() {
+        return center != null;
+    }
+
+    /**
+     * Checks if a position is within the radius, or true if there is no radius.
+     */
+    public boolean isInRange(@Nonnull Vector3d position) {
+        if (center == null) {
+            return true;
+        }
+        double dx = position.getX() - center.getX();
+        double dy = position.getY() - center.getY();
+        double dz = position.getZ() - center.getZ();
+        return dx * dx + dy * dy + dz * dz <= radius * radius;
+    }
+}
@@ -0,0 +1,85 @@
+package io.github.seriumtw.essentials.models;
+
+import com.hypixel.hytale.server.core.Message;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.List;
+
+/**
+ * A chat message on its way through the chat pipeline. Stages run one after another on a
+ * single worker thread, so they may read and change it freely.
+ */
+public class ChatMessage {
+    private final PlayerRef sender;
+    private String content;
+    private List<PlayerRef> targets;
+    @Nullable
+    private Message formatted;
+    private boolean cancelled;
+    @Nullable
+    private String cancelReason;
+
+    public ChatMessage(@Nonnull PlayerRef sender, @Nonnull String content, @Nonnull List<PlayerRef> targets) {
+        this.sender = sender;
+        this.content = content;
+        this.targets = targets;
+    }
+
+    @Nonnull
+    public PlayerRef getSender() {
+        return sender;
+    }
+
+    @Nonnull
+    public String getContent() {
+        return content;
+    }
+
+    public void setContent(@Nonnull String content) {
+        this.content = content;
+    }
+
+    /**
+     * Gets the players who will receive the message.
+     */
+    @Nonnull
+    public List<PlayerRef> getTargets() {
+        return targets;
+    }
+
+    public void setTargets(@Nonnull List<PlayerRef> targets) {
+        this.targets = targets;
+    }
+
+    /**
+     * Gets the styled message set by the format stage, or null if not formatted yet.
+     */
+    @Nullable
+    public Message getFormatted() {
+        return formatted;
+    }
+
+    public void setFormatted(@Nullable Message formatted) {
+        this.formatted = formatted;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Stops the message; later stages are skipped and nobody receives it.
+     * @param reason Text shown to the sender, or null to drop the message silently
+     */
+    public void cancel(@Nullable String reason) {
+        this.cancelled = true;
+        this.cancelReason = reason;
+    }
+
+    @Nullable
+    public String getCancelReason() {
+        return cancelReason;
+    }
+}
@@ -0,0 +1,60 @@
+package io.github.seriumtw.essentials.models;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The usernames a player has joined with, oldest first. The last entry is the current name.
+ * Immutable so it can be written to disk while the player joins with a new name.
+ */
+public class NameHistory {
+    private final List<Entry> names;
+
+    public NameHistory(List<Entry> names) {
+        this.names = names;
+    }
+
+    public static NameHistory of(String username, long since) {
+        return new NameHistory(List.of(new Entry(username, since)));
+    }
+
+    /**
+     * Returns a copy with the given name appended as the current name.
+     */
+    public NameHistory withName(String username, long since) {
+        List<Entry> updated = new ArrayList<>(getNames());
+        updated.add(new Entry(username, since));
+        return new NameHistory(updated);
+    }
+
+    public List<Entry> getNames() {
+        return names != null ? Collections.unmodifiableList(names) : List.of();
+    }
+
+    public String getCurrentName() {
+        List<Entry> entries = getNames();
+        return entries.isEmpty() ? null : entries.get(entries.size() - 1).getName();
+    }
+
+    /**
+     * A username and when the player first joined with it.
+     */
+    public static class Entry {
+        private final String name;
+        private final long since;
+
+        public Entry(String name, long since) {
+            this.name = name;
+            this.since = since;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getSince() {
+            return since;
+        }
+    }
+}
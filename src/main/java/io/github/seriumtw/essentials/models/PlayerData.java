@@ -55,6 +55,11 @@ public class PlayerData {
 
     // Kit cooldown methods
 
+    public Map<String, Long> getKitCooldowns() {
+        ensureInitialized();
+        return kitCooldowns;
+    }
+
     @Nullable
     public Long getKitCooldown(@Nonnull String kitId) {
         ensureInitialized();
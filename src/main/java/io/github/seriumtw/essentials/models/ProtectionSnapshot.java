@@ -0,0 +1,104 @@
+package io.github.seriumtw.essentials.models;
+
+import io.github.seriumtw.essentials.util.RegionIndex;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Immutable, precomputed protection settings: the spawn area as integer block bounds
+ * plus the region index. Built once on reload or /setspawn and swapped in as a whole,
+ * so a protection check reads one reference and does no allocation or config lookups.
+ */
+public final class ProtectionSnapshot {
+    private static final ProtectionSnapshot EMPTY =
+            new ProtectionSnapshot(false, false, null, 0, 0, 0, 0, 0, 0, RegionIndex.empty());
+
+    private final boolean spawnEnabled;
+    private final boolean spawnInvulnerable;
+    // Null when spawn protection is disabled or no spawn is set
+    private final String spawnWorld;
+    private final int minX;
+    private final int maxX;
+    private final int minY;
+    private final int maxY;
+    private final int minZ;
+    private final int maxZ;
+    private final RegionIndex regions;
+
+    private ProtectionSnapshot(boolean spawnEnabled, boolean spawnInvulnerable, @Nullable String spawnWorld,
+                               int minX, int maxX, int minY, int maxY, int minZ, int maxZ,
+                               @Nonnull RegionIndex regions) {
+        this.spawnEnabled = spawnEnabled;
+        this.spawnInvulnerable = spawnInvulnerable;
+        this.spawnWorld = spawnWorld;
+        this.minX = minX;
+        this.maxX = maxX;
+        this.minY = minY;
+        this.maxY = maxY;
+        this.minZ = minZ;
+        this.maxZ = maxZ;
+        this.regions = regions;
+    }
+
+    @Nonnull
+    public static ProtectionSnapshot empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Compiles the spawn protection settings into block bounds.
+     * @param spawn The current spawn, or null if none is set
+     * @param minY Lowest protected Y, or -1 for no limit
+     * @param maxY Highest protected Y, or -1 for no limit
+     */
+    @Nonnull
+    public static ProtectionSnapshot of(boolean enabled, boolean invulnerable, @Nullable Spawn spawn,
+                                        int radius, int minY, int maxY, @Nonnull RegionIndex regions) {
+        if (!enabled || spawn == null) {
+            return new ProtectionSnapshot(enabled, invulnerable, null, 0, 0, 0, 0, 0, 0, regions);
+        }
+        // A block is protected when |block - spawn| <= radius on X and Z
+        return new ProtectionSnapshot(true, invulnerable, spawn.getWorld(),
+                (int) Math.ceil(spawn.getX() - radius), (int) Math.floor(spawn.getX() + radius),
+                minY == -1 ? Integer.MIN_VALUE : minY, maxY == -1 ? Integer.MAX_VALUE : maxY,
+                (int) Math.ceil(spawn.getZ() - radius), (int) Math.floor(spawn.getZ() + radius),
+                regions);
+    }
+
+    public boolean isSpawnEnabled() {
+        return spawnEnabled;
+    }
+
+    public boolean isSpawnInvulnerable() {
+        return spawnInvulnerable;
+    }
+
+    /**
+     * Checks if any protection applies at all.
+     */
+    public boolean isActive() {
+        return spawnEnabled || !regions.isEmpty();
+    }
+
+    /**
+     * Checks if a block position is within the protected spawn area.
+     */
+    public boolean isInSpawn(@Nonnull String worldName, int x, int y, int z) {
+        return spawnWorld != null
+                && x >= minX && x <= maxX && z >= minZ && z <= maxZ && y >= minY && y <= maxY
+                && spawnWorld.equals(worldName);
+    }
+
+    /**
+     * Gets the named region containing a block position, or null.
+     */
+    @Nullable
+    public Region getRegionAt(@Nonnull String worldName, int x, int y, int z) {
+        return regions.find(worldName, x, y, z);
+    }
+
+    public boolean hasRegions() {
+        return !regions.isEmpty();
+    }
+}
@@ -0,0 +1,150 @@
+package io.github.seriumtw.essentials.models;
+
+import javax.annotation.Nonnull;
+
+/**
+ * A named protected area in one world, either a box or an upright cylinder.
+ * All bounds are block coordinates and inclusive.
+ */
+public class Region {
+    public enum Shape {
+        CUBOID,
+        CYLINDER
+    }
+
+    /**
+     * What is allowed inside a region.
+     * @param pvp Players may damage each other
+     * @param build Players may break, place and damage blocks
+     * @param invulnerable Players take no damage at all
+     * @param title Title shown to players entering, or empty for none
+     * @param entryDeny Players without permission are pushed back at the border
+     */
+    public record Flags(boolean pvp, boolean build, boolean invulnerable, @Nonnull String title, boolean entryDeny) {
+    }
+
+    private final String name;
+    private final String world;
+    private final Shape shape;
+    private final int minX;
+    private final int minY;
+    private final int minZ;
+    private final int maxX;
+    private final int maxY;
+    private final int maxZ;
+    private final int centerX;
+    private final int centerZ;
+    private final long radiusSquared;
+    private final Flags flags;
+
+    private Region(String name, String world, Shape shape, int minX, int minY, int minZ,
+                   int maxX, int maxY, int maxZ, int centerX, int centerZ, int radius, Flags flags) {
+        this.name = name;
+        this.world = world;
+        this.shape = shape;
+        this.minX = minX;
+        this.minY = minY;
+        this.minZ = minZ;
+        this.maxX = maxX;
+        this.maxY = maxY;
+        this.maxZ = maxZ;
+        this.centerX = centerX;
+        this.centerZ = centerZ;
+        this.radiusSquared = (long) radius * radius;
+        this.flags = flags;
+    }
+
+    /**
+     * Creates a box between two corners (in any order).
+     */
+    public static Region cuboid(String name, String world, int x1, int y1, int z1, int x2, int y2, int z2,
+                                Flags flags) {
+        return new Region(name, world, Shape.CUBOID,
+                Math.min(x1, x2), Math.min(y1, y2), Math.min(z1, z2),
+                Math.max(x1, x2), Math.max(y1, y2), Math.max(z1, z2),
+                0, 0, 0, flags);
+    }
+
+    /**
+     * Creates an upright cylinder around a center column.
+     */
+    public static Region cylinder(String name, String world, int centerX, int centerZ, int radius,
+                                  int minY, int maxY, Flags flags) {
+        int r = Math.max(0, radius);
+        return new Region(name, world, Shape.CYLINDER,
+                centerX - r, Math.min(minY, maxY), centerZ - r,
+                centerX + r, Math.max(minY, maxY), centerZ + r,
+                centerX, centerZ, r, flags);
+    }
+
+    /**
+     * Checks if a block position is inside this region. Does not check the world.
+     */
+    public boolean contains(int x, int y, int z) {
+        if (x < minX || x > maxX || y < minY || y > maxY || z < minZ || z > maxZ) {
+            return false;
+        }
+        if (shape == Shape.CUBOID) {
+            return true;
+        }
+        long dx = x - centerX;
+        long dz = z - centerZ;
+        return dx * dx + dz * dz <= radiusSquared;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getWorld() {
+        return world;
+    }
+
+    public Shape getShape() {
+        return shape;
+    }
+
+    public int getMinX() {
+        return minX;
+    }
+
+    public int getMinY() {
+        return minY;
+    }
+
+    public int getMinZ() {
+        return minZ;
+    }
+
+    public int getMaxX() {
+        return maxX;
+    }
+
+    public int getMaxY() {
+        return maxY;
+    }
+
+    public int getMaxZ() {
+        return maxZ;
+    }
+
+    public Flags getFlags() {
+        return flags;
+    }
+
+    public boolean isInvulnerable() {
+        return flags.invulnerable();
+    }
+
+    public boolean allowsPvp() {
+        return flags.pvp();
+    }
+
+    public boolean allowsBuild() {
+        return flags.build();
+    }
+
+    public boolean isEntryDenied() {
+        return flags.entryDeny();
+    }
+}
@@ -0,0 +1,239 @@
+package io.github.seriumtw.essentials.storage;
+
+import io.github.seriumtw.essentials.models.Home;
+import io.github.seriumtw.essentials.models.PlayerData;
+import io.github.seriumtw.essentials.models.Spawn;
+import io.github.seriumtw.essentials.models.Warp;
+
+import javax.annotation.Nonnull;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compact binary encoding for stored records, used when storage.format = "binary".
+ * Every record starts with a header: magic "SRMB", schema version, record type.
+ * Decoders reject unknown versions so newer files are never misread by older builds.
+ */
+public final class BinaryCodec {
+    private static final int MAGIC = 0x53524D42; // "SRMB"
+    private static final int VERSION = 1;
+
+    private static final byte TYPE_PLAYER_DATA = 1;
+    private static final byte TYPE_WARPS = 2;
+    private static final byte TYPE_SPAWN = 3;
+
+    private static final int FLAG_LAST_REPAIR = 1;
+    private static final int FLAG_LAST_RTP = 1 << 1;
+
+    private BinaryCodec() {}
+
+    /**
+     * Checks if the bytes start with the binary record header (as opposed to JSON).
+     */
+    public static boolean isBinary(@Nonnull byte[] bytes) {
+        return bytes.length >= 4
+                && ((bytes[0] & 0xFF) << 24 | (bytes[1] & 0xFF) << 16 | (bytes[2] & 0xFF) << 8 | (bytes[3] & 0xFF)) == MAGIC;
+    }
+
+    // PlayerData
+
+    @Nonnull
+    public static byte[] encodePlayerData(@Nonnull PlayerData data) {
+        return encode(TYPE_PLAYER_DATA, out -> {
+            Map<String, Home> homes = data.getHomes();
+            writeVarInt(out, homes.size());
+            for (Map.Entry<String, Home> entry : homes.entrySet()) {
+                out.writeUTF(entry.getKey());
+                writeHome(out, entry.getValue());
+            }
+
+            Map<String, Long> kitCooldowns = data.getKitCooldowns();
+            writeVarInt(out, kitCooldowns.size());
+            for (Map.Entry<String, Long> entry : kitCooldowns.entrySet()) {
+                out.writeUTF(entry.getKey());
+                out.writeLong(entry.getValue());
+            }
+
+            Long lastRepair = data.getLastRepairTime();
+            Long lastRtp = data.getLastRtpTime();
+            int flags = (lastRepair != null ? FLAG_LAST_REPAIR : 0) | (lastRtp != null ? FLAG_LAST_RTP : 0);
+            out.writeByte(flags);
+            if (lastRepair != null) {
+                out.writeLong(lastRepair);
+            }
+            if (lastRtp != null) {
+                out.writeLong(lastRtp);
+            }
+        });
+    }
+
+    @Nonnull
+    public static PlayerData decodePlayerData(@Nonnull byte[] bytes) throws IOException {
+        DataInputStream in = open(bytes, TYPE_PLAYER_DATA);
+        PlayerData data = new PlayerData();
+
+        int homeCount = readVarInt(in);
+        for (int i = 0; i < homeCount; i++) {
+            String name = in.readUTF();
+            data.setHome(name, readHome(in));
+        }
+
+        int cooldownCount = readVarInt(in);
+        for (int i = 0; i < cooldownCount; i++) {
+            String kitId = in.readUTF();
+            data.setKitCooldown(kitId, in.readLong());
+        }
+
+        int flags = in.readUnsignedByte();
+        if ((flags & FLAG_LAST_REPAIR) != 0) {
+            data.setLastRepairTime(in.readLong());
+        }
+        if ((flags & FLAG_LAST_RTP) != 0) {
+            data.setLastRtpTime(in.readLong());
+        }
+        return data;
+    }
+
+    // Warps
+
+    @Nonnull
+    public static byte[] encodeWarps(@Nonnull Map<String, Warp> warps) {
+        return encode(TYPE_WARPS, out -> {
+            // Snapshot first so a concurrent /setwarp cannot change the count mid-write
+            Map<String, Warp> snapshot = new LinkedHashMap<>(warps);
+            writeVarInt(out, snapshot.size());
+            for (Map.Entry<String, Warp> entry : snapshot.entrySet()) {
+                out.writeUTF(entry.getKey());
+                writeWarp(out, entry.getValue());
+            }
+        });
+    }
+
+    @Nonnull
+    public static Map<String, Warp> decodeWarps(@Nonnull byte[] bytes) throws IOException {
+        DataInputStream in = open(bytes, TYPE_WARPS);
+        int count = readVarInt(in);
+        Map<String, Warp> warps = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            String name = in.readUTF();
+            warps.put(name, readWarp(in));
+        }
+        return warps;
+    }
+
+    // Spawn
+
+    @Nonnull
+    public static byte[] encodeSpawn(@Nonnull Spawn spawn) {
+        return encode(TYPE_SPAWN, out -> {
+            out.writeUTF(spawn.getWorld());
+            writePosition(out, spawn.getX(), spawn.getY(), spawn.getZ(), spawn.getYaw(), spawn.getPitch());
+        });
+    }
+
+    @Nonnull
+    public static Spawn decodeSpawn(@Nonnull byte[] bytes) throws IOException {
+        DataInputStream in = open(bytes, TYPE_SPAWN);
+        return new Spawn(in.readUTF(), in.readDouble(), in.readDouble(), in.readDouble(),
+                in.readFloat(), in.readFloat());
+    }
+
+    // Shared location encoding
+
+    private static void writeHome(@Nonnull DataOutputStream out, @Nonnull Home home) throws IOException {
+        out.writeUTF(home.getWorld());
+        writePosition(out, home.getX(), home.getY(), home.getZ(), home.getYaw(), home.getPitch());
+        out.writeLong(home.getCreatedAt());
+    }
+
+    @Nonnull
+    private static Home readHome(@Nonnull DataInputStream in) throws IOException {
+        return new Home(in.readUTF(), in.readDouble(), in.readDouble(), in.readDouble(),
+                in.readFloat(), in.readFloat(), in.readLong());
+    }
+
+    private static void writeWarp(@Nonnull DataOutputStream out, @Nonnull Warp warp) throws IOException {
+        out.writeUTF(warp.getWorld());
+        writePosition(out, warp.getX(), warp.getY(), warp.getZ(), warp.getYaw(), warp.getPitch());
+    }
+
+    @Nonnull
+    private static Warp readWarp(@Nonnull DataInputStream in) throws IOException {
+        return new Warp(in.readUTF(), in.readDouble(), in.readDouble(), in.readDouble(),
+                in.readFloat(), in.readFloat());
+    }
+
+    private static void writePosition(@Nonnull DataOutputStream out, double x, double y, double z,
+                                      float yaw, float pitch) throws IOException {
+        out.writeDouble(x);
+        out.writeDouble(y);
+        out.writeDouble(z);
+        out.writeFloat(yaw);
+        out.writeFloat(pitch);
+    }
+
+    // Framing
+
+    @Nonnull
+    private static byte[] encode(byte type, @Nonnull Body body) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeByte(type);
+            body.write(out);
+        } catch (IOException e) {
+            // Writing to a byte array never fails
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Nonnull
+    private static DataInputStream open(@Nonnull byte[] bytes, byte expectedType) throws IOException {
+        if (!isBinary(bytes)) {
+            throw new IOException("Not a binary record");
+        }
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes, 4, bytes.length - 4));
+        int version = in.readUnsignedByte();
+        if (version > VERSION) {
+            throw new IOException("Unsupported binary record version " + version + " (max " + VERSION + ")");
+        }
+        int type = in.readUnsignedByte();
+        if (type != expectedType) {
+            throw new IOException("Unexpected binary record type " + type + " (expected " + expectedType + ")");
+        }
+        return in;
+    }
+
+    private static void writeVarInt(@Nonnull DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(@Nonnull DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    @FunctionalInterface
+    private interface Body {
+        void write(DataOutputStream out) throws IOException;
+    }
+}
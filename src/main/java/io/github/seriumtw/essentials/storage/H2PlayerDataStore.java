@@ -0,0 +1,197 @@
+package io.github.seriumtw.essentials.storage;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import io.github.seriumtw.essentials.models.PlayerData;
+import io.github.seriumtw.essentials.util.Log;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Stores all players in a single embedded H2 database file (players.mv.db).
+ * The database runs in-process; no external server is needed.
+ * Records are kept as JSON, or in the compact binary encoding when storage.format = "binary".
+ * Rows in either encoding are always readable.
+ */
+public class H2PlayerDataStore implements PlayerDataStore {
+    public static final String NAME = "h2";
+    private static final String DATABASE_NAME = "players";
+    private static final int UUID_PAGE_SIZE = 1000;
+
+    private static final String CREATE_TABLE =
+            "CREATE TABLE IF NOT EXISTS player_data (uuid UUID PRIMARY KEY, data CLOB, bin VARBINARY, updated_at BIGINT NOT NULL)";
+    // Upgrades tables created before the binary column existed
+    private static final String ADD_BINARY_COLUMN = "ALTER TABLE player_data ADD COLUMN IF NOT EXISTS bin VARBINARY";
+    private static final String ALLOW_NULL_JSON = "ALTER TABLE player_data ALTER COLUMN data SET NULL";
+    private static final String SELECT = "SELECT data, bin FROM player_data WHERE uuid = ?";
+    private static final String EXISTS = "SELECT 1 FROM player_data WHERE uuid = ?";
+    private static final String MERGE = "MERGE INTO player_data (uuid, data, bin, updated_at) KEY (uuid) VALUES (?, ?, ?, ?)";
+    private static final String SELECT_ALL = "SELECT uuid, data, bin FROM player_data";
+    private static final String SELECT_UUID_PAGE = "SELECT uuid FROM player_data WHERE uuid > ? ORDER BY uuid LIMIT ?";
+    private static final String SELECT_FIRST_UUID_PAGE = "SELECT uuid FROM player_data ORDER BY uuid LIMIT ?";
+
+    private final Gson gson;
+    private final StorageFormat format;
+    private final Connection connection;
+
+    public H2PlayerDataStore(@Nonnull Path dataFolder, @Nonnull Gson gson) throws IOException {
+        this(dataFolder, gson, StorageFormat.JSON);
+    }
+
+    public H2PlayerDataStore(@Nonnull Path dataFolder, @Nonnull Gson gson, @Nonnull StorageFormat format) throws IOException {
+        this.gson = gson;
+        this.format = format;
+        try {
+            // Load the driver explicitly since the plugin class loader is not scanned by DriverManager
+            Class.forName("org.h2.Driver");
+            String url = "jdbc:h2:file:" + dataFolder.resolve(DATABASE_NAME).toAbsolutePath()
+                    + ";LAZY_QUERY_EXECUTION=TRUE";
+            this.connection = DriverManager.getConnection(url);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(CREATE_TABLE);
+                statement.execute(ADD_BINARY_COLUMN);
+                statement.execute(ALLOW_NULL_JSON);
+            }
+        } catch (ClassNotFoundException | SQLException e) {
+            throw new IOException("Failed to open H2 database: " + e.getMessage(), e);
+        }
+    }
+
+    @Nonnull
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Nullable
+    @Override
+    public synchronized PlayerData load(@Nonnull UUID playerUuid) throws IOException {
+        try (PreparedStatement statement = connection.prepareStatement(SELECT)) {
+            statement.setObject(1, playerUuid);
+            try (ResultSet result = statement.executeQuery()) {
+                return result.next() ? decode(result.getString(1), result.getBytes(2)) : null;
+            }
+        } catch (SQLException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public synchronized void save(@Nonnull UUID playerUuid, @Nonnull PlayerData data) throws IOException {
+        try (PreparedStatement statement = connection.prepareStatement(MERGE)) {
+            statement.setObject(1, playerUuid);
+            if (format == StorageFormat.BINARY) {
+                statement.setNull(2, Types.CLOB);
+                statement.setBytes(3, BinaryCodec.encodePlayerData(data));
+            } else {
+                statement.setString(2, gson.toJson(data));
+                statement.setNull(3, Types.VARBINARY);
+            }
+            statement.setLong(4, System.currentTimeMillis());
+            statement.executeUpdate();
+        } catch (SQLException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public synchronized boolean exists(@Nonnull UUID playerUuid) throws IOException {
+        try (PreparedStatement statement = connection.prepareStatement(EXISTS)) {
+            statement.setObject(1, playerUuid);
+            try (ResultSet result = statement.executeQuery()) {
+                return result.next();
+            }
+        } catch (SQLException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public synchronized void forEach(@Nonnull BiConsumer<UUID, PlayerData> action) throws IOException {
+        try (Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery(SELECT_ALL)) {
+            while (result.next()) {
+                UUID playerUuid = result.getObject(1, UUID.class);
+                try {
+                    PlayerData data = decode(result.getString(2), result.getBytes(3));
+                    if (data != null) {
+                        action.accept(playerUuid, data);
+                    }
+                } catch (IOException | JsonParseException e) {
+                    Log.warning("Skipping unreadable player record " + playerUuid + ": " + e.getMessage());
+                }
+            }
+        } catch (SQLException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void forEachUuid(@Nonnull Consumer<UUID> action) throws IOException {
+        // Page through the keys so the connection is not held while the action runs
+        UUID last = null;
+        while (true) {
+            List<UUID> page = loadUuidPage(last);
+            for (UUID playerUuid : page) {
+                action.accept(playerUuid);
+            }
+            if (page.size() < UUID_PAGE_SIZE) {
+                return;
+            }
+            last = page.get(page.size() - 1);
+        }
+    }
+
+    @Nonnull
+    private synchronized List<UUID> loadUuidPage(@Nullable UUID after) throws IOException {
+        try (PreparedStatement statement = connection.prepareStatement(after == null ? SELECT_FIRST_UUID_PAGE : SELECT_UUID_PAGE)) {
+            if (after == null) {
+                statement.setInt(1, UUID_PAGE_SIZE);
+            } else {
+                statement.setObject(1, after);
+                statement.setInt(2, UUID_PAGE_SIZE);
+            }
+            List<UUID> page = new ArrayList<>(UUID_PAGE_SIZE);
+            try (ResultSet result = statement.executeQuery()) {
+                while (result.next()) {
+                    page.add(result.getObject(1, UUID.class));
+                }
+            }
+            return page;
+        } catch (SQLException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    @Nullable
+    private PlayerData decode(@Nullable String json, @Nullable byte[] binary) throws IOException {
+        if (binary != null) {
+            return BinaryCodec.decodePlayerData(binary);
+        }
+        return json != null ? gson.fromJson(json, PlayerData.class) : null;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+}
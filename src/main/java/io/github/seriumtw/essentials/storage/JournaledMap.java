@@ -0,0 +1,373 @@
+package io.github.seriumtw.essentials.storage;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import io.github.seriumtw.essentials.util.Log;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * String-keyed map persisted as a snapshot plus an append-only change journal.
+ * Each put or remove adds one JSON line to the journal instead of rewriting the whole map.
+ * Once the journal grows past the map size, it is compacted: the snapshot is rewritten and the journal cleared.
+ * The owner calls {@link #flush()} periodically (after the change listener fired) to write, sync and compact.
+ *
+ * Put and remove never touch the disk: the line is added to an in-memory buffer, and flush writes
+ * the buffer to the journal file and syncs it. A crash loses at most the changes since the last flush.
+ *
+ * Compaction rotates the journal to &lt;name&gt;.journal.old before writing the snapshot and deletes it afterwards,
+ * so a crash at any point leaves a snapshot and journal(s) that replay to the latest state.
+ */
+public class JournaledMap<V> {
+    private static final int MIN_COMPACT_ENTRIES = 256;
+    private static final String KEY = "k";
+    private static final String VALUE = "v";
+    private static final byte[] EMPTY = new byte[0];
+
+    /**
+     * Writes a full snapshot of the map (e.g. warps.json).
+     */
+    @FunctionalInterface
+    public interface SnapshotWriter<V> {
+        void write(@Nonnull Map<String, V> snapshot) throws IOException;
+    }
+
+    private final String name;
+    private final Path journalFile;
+    private final Path rotatedFile;
+    private final Gson gson;
+    private final Type valueType;
+    private final SnapshotWriter<V> snapshotWriter;
+    private final Runnable changeListener;
+    private final ConcurrentHashMap<String, V> map = new ConcurrentHashMap<>();
+
+    // Guards the map updates and the buffer, so lines are buffered in the order the changes were made
+    private final Object lock = new Object();
+    // Guards the journal channel and file; taken before lock, never while holding it
+    private final Object journalLock = new Object();
+    private final Object compactionLock = new Object();
+    private ByteArrayOutputStream pending = new ByteArrayOutputStream();
+    private FileChannel journal;
+    // Changes since the last compaction, written or still buffered
+    private int journalEntries;
+
+    public JournaledMap(@Nonnull String name, @Nonnull Path journalFile, @Nonnull Gson gson,
+                        @Nonnull Type valueType, @Nonnull SnapshotWriter<V> snapshotWriter,
+                        @Nonnull Runnable changeListener) {
+        this.name = name;
+        this.journalFile = journalFile;
+        this.rotatedFile = journalFile.resolveSibling(journalFile.getFileName() + ".old");
+        this.gson = gson;
+        this.valueType = valueType;
+        this.snapshotWriter = snapshotWriter;
+        this.changeListener = changeListener;
+    }
+
+    /**
+     * Loads the map from its snapshot and replays any journal entries written after it.
+     * If the journal had entries, they are compacted into a fresh snapshot right away.
+     *
+     * @param snapshot the last snapshot, or null if there is none yet
+     */
+    public void load(@Nullable Map<String, V> snapshot) {
+        if (snapshot != null) {
+            map.putAll(snapshot);
+        }
+        int replayed = replay(rotatedFile) + replay(journalFile);
+        if (replayed > 0) {
+            Log.info("Replayed " + replayed + " " + name + " journal entries.");
+            compact();
+        }
+    }
+
+    @Nullable
+    public V get(@Nonnull String key) {
+        return map.get(key);
+    }
+
+    public int size() {
+        return map.size();
+    }
+
+    /**
+     * Gets a read-only live view of the map.
+     */
+    @Nonnull
+    public Map<String, V> view() {
+        return Collections.unmodifiableMap(map);
+    }
+
+    /**
+     * Sets a value and buffers the change for the journal.
+     */
+    public void put(@Nonnull String key, @Nonnull V value) {
+        synchronized (lock) {
+            map.put(key, value);
+            append(key, gson.toJsonTree(value, valueType));
+        }
+        changeListener.run();
+    }
+
+    /**
+     * Removes a value and buffers the removal for the journal.
+     *
+     * @return the removed value, or null if the key was not present (nothing is journaled)
+     */
+    @Nullable
+    public V remove(@Nonnull String key) {
+        V removed;
+        synchronized (lock) {
+            removed = map.remove(key);
+            if (removed != null) {
+                append(key, null);
+            }
+        }
+        if (removed != null) {
+            changeListener.run();
+        }
+        return removed;
+    }
+
+    /**
+     * Gets the number of changes made since the last compaction.
+     */
+    public int getJournalEntries() {
+        synchronized (lock) {
+            return journalEntries;
+        }
+    }
+
+    /**
+     * Writes buffered entries to the journal and syncs it, or compacts once the journal has grown
+     * past the map size.
+     */
+    public void flush() throws IOException {
+        if (getJournalEntries() >= Math.max(MIN_COMPACT_ENTRIES, map.size())) {
+            compact();
+            return;
+        }
+        synchronized (journalLock) {
+            writePending(takePending());
+            if (journal != null) {
+                journal.force(false);
+            }
+        }
+    }
+
+    /**
+     * Rewrites the snapshot from the current map and clears the journal.
+     */
+    public void compact() {
+        synchronized (compactionLock) {
+            Map<String, V> snapshot;
+            synchronized (journalLock) {
+                int compacted;
+                byte[] buffered;
+                synchronized (lock) {
+                    // Nothing changed since the last snapshot
+                    if (journalEntries == 0 && !Files.exists(rotatedFile) && !Files.exists(journalFile)) {
+                        return;
+                    }
+                    snapshot = new LinkedHashMap<>(map);
+                    compacted = journalEntries;
+                    buffered = takePending();
+                }
+                try {
+                    // The rotated journal must hold every change in the snapshot, in case writing it fails
+                    writePending(buffered);
+                    closeJournal();
+                    rotateJournal();
+                } catch (IOException e) {
+                    Log.error("Failed to rotate " + name + " journal: " + e.getMessage());
+                    return;
+                }
+                synchronized (lock) {
+                    // Changes made since the snapshot was taken stay buffered for the new journal
+                    journalEntries -= compacted;
+                }
+            }
+
+            try {
+                snapshotWriter.write(snapshot);
+                Files.deleteIfExists(rotatedFile);
+            } catch (IOException | RuntimeException e) {
+                // The rotated journal is kept and replayed on the next load
+                Log.error("Failed to write " + name + " snapshot: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Compacts the journal and closes it. Called on shutdown.
+     */
+    public void close() {
+        compact();
+        synchronized (journalLock) {
+            try {
+                // Anything left if the compaction failed
+                writePending(takePending());
+            } catch (IOException e) {
+                Log.error("Failed to write " + name + " journal: " + e.getMessage());
+            }
+            closeJournal();
+        }
+    }
+
+    /**
+     * Buffers a journal line. Called with the lock held.
+     */
+    private void append(@Nonnull String key, @Nullable JsonElement value) {
+        JsonObject entry = new JsonObject();
+        entry.addProperty(KEY, key);
+        if (value != null) {
+            entry.add(VALUE, value);
+        }
+        byte[] line = (gson.toJson(entry) + "\n").getBytes(StandardCharsets.UTF_8);
+        pending.write(line, 0, line.length);
+        journalEntries++;
+    }
+
+    /**
+     * Takes the buffered lines, leaving the buffer empty.
+     */
+    @Nonnull
+    private byte[] takePending() {
+        synchronized (lock) {
+            if (pending.size() == 0) {
+                return EMPTY;
+            }
+            byte[] taken = pending.toByteArray();
+            pending = new ByteArrayOutputStream();
+            return taken;
+        }
+    }
+
+    /**
+     * Writes taken lines to the journal. Called with the journal lock held.
+     * If the write fails, the lines are put back in front of any newer ones and written by the next flush.
+     */
+    private void writePending(@Nonnull byte[] lines) throws IOException {
+        if (lines.length == 0) {
+            return;
+        }
+        try {
+            if (journal == null) {
+                journal = openJournal();
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(lines);
+            while (buffer.hasRemaining()) {
+                journal.write(buffer);
+            }
+        } catch (IOException e) {
+            synchronized (lock) {
+                ByteArrayOutputStream newer = pending;
+                pending = new ByteArrayOutputStream(lines.length + newer.size());
+                pending.write(lines, 0, lines.length);
+                newer.writeTo(pending);
+            }
+            // Reopened on the next write, which terminates a partly written line
+            closeJournal();
+            throw e;
+        }
+    }
+
+    @Nonnull
+    private FileChannel openJournal() throws IOException {
+        // Only ever written under the journal lock, so positioning at the end is equivalent to APPEND
+        FileChannel channel = FileChannel.open(journalFile, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long size = channel.size();
+        channel.position(size);
+        if (size > 0) {
+            // Terminate a line cut short by a crash so it does not swallow the next entry
+            ByteBuffer last = ByteBuffer.allocate(1);
+            channel.read(last, size - 1);
+            if (last.get(0) != '\n') {
+                channel.write(ByteBuffer.wrap(new byte[]{'\n'}));
+            }
+        }
+        return channel;
+    }
+
+    private void rotateJournal() throws IOException {
+        if (!Files.exists(journalFile)) {
+            return;
+        }
+        if (Files.exists(rotatedFile)) {
+            // A previous snapshot write failed; keep its entries and add the newer ones after them
+            Files.write(rotatedFile, Files.readAllBytes(journalFile), StandardOpenOption.APPEND);
+            Files.delete(journalFile);
+        } else {
+            Files.move(journalFile, rotatedFile, StandardCopyOption.ATOMIC_MOVE);
+        }
+    }
+
+    private void closeJournal() {
+        if (journal == null) {
+            return;
+        }
+        try {
+            journal.force(false);
+            journal.close();
+        } catch (IOException e) {
+            Log.warning("Failed to close " + name + " journal: " + e.getMessage());
+        }
+        journal = null;
+    }
+
+    private int replay(@Nonnull Path file) {
+        if (!Files.exists(file)) {
+            return 0;
+        }
+        int count = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                JsonObject entry;
+                try {
+                    entry = JsonParser.parseString(line).getAsJsonObject();
+                } catch (JsonParseException | IllegalStateException e) {
+                    // Usually the last line, cut short by a crash mid-append
+                    Log.warning("Skipping corrupt " + name + " journal entry in " + file.getFileName());
+                    continue;
+                }
+                String key = entry.get(KEY).getAsString();
+                JsonElement value = entry.get(VALUE);
+                if (value == null) {
+                    map.remove(key);
+                } else {
+                    V parsed = gson.fromJson(value, valueType);
+                    if (parsed != null) {
+                        map.put(key, parsed);
+                    }
+                }
+                count++;
+            }
+        } catch (IOException | RuntimeException e) {
+            Log.warning("Failed to replay " + name + " journal " + file.getFileName() + ": " + e.getMessage());
+        }
+        return count;
+    }
+}
@@ -0,0 +1,165 @@
+package io.github.seriumtw.essentials.storage;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import io.github.seriumtw.essentials.models.PlayerData;
+import io.github.seriumtw.essentials.util.AtomicFileWriter;
+import io.github.seriumtw.essentials.util.Log;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Stores each player as a separate file: players/&lt;uuid&gt;.json, or players/&lt;uuid&gt;.dat
+ * when storage.format = "binary". Files in the other format are still read, and replaced
+ * the next time the player is saved.
+ */
+public class JsonPlayerDataStore implements PlayerDataStore {
+    public static final String NAME = "json";
+    private static final String FILE_GLOB = "*.{json,dat}";
+
+    private final Path playersFolder;
+    private final Gson gson;
+    private final StorageFormat format;
+
+    public JsonPlayerDataStore(@Nonnull Path playersFolder, @Nonnull Gson gson) {
+        this(playersFolder, gson, StorageFormat.JSON);
+    }
+
+    public JsonPlayerDataStore(@Nonnull Path playersFolder, @Nonnull Gson gson, @Nonnull StorageFormat format) {
+        this.playersFolder = playersFolder;
+        this.gson = gson;
+        this.format = format;
+
+        try {
+            Files.createDirectories(playersFolder);
+        } catch (IOException e) {
+            Log.error("Failed to create players folder: " + e.getMessage());
+        }
+        AtomicFileWriter.cleanupTempFiles(playersFolder);
+    }
+
+    @Nonnull
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Nullable
+    @Override
+    public PlayerData load(@Nonnull UUID playerUuid) throws IOException {
+        Path file = getPlayerFile(playerUuid, format);
+        if (!Files.exists(file)) {
+            file = getPlayerFile(playerUuid, format.other());
+            if (!Files.exists(file)) {
+                return null;
+            }
+        }
+        return decode(Files.readAllBytes(file));
+    }
+
+    @Override
+    public void save(@Nonnull UUID playerUuid, @Nonnull PlayerData data) throws IOException {
+        Path file = getPlayerFile(playerUuid, format);
+        if (format == StorageFormat.BINARY) {
+            AtomicFileWriter.writeBytes(file, () -> BinaryCodec.encodePlayerData(data));
+        } else {
+            AtomicFileWriter.write(file, () -> gson.toJson(data));
+        }
+        // Remove the copy in the other format so it can never shadow this one after a format switch
+        Files.deleteIfExists(getPlayerFile(playerUuid, format.other()));
+    }
+
+    @Override
+    public boolean exists(@Nonnull UUID playerUuid) {
+        return Files.exists(getPlayerFile(playerUuid, format))
+                || Files.exists(getPlayerFile(playerUuid, format.other()));
+    }
+
+    @Override
+    public void forEach(@Nonnull BiConsumer<UUID, PlayerData> action) throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(playersFolder, FILE_GLOB)) {
+            for (Path file : files) {
+                UUID playerUuid = parseCurrentUuid(file);
+                if (playerUuid == null) {
+                    continue;
+                }
+                try {
+                    PlayerData data = decode(Files.readAllBytes(file));
+                    if (data != null) {
+                        action.accept(playerUuid, data);
+                    }
+                } catch (IOException | JsonParseException e) {
+                    Log.warning("Skipping unreadable player file " + file.getFileName() + ": " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    @Override
+    public void forEachUuid(@Nonnull Consumer<UUID> action) throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(playersFolder, FILE_GLOB)) {
+            for (Path file : files) {
+                UUID playerUuid = parseCurrentUuid(file);
+                if (playerUuid != null) {
+                    action.accept(playerUuid);
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the UUID a player file belongs to, or null if the file name is not a UUID.
+     */
+    @Nullable
+    public static UUID parseUuid(@Nonnull Path file) {
+        String name = file.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        if (dot < 0) {
+            return null;
+        }
+        try {
+            return UUID.fromString(name.substring(0, dot));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Like {@link #parseUuid}, but returns null for a file that is shadowed by a copy in the
+     * configured format (left over from an interrupted save), so each player is visited once.
+     */
+    @Nullable
+    private UUID parseCurrentUuid(@Nonnull Path file) {
+        UUID playerUuid = parseUuid(file);
+        if (playerUuid == null) {
+            return null;
+        }
+        boolean preferred = file.getFileName().toString().endsWith(format.getExtension());
+        if (!preferred && Files.exists(getPlayerFile(playerUuid, format))) {
+            return null;
+        }
+        return playerUuid;
+    }
+
+    @Nullable
+    private PlayerData decode(@Nonnull byte[] bytes) throws IOException {
+        if (BinaryCodec.isBinary(bytes)) {
+            return BinaryCodec.decodePlayerData(bytes);
+        }
+        return gson.fromJson(new String(bytes, StandardCharsets.UTF_8), PlayerData.class);
+    }
+
+    @Nonnull
+    private Path getPlayerFile(@Nonnull UUID playerUuid, @Nonnull StorageFormat fileFormat) {
+        return playersFolder.resolve(playerUuid + fileFormat.getExtension());
+    }
+}
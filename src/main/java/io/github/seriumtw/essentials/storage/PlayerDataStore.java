@@ -0,0 +1,77 @@
+package io.github.seriumtw.essentials.storage;
+
+import com.google.gson.Gson;
+import io.github.seriumtw.essentials.models.PlayerData;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Storage backend for per-player data.
+ * Implementations must be safe to call from multiple threads.
+ */
+public interface PlayerDataStore {
+
+    /**
+     * Opens a backend by its config name.
+     *
+     * @param dataFolder the plugin data folder
+     * @param format     encoding used for new writes; both encodings are always readable
+     */
+    @Nonnull
+    static PlayerDataStore open(@Nonnull String backend, @Nonnull Path dataFolder, @Nonnull Gson gson,
+                                @Nonnull StorageFormat format) throws IOException {
+        if (JsonPlayerDataStore.NAME.equalsIgnoreCase(backend)) {
+            return new JsonPlayerDataStore(dataFolder.resolve("players"), gson, format);
+        }
+        if (H2PlayerDataStore.NAME.equalsIgnoreCase(backend)) {
+            return new H2PlayerDataStore(dataFolder, gson, format);
+        }
+        throw new IOException("Unknown storage backend '" + backend + "'");
+    }
+
+    /**
+     * Gets the backend name as used in config.toml (e.g. "json", "h2").
+     */
+    @Nonnull
+    String getName();
+
+    /**
+     * Loads a player's data, or returns null if nothing is stored for them.
+     */
+    @Nullable
+    PlayerData load(@Nonnull UUID playerUuid) throws IOException;
+
+    /**
+     * Stores a player's data, replacing any existing record.
+     */
+    void save(@Nonnull UUID playerUuid, @Nonnull PlayerData data) throws IOException;
+
+    /**
+     * Checks if a record exists for a player.
+     */
+    boolean exists(@Nonnull UUID playerUuid) throws IOException;
+
+    /**
+     * Streams every stored record to the action, one at a time.
+     * Records that fail to decode are skipped with a warning.
+     */
+    void forEach(@Nonnull BiConsumer<UUID, PlayerData> action) throws IOException;
+
+    /**
+     * Streams the UUID of every stored record without decoding the records.
+     * The action may call back into this store (e.g. {@link #load}) without deadlocking.
+     */
+    void forEachUuid(@Nonnull Consumer<UUID> action) throws IOException;
+
+    /**
+     * Releases any resources held by the backend.
+     */
+    default void close() throws IOException {
+    }
+}
@@ -0,0 +1,50 @@
+package io.github.seriumtw.essentials.storage;
+
+import io.github.seriumtw.essentials.util.Log;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Encoding used for stored records (storage.format in config.toml).
+ * Reads always accept both formats, so switching does not require a migration.
+ */
+public enum StorageFormat {
+    JSON(".json"),
+    BINARY(".dat");
+
+    private final String extension;
+
+    StorageFormat(@Nonnull String extension) {
+        this.extension = extension;
+    }
+
+    /**
+     * Gets the file extension used for files in this format, including the dot.
+     */
+    @Nonnull
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Gets the other format, used as the read fallback.
+     */
+    @Nonnull
+    public StorageFormat other() {
+        return this == JSON ? BINARY : JSON;
+    }
+
+    /**
+     * Parses a config value, defaulting to JSON for unknown values.
+     */
+    @Nonnull
+    public static StorageFormat fromConfig(@Nonnull String value) {
+        if (value.equalsIgnoreCase("binary")) {
+            return BINARY;
+        }
+        if (!value.equalsIgnoreCase("json")) {
+            Log.warning("Unknown storage format '" + value + "', using JSON.");
+        }
+        return JSON;
+    }
+}
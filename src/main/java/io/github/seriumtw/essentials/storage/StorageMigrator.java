@@ -0,0 +1,262 @@
+package io.github.seriumtw.essentials.storage;
+
+import com.google.gson.GsonBuilder;
+import io.github.seriumtw.essentials.models.PlayerData;
+import io.github.seriumtw.essentials.util.Log;
+import io.github.seriumtw.essentials.util.TomlMigrationHelper;
+import org.tomlj.Toml;
+import org.tomlj.TomlParseResult;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Copies player data from one storage backend to another.
+ * Records are streamed in batches that are migrated in parallel, with a bounded number of
+ * batches in flight, so only a few batches of players are ever held in memory.
+ * Warps, spawn and the username index are not touched.
+ *
+ * Can be run in-game with /essentials migrate, or standalone against a copy of the data folder:
+ * java -cp "SRM-Essentials.jar:HytaleServer.jar" io.github.seriumtw.essentials.storage.StorageMigrator &lt;data-folder&gt; &lt;from&gt; &lt;to&gt; [threads] [format]
+ */
+public class StorageMigrator {
+    private static final int DEFAULT_BATCH_SIZE = 250;
+    private static final long PROGRESS_INTERVAL_MILLIS = 5000;
+
+    /**
+     * Summary of a finished migration.
+     */
+    public record Result(int migrated, int failed, long elapsedMillis) {
+        public double perSecond() {
+            return elapsedMillis > 0 ? migrated * 1000.0 / elapsedMillis : migrated;
+        }
+
+        @Nonnull
+        public String summary() {
+            return String.format("Migrated %d player(s) in %.1fs (%.0f/s), %d failed.",
+                    migrated, elapsedMillis / 1000.0, perSecond(), failed);
+        }
+    }
+
+    private final PlayerDataStore source;
+    private final PlayerDataStore target;
+    private final int threads;
+    private final int batchSize;
+
+    private final AtomicInteger migrated = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private final AtomicLong lastProgress = new AtomicLong();
+
+    public StorageMigrator(@Nonnull PlayerDataStore source, @Nonnull PlayerDataStore target, int threads) {
+        this(source, target, threads, DEFAULT_BATCH_SIZE);
+    }
+
+    public StorageMigrator(@Nonnull PlayerDataStore source, @Nonnull PlayerDataStore target,
+                           int threads, int batchSize) {
+        this.source = source;
+        this.target = target;
+        this.threads = Math.max(1, threads);
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * Runs the migration on the calling thread, blocking until every batch is done.
+     *
+     * @param progress receives a progress line every few seconds, may be null
+     */
+    @Nonnull
+    public Result run(@Nullable Consumer<String> progress) throws IOException {
+        long start = System.currentTimeMillis();
+        lastProgress.set(start);
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "SRM-Essentials-Migrator");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Bounds memory: the scan blocks once this many batches are queued or running
+        Semaphore inFlight = new Semaphore(threads * 2);
+
+        try {
+            List<UUID> batch = new ArrayList<>(batchSize);
+            source.forEachUuid(playerUuid -> {
+                batch.add(playerUuid);
+                if (batch.size() >= batchSize) {
+                    submit(pool, inFlight, List.copyOf(batch), start, progress);
+                    batch.clear();
+                }
+            });
+            if (!batch.isEmpty()) {
+                submit(pool, inFlight, List.copyOf(batch), start, progress);
+            }
+        } finally {
+            pool.shutdown();
+            try {
+                pool.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                pool.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        return new Result(migrated.get(), failed.get(), System.currentTimeMillis() - start);
+    }
+
+    private void submit(@Nonnull ExecutorService pool, @Nonnull Semaphore inFlight, @Nonnull List<UUID> batch,
+                        long start, @Nullable Consumer<String> progress) {
+        inFlight.acquireUninterruptibly();
+        pool.execute(() -> {
+            try {
+                for (UUID playerUuid : batch) {
+                    migrate(playerUuid);
+                }
+                reportProgress(start, progress);
+            } finally {
+                inFlight.release();
+            }
+        });
+    }
+
+    private void migrate(@Nonnull UUID playerUuid) {
+        try {
+            PlayerData data = source.load(playerUuid);
+            if (data == null) {
+                return;
+            }
+            target.save(playerUuid, data);
+            migrated.incrementAndGet();
+        } catch (IOException | RuntimeException e) {
+            failed.incrementAndGet();
+            Log.warning("Failed to migrate player " + playerUuid + ": " + e.getMessage());
+        }
+    }
+
+    private void reportProgress(long start, @Nullable Consumer<String> progress) {
+        if (progress == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long last = lastProgress.get();
+        if (now - last >= PROGRESS_INTERVAL_MILLIS && lastProgress.compareAndSet(last, now)) {
+            int done = migrated.get();
+            double perSecond = done * 1000.0 / Math.max(1, now - start);
+            progress.accept(String.format("Migrated %d player(s) so far (%.0f/s), %d failed.", done, perSecond, failed.get()));
+        }
+    }
+
+    /**
+     * Standalone entry point: StorageMigrator &lt;data-folder&gt; &lt;from&gt; &lt;to&gt; [threads] [format]
+     * Run it against a copy of the data folder while the server is stopped.
+     * The format (json or binary) applies to the records written to the target; it defaults to json.
+     */
+    public static void main(String[] args) {
+        if (args.length < 3) {
+            System.err.println("Usage: StorageMigrator <data-folder> <from: json|h2> <to: json|h2> [threads] [format: json|binary]");
+            System.exit(2);
+        }
+
+        Path dataFolder = Path.of(args[0]);
+        if (!Files.isDirectory(dataFolder)) {
+            System.err.println("Data folder not found: " + dataFolder);
+            System.exit(2);
+        }
+        if (args[1].equalsIgnoreCase(args[2])) {
+            System.err.println("Source and target backend must be different.");
+            System.exit(2);
+        }
+
+        // A running server keeps writing to its backend; refuse to overwrite it from here
+        String configured = readConfiguredBackend(dataFolder);
+        if (args[2].equalsIgnoreCase(configured)) {
+            System.err.println("'" + args[2] + "' is the backend set in config.toml. Stop the server and switch "
+                    + "storage.backend to the source backend first, or migrate into a copy of the data folder.");
+            System.exit(2);
+        }
+
+        int threads = Runtime.getRuntime().availableProcessors();
+        if (args.length > 3) {
+            try {
+                threads = Integer.parseInt(args[3]);
+            } catch (NumberFormatException e) {
+                System.err.println("Invalid thread count: " + args[3]);
+                System.exit(2);
+            }
+        }
+
+        StorageFormat format = args.length > 4 ? StorageFormat.fromConfig(args[4]) : StorageFormat.JSON;
+
+        var gson = new GsonBuilder().create();
+        int exitCode = 0;
+        try (var closer = new StoreCloser()) {
+            PlayerDataStore source = closer.add(PlayerDataStore.open(args[1], dataFolder, gson, format));
+            PlayerDataStore target = closer.add(PlayerDataStore.open(args[2], dataFolder, gson, format));
+
+            Log.info("Migrating player data from " + source.getName() + " to " + target.getName() + " using " + threads + " thread(s)...");
+            Result result = new StorageMigrator(source, target, threads).run(Log::info);
+            Log.info(result.summary());
+            if (result.failed() > 0) {
+                exitCode = 1;
+            }
+        } catch (IOException e) {
+            Log.error("Migration failed: " + e.getMessage());
+            exitCode = 1;
+        }
+        // Exit only after the stores are closed so the database is flushed
+        System.exit(exitCode);
+    }
+
+    /**
+     * Reads storage.backend from the data folder's config.toml.
+     * @return The configured backend, or null if there is no readable config
+     */
+    @Nullable
+    private static String readConfiguredBackend(@Nonnull Path dataFolder) {
+        Path configPath = dataFolder.resolve("config.toml");
+        if (!Files.exists(configPath)) {
+            return null;
+        }
+        try {
+            TomlParseResult config = Toml.parse(TomlMigrationHelper.readWithBom(configPath));
+            return config.hasErrors() ? null : config.getString("storage.backend", () -> "json");
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Closes every opened store, even if opening a later one fails.
+     */
+    private static class StoreCloser implements AutoCloseable {
+        private final List<PlayerDataStore> stores = new ArrayList<>();
+
+        @Nonnull
+        PlayerDataStore add(@Nonnull PlayerDataStore store) {
+            stores.add(store);
+            return store;
+        }
+
+        @Override
+        public void close() {
+            for (PlayerDataStore store : stores) {
+                try {
+                    store.close();
+                } catch (IOException e) {
+                    Log.error("Failed to close " + store.getName() + " storage: " + e.getMessage());
+                }
+            }
+        }
+    }
+}
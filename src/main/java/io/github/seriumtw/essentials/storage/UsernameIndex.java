@@ -0,0 +1,212 @@
+package io.github.seriumtw.essentials.storage;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Sorted in-memory username index for offline-player lookups and tab completion.
+ * Names are kept lowercase in a skip list, so exact lookups are O(log n) and prefix
+ * searches only visit the matching range instead of every known player.
+ * Old names stay indexed so a player can still be found by a name they used before.
+ * A second instance holds only the names of online players, so online lookups never
+ * walk the name history.
+ */
+public class UsernameIndex {
+    private static final int MAX_FUZZY_DISTANCE = 2;
+
+    private final ConcurrentSkipListMap<String, UUID> byName = new ConcurrentSkipListMap<>();
+    // Properly cased current name per player, for display and completion
+    private final ConcurrentHashMap<UUID, String> currentNames = new ConcurrentHashMap<>();
+
+    /**
+     * Indexes a username for a player (any case).
+     */
+    public void put(@Nonnull String username, @Nonnull UUID uuid) {
+        byName.put(username.toLowerCase(), uuid);
+    }
+
+    /**
+     * Sets a player's current name, as shown in completions and lookups.
+     */
+    public void setCurrentName(@Nonnull UUID uuid, @Nonnull String username) {
+        currentNames.put(uuid, username);
+        put(username, uuid);
+    }
+
+    /**
+     * Removes a player and their current name, e.g. when they leave the server.
+     */
+    public void remove(@Nonnull UUID uuid) {
+        String name = currentNames.remove(uuid);
+        if (name != null) {
+            byName.remove(name.toLowerCase(), uuid);
+        }
+    }
+
+    @Nullable
+    public UUID getUuid(@Nonnull String username) {
+        return byName.get(username.toLowerCase());
+    }
+
+    /**
+     * Gets a player's current name, or null if it was never recorded.
+     */
+    @Nullable
+    public String getCurrentName(@Nonnull UUID uuid) {
+        return currentNames.get(uuid);
+    }
+
+    public int size() {
+        return byName.size();
+    }
+
+    /**
+     * Finds players whose current name starts with the prefix (case-insensitive), sorted by name.
+     *
+     * @return matching UUIDs, each player at most once
+     */
+    @Nonnull
+    public List<UUID> findByPrefix(@Nonnull String prefix, int limit) {
+        Set<UUID> matches = new LinkedHashSet<>();
+        for (Map.Entry<String, UUID> entry : prefixRange(prefix.toLowerCase()).entrySet()) {
+            if (matches.size() >= limit) {
+                break;
+            }
+            // Skip names the player no longer uses
+            String current = currentNames.get(entry.getValue());
+            if (current == null || current.equalsIgnoreCase(entry.getKey())) {
+                matches.add(entry.getValue());
+            }
+        }
+        return new ArrayList<>(matches);
+    }
+
+    /**
+     * Resolves a name typed by a user: an exact match, or else the only player whose name starts with it.
+     *
+     * @return the player's UUID, or null if there is no match or the prefix is ambiguous
+     */
+    @Nullable
+    public UUID resolve(@Nonnull String input) {
+        String lower = input.toLowerCase();
+        UUID exact = byName.get(lower);
+        if (exact != null) {
+            return exact;
+        }
+        UUID match = null;
+        for (UUID uuid : prefixRange(lower).values()) {
+            if (match != null && !match.equals(uuid)) {
+                return null;
+            }
+            match = uuid;
+        }
+        return match;
+    }
+
+    /**
+     * Finds the closest known name to a probably mistyped one, within two edits.
+     * The sorted names are walked as a trie: names sharing a prefix reuse its edit distance
+     * rows, and once a prefix is too far off every name under it is skipped, so only names
+     * close to the input (and short prefixes of the others) are ever compared.
+     *
+     * @return the closest name (current name if known), or null if nothing is close enough
+     */
+    @Nullable
+    public String suggest(@Nonnull String input) {
+        String lower = input.toLowerCase();
+        if (lower.isEmpty() || byName.isEmpty()) {
+            return null;
+        }
+
+        // rows[d] is the distance row for the first d characters of the current name; any
+        // prefix longer than the input plus the edit budget is always skipped before this
+        int[][] rows = new int[lower.length() + MAX_FUZZY_DISTANCE + 2][lower.length() + 1];
+        int[] rowMins = new int[rows.length];
+        for (int j = 0; j <= lower.length(); j++) {
+            rows[0][j] = j;
+        }
+
+        String best = null;
+        UUID bestUuid = null;
+        int bestDistance = MAX_FUZZY_DISTANCE + 1;
+        String previous = "";
+        String name = byName.firstKey();
+        while (name != null) {
+            String skipFrom = null;
+            for (int depth = commonPrefixLength(previous, name) + 1; depth <= name.length(); depth++) {
+                fillRow(rows, rowMins, depth, lower, name);
+                // No name continuing this prefix can get below this
+                if (Math.min(rowMins[depth], rowMins[depth - 1] + 1) >= bestDistance) {
+                    skipFrom = name.substring(0, depth);
+                    break;
+                }
+            }
+            if (skipFrom != null) {
+                previous = skipFrom;
+                name = byName.ceilingKey(skipFrom + Character.MAX_VALUE);
+                continue;
+            }
+            int distance = rows[name.length()][lower.length()];
+            if (distance < bestDistance) {
+                bestDistance = distance;
+                best = name;
+                bestUuid = byName.get(name);
+            }
+            previous = name;
+            name = byName.higherKey(name);
+        }
+        if (best == null) {
+            return null;
+        }
+        String current = bestUuid != null ? currentNames.get(bestUuid) : null;
+        return current != null ? current : best;
+    }
+
+    @Nonnull
+    private Map<String, UUID> prefixRange(@Nonnull String lowerPrefix) {
+        if (lowerPrefix.isEmpty()) {
+            return byName;
+        }
+        return byName.subMap(lowerPrefix, true, lowerPrefix + Character.MAX_VALUE, false);
+    }
+
+    /**
+     * Computes the Levenshtein row (with adjacent transpositions) for the first depth characters
+     * of a name, from the rows of its shorter prefixes.
+     */
+    private static void fillRow(@Nonnull int[][] rows, @Nonnull int[] rowMins, int depth,
+                                @Nonnull String input, @Nonnull String name) {
+        int[] row = rows[depth];
+        int[] above = rows[depth - 1];
+        char c = name.charAt(depth - 1);
+        row[0] = depth;
+        int rowMin = depth;
+        for (int j = 1; j <= input.length(); j++) {
+            int cost = input.charAt(j - 1) == c ? 0 : 1;
+            int value = Math.min(Math.min(row[j - 1] + 1, above[j] + 1), above[j - 1] + cost);
+            if (depth > 1 && j > 1 && input.charAt(j - 1) == name.charAt(depth - 2) && input.charAt(j - 2) == c) {
+                value = Math.min(value, rows[depth - 2][j - 2] + 1);
+            }
+            row[j] = value;
+            rowMin = Math.min(rowMin, value);
+        }
+        rowMins[depth] = rowMin;
+    }
+
+    private static int commonPrefixLength(@Nonnull String a, @Nonnull String b) {
+        int length = Math.min(a.length(), b.length());
+        int i = 0;
+        while (i < length && a.charAt(i) == b.charAt(i)) {
+            i++;
+        }
+        return i;
+    }
+}
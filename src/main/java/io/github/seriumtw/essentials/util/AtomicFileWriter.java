@@ -0,0 +1,118 @@
+package io.github.seriumtw.essentials.util;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Supplier;
+
+/**
+ * Crash-safe file writes.
+ * Content is written to a temp file next to the target, fsynced, then atomically renamed
+ * over the target, so readers only ever see the old file or the complete new one.
+ * Writes to the same target are serialized.
+ */
+public final class AtomicFileWriter {
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final int LOCK_STRIPES = 64;
+    private static final Object[] LOCKS = new Object[LOCK_STRIPES];
+
+    static {
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            LOCKS[i] = new Object();
+        }
+    }
+
+    private AtomicFileWriter() {}
+
+    /**
+     * Atomically replaces the target file with the given content.
+     */
+    public static void write(@Nonnull Path target, @Nonnull String content) throws IOException {
+        write(target, () -> content);
+    }
+
+    /**
+     * Atomically replaces the target file with the supplied content.
+     * The supplier is called while holding the target's write lock, so when several saves
+     * of the same file are in flight the last one to write always serializes the newest state.
+     */
+    public static void write(@Nonnull Path target, @Nonnull Supplier<String> content) throws IOException {
+        writeBytes(target, () -> content.get().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Atomically replaces the target file with the supplied bytes.
+     * Same locking guarantees as {@link #write(Path, Supplier)}.
+     */
+    public static void writeBytes(@Nonnull Path target, @Nonnull Supplier<byte[]> content) throws IOException {
+        Path absolute = target.toAbsolutePath().normalize();
+        synchronized (lockFor(absolute)) {
+            Path temp = tempFileFor(absolute);
+            byte[] bytes = content.get();
+
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer buffer = ByteBuffer.wrap(bytes);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+
+            try {
+                Files.move(temp, absolute, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING);
+            }
+
+            syncDirectory(absolute.getParent());
+        }
+    }
+
+    /**
+     * Deletes temp files left behind by writes interrupted by a crash.
+     * The target files themselves are untouched, so they still hold the last complete write.
+     */
+    public static void cleanupTempFiles(@Nonnull Path directory) {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (var files = Files.newDirectoryStream(directory, "*" + TEMP_SUFFIX)) {
+            for (Path file : files) {
+                Files.deleteIfExists(file);
+                Log.warning("Removed incomplete write " + file.getFileName() + " from " + directory.getFileName());
+            }
+        } catch (IOException e) {
+            Log.warning("Failed to clean up temp files in " + directory + ": " + e.getMessage());
+        }
+    }
+
+    @Nonnull
+    private static Path tempFileFor(@Nonnull Path target) {
+        // Fixed name per target is safe because writes to the same target hold the same lock
+        return target.resolveSibling(target.getFileName() + TEMP_SUFFIX);
+    }
+
+    @Nonnull
+    private static Object lockFor(@Nonnull Path target) {
+        return LOCKS[Math.floorMod(target.hashCode(), LOCK_STRIPES)];
+    }
+
+    private static void syncDirectory(Path directory) {
+        if (directory == null) {
+            return;
+        }
+        // Persists the rename itself. Not supported on every platform (e.g. Windows), so failures are ignored.
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException | UnsupportedOperationException ignored) {
+        }
+    }
+}
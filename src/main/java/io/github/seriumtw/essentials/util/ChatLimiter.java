@@ -0,0 +1,211 @@
+package io.github.seriumtw.essentials.util;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-player chat spam checks for chat, /msg, /reply and /shout:
+ * - a token bucket: a player can send a burst of messages, then one message per refill interval
+ * - a duplicate check against hashes of the player's last few messages, within a time window.
+ *   A private message is only compared with earlier messages to the same player.
+ *
+ * Each player's state is created once; a check only does compare-and-set on primitive fields
+ * and allocates nothing. Bucket tokens are kept in thousandths so slow refill rates
+ * (e.g. one message every 3 seconds) do not lose time to rounding.
+ */
+public class ChatLimiter {
+    public static final String BYPASS_PERMISSION = "essentials.chat.spam.bypass";
+
+    /**
+     * Outcome of a check.
+     */
+    public enum Result {
+        ALLOWED,
+        RATE_LIMITED,
+        DUPLICATE
+    }
+
+    // Bucket state packed in one long: refill time (ms since START_MILLIS) << 24 | milli-tokens
+    private static final int TOKEN_BITS = 24;
+    private static final long TOKEN_MASK = (1L << TOKEN_BITS) - 1;
+    private static final long MILLI = 1000;
+    private static final long START_MILLIS = System.currentTimeMillis();
+
+    private static final VarHandle BUCKET;
+
+    static {
+        try {
+            BUCKET = MethodHandles.lookup().findVarHandle(PlayerState.class, "bucket", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final ConfigManager configManager;
+    private final PermissionCache permissions;
+    private final ConcurrentHashMap<UUID, PlayerState> players = new ConcurrentHashMap<>();
+
+    private final LongAdder rateLimited = new LongAdder();
+    private final LongAdder duplicates = new LongAdder();
+
+    public ChatLimiter(@Nonnull ConfigManager configManager, @Nonnull PermissionCache permissions) {
+        this.configManager = configManager;
+        this.permissions = permissions;
+    }
+
+    /**
+     * Checks a chat or /shout message a player is about to send and, if allowed, counts it against their limits.
+     */
+    @Nonnull
+    public Result check(@Nonnull UUID playerUuid, @Nonnull String message) {
+        return check(playerUuid, message, null);
+    }
+
+    /**
+     * Checks a message a player is about to send and, if allowed, counts it against their limits.
+     * @param recipient The receiver of a private message, or null for public chat
+     */
+    @Nonnull
+    public Result check(@Nonnull UUID playerUuid, @Nonnull String message, @Nullable UUID recipient) {
+        int burst = Math.min(configManager.getChatRateLimitBurst(), (int) (TOKEN_MASK / MILLI));
+        int history = configManager.getChatDuplicateHistory();
+        long windowMillis = configManager.getChatDuplicateWindowSeconds() * 1000L;
+        boolean checkDuplicates = history > 0 && windowMillis > 0;
+        if ((burst <= 0 && !checkDuplicates) || permissions.has(playerUuid, BYPASS_PERMISSION)) {
+            return Result.ALLOWED;
+        }
+
+        PlayerState state = players.computeIfAbsent(playerUuid, uuid -> new PlayerState());
+        long now = System.currentTimeMillis();
+        long hash = checkDuplicates ? hash(message, recipient) : 0;
+        if (checkDuplicates && state.isRecent(hash, history, now - windowMillis)) {
+            duplicates.increment();
+            return Result.DUPLICATE;
+        }
+        if (burst > 0 && !state.tryAcquire(burst, configManager.getChatRateLimitRefillMillis())) {
+            rateLimited.increment();
+            return Result.RATE_LIMITED;
+        }
+        if (checkDuplicates) {
+            state.remember(hash, history, now);
+        }
+        return Result.ALLOWED;
+    }
+
+    /**
+     * Gets the messages.toml key telling the sender why their message was blocked.
+     */
+    @Nonnull
+    public static String messageKey(@Nonnull Result result) {
+        return result == Result.DUPLICATE ? "chat.duplicate" : "chat.rate-limited";
+    }
+
+    /**
+     * Removes a player's state on disconnect.
+     */
+    public void onPlayerQuit(@Nonnull UUID playerUuid) {
+        players.remove(playerUuid);
+    }
+
+    /**
+     * Gets a one-line summary of blocked messages for /essentials stats.
+     */
+    @Nonnull
+    public String describeStats() {
+        return String.format("%d players tracked, %d rate limited, %d duplicates blocked",
+                players.size(), rateLimited.sum(), duplicates.sum());
+    }
+
+    /**
+     * Hashes a message ignoring case, whitespace and color codes, so "Hi", "hi " and "&cHI"
+     * count as the same message. Private messages to different players hash differently.
+     */
+    static long hash(@Nonnull String message, @Nullable UUID recipient) {
+        long hash = 1125899906842597L;
+        if (recipient != null) {
+            hash = 31 * (31 * hash + recipient.getMostSignificantBits()) + recipient.getLeastSignificantBits();
+        }
+        int length = message.length();
+        for (int i = 0; i < length; i++) {
+            char c = message.charAt(i);
+            if (c == '&' && i + 1 < length) {
+                // Skip &x and &#RRGGBB codes
+                i += message.charAt(i + 1) == '#' ? Math.min(7, length - i - 1) : 1;
+                continue;
+            }
+            if (Character.isWhitespace(c)) {
+                continue;
+            }
+            hash = 31 * hash + Character.toLowerCase(c);
+        }
+        return hash;
+    }
+
+    /**
+     * A player's token bucket and recent message hashes with the time each was sent.
+     */
+    private static final class PlayerState {
+        // Fixed size; only the first duplicate-history slots are used
+        private static final int MAX_HISTORY = 16;
+
+        // Packed refill time and milli-tokens, -1 until the first message; updated through BUCKET
+        private volatile long bucket = -1;
+        private final AtomicLongArray recent = new AtomicLongArray(MAX_HISTORY);
+        // Epoch millis each recent hash was sent; 0 for an unused slot
+        private final AtomicLongArray sentAt = new AtomicLongArray(MAX_HISTORY);
+        private final AtomicInteger next = new AtomicInteger();
+
+        /**
+         * Takes one token if available.
+         */
+        boolean tryAcquire(int burst, long refillMillis) {
+            long capacity = burst * MILLI;
+            long now = System.currentTimeMillis() - START_MILLIS;
+            while (true) {
+                long current = bucket;
+                long tokens;
+                if (current == -1) {
+                    tokens = capacity;
+                } else {
+                    long elapsed = Math.max(0, now - (current >>> TOKEN_BITS));
+                    long refill = refillMillis <= 0 ? capacity : elapsed * MILLI / refillMillis;
+                    tokens = Math.min(capacity, (current & TOKEN_MASK) + refill);
+                }
+                if (tokens < MILLI) {
+                    return false;
+                }
+                long updated = (now << TOKEN_BITS) | (tokens - MILLI);
+                if (BUCKET.compareAndSet(this, current, updated)) {
+                    return true;
+                }
+            }
+        }
+
+        /**
+         * Checks if one of the last messages, sent after a time, has the same hash.
+         */
+        boolean isRecent(long hash, int history, long sentAfter) {
+            int size = Math.min(history, MAX_HISTORY);
+            for (int i = 0; i < size; i++) {
+                if (recent.get(i) == hash && sentAt.get(i) > sentAfter) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        void remember(long hash, int history, long now) {
+            int size = Math.min(history, MAX_HISTORY);
+            int slot = Math.floorMod(next.getAndIncrement(), size);
+            recent.set(slot, hash);
+            sentAt.set(slot, now);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package io.github.seriumtw.essentials.util;
+
+import com.hypixel.hytale.server.core.Message;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A {@link Template} whose color codes are parsed once. Rendering reuses the styled parts
+ * of the fixed text and only creates parts for the values, which take the style in effect
+ * where their placeholder is.
+ *
+ * Values are plain text. When a value contains '&' (it might carry its own color codes),
+ * or when the fixed text leaves a code unfinished right before a placeholder, rendering
+ * falls back to colorizing the whole rendered string, so the result always looks the same
+ * as {@code ColorUtil.colorize(template.render(values))}.
+ */
+public final class ColorTemplate {
+    private static final int CACHE_SIZE = 256;
+
+    // Compiled config formats (join/leave messages, MOTD and rules lines)
+    private static final Map<String, ColorTemplate> PERCENT_CACHE = new LinkedHashMap<>(CACHE_SIZE, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, ColorTemplate> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    private final Template template;
+    // parts[i] are the styled messages of literal i (empty if the literal is)
+    private final Message[][] parts;
+    // Style in effect at placeholder i
+    private final ColorUtil.Style[] placeholderStyles;
+    private final boolean spliceable;
+
+    private ColorTemplate(@Nonnull Template template) {
+        this.template = template;
+        int count = template.getPlaceholderCount();
+        this.parts = new Message[count + 1][];
+        this.placeholderStyles = new ColorUtil.Style[count];
+
+        boolean canSplice = true;
+        ColorUtil.Style style = ColorUtil.Style.DEFAULT;
+        for (int i = 0; i <= count; i++) {
+            ColorUtil.Parsed parsed = ColorUtil.tokenize(template.getLiteral(i), style);
+            Message[] messages = new Message[parsed.spans().size()];
+            for (int j = 0; j < messages.length; j++) {
+                messages[j] = parsed.spans().get(j).toMessage();
+            }
+            parts[i] = messages;
+            style = parsed.endStyle();
+            if (i < count) {
+                placeholderStyles[i] = style;
+                canSplice &= !parsed.openCode();
+            }
+        }
+        this.spliceable = canSplice;
+    }
+
+    /**
+     * Colorizes a template once for repeated rendering.
+     */
+    @Nonnull
+    public static ColorTemplate compile(@Nonnull Template template) {
+        return new ColorTemplate(template);
+    }
+
+    /**
+     * Gets the colorized template for a config format using %name% placeholders, compiling
+     * it only the first time it is seen.
+     */
+    @Nonnull
+    public static ColorTemplate percent(@Nonnull String source) {
+        synchronized (PERCENT_CACHE) {
+            ColorTemplate cached = PERCENT_CACHE.get(source);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        ColorTemplate compiled = compile(Template.percent(source));
+        synchronized (PERCENT_CACHE) {
+            PERCENT_CACHE.put(source, compiled);
+        }
+        return compiled;
+    }
+
+    /**
+     * Fills in a single placeholder and returns the styled message.
+     */
+    @Nonnull
+    public Message render(@Nonnull String key, @Nonnull String value) {
+        if (!spliceable || value.indexOf('&') >= 0) {
+            return ColorUtil.colorize(template.render(key, value));
+        }
+        List<Message> messages = new ArrayList<>();
+        for (int i = 0; i < placeholderStyles.length; i++) {
+            addAll(messages, parts[i]);
+            String placeholder = template.getPlaceholder(i);
+            addValue(messages, placeholder.equals(key) ? value : template.unresolved(i), placeholderStyles[i]);
+        }
+        addAll(messages, parts[placeholderStyles.length]);
+        return join(messages, key, value);
+    }
+
+    /**
+     * Fills in placeholders from a map and returns the styled message.
+     */
+    @Nonnull
+    public Message render(@Nullable Map<String, String> values) {
+        if (!spliceable || hasCodes(values)) {
+            return ColorUtil.colorize(template.render(values));
+        }
+        List<Message> messages = new ArrayList<>();
+        for (int i = 0; i < placeholderStyles.length; i++) {
+            addAll(messages, parts[i]);
+            String value = values != null ? values.get(template.getPlaceholder(i)) : null;
+            addValue(messages, value != null ? value : template.unresolved(i), placeholderStyles[i]);
+        }
+        addAll(messages, parts[placeholderStyles.length]);
+        if (messages.isEmpty()) {
+            return Message.raw(template.render(values));
+        }
+        return messages.size() == 1 ? messages.get(0) : Message.join(messages.toArray(new Message[0]));
+    }
+
+    @Nonnull
+    private Message join(@Nonnull List<Message> messages, @Nonnull String key, @Nonnull String value) {
+        if (messages.isEmpty()) {
+            return Message.raw(template.render(key, value));
+        }
+        return messages.size() == 1 ? messages.get(0) : Message.join(messages.toArray(new Message[0]));
+    }
+
+    private static boolean hasCodes(@Nullable Map<String, String> values) {
+        if (values == null) {
+            return false;
+        }
+        for (String value : values.values()) {
+            if (value.indexOf('&') >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void addAll(@Nonnull List<Message> messages, @Nonnull Message[] styled) {
+        for (Message message : styled) {
+            messages.add(message);
+        }
+    }
+
+    private static void addValue(@Nonnull List<Message> messages, @Nonnull String value, @Nonnull ColorUtil.Style style) {
+        if (!value.isEmpty()) {
+            messages.add(new ColorUtil.Span(value, style).toMessage());
+        }
+    }
+}
@@ -5,9 +5,9 @@ import com.hypixel.hytale.server.core.Message;
 
 import javax.annotation.Nonnull;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Map;
 
 /**
  * Utility for parsing color and formatting codes in messages.
@@ -16,13 +16,13 @@ import java.util.regex.Pattern;
  * - Hex color codes: &#RRGGBB
  * - Bold: &l
  * - Reset: &r
+ *
+ * Text is parsed in a single pass without regular expressions. Constant strings can be
+ * colorized through a bounded cache ({@link #colorizeCached}), and strings with placeholders
+ * can be colorized once and have values spliced in ({@link ColorTemplate}).
+ * Messages returned from the cache are shared and must not be modified.
  */
 public final class ColorUtil {
-    // Matches all formatting tokens: &#RRGGBB, &0-&f, &l, &r
-    private static final Pattern TOKEN_PATTERN = Pattern.compile(
-            "&#([0-9a-fA-F]{6})|&([0-9a-fA-FlLrR])"
-    );
-
     // Standard Minecraft color codes mapped to hex
     private static final String[] COLOR_MAP = {
             "#000000", // &0 - Black
@@ -43,92 +43,169 @@ public final class ColorUtil {
             "#FFFFFF"  // &f - White
     };
 
-    private static final String DEFAULT_COLOR = "#FFFFFF";
+    static final String DEFAULT_COLOR = "#FFFFFF";
+    private static final int CACHE_SIZE = 512;
+
+    // Colorized constant strings, least recently used evicted first
+    private static final Map<String, Message> CACHE = new LinkedHashMap<>(CACHE_SIZE, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Message> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
 
     private ColorUtil() {}
 
     /**
-     * Tracks the current text style state during parsing.
+     * The style in effect at some point of a string. Immutable.
      */
-    private static class TextStyle {
-        String color = DEFAULT_COLOR;
-        boolean bold = false;
+    record Style(@Nonnull String color, boolean bold) {
+        static final Style DEFAULT = new Style(DEFAULT_COLOR, false);
+    }
 
-        void reset() {
-            color = DEFAULT_COLOR;
-            bold = false;
+    /**
+     * A run of text with a single style.
+     */
+    record Span(@Nonnull String text, @Nonnull Style style) {
+        @Nonnull
+        Message toMessage() {
+            return createStyledMessage(text, style);
         }
     }
 
+    /**
+     * Result of tokenizing a string: its styled spans and the style in effect at the end.
+     * {@code openCode} is set when the string ends with an incomplete code (e.g. "&" or "&#12"),
+     * which text appended after it could complete.
+     */
+    record Parsed(@Nonnull List<Span> spans, @Nonnull Style endStyle, boolean openCode) {
+    }
+
     /**
      * Parses color and formatting codes and returns a styled Message.
      * Supports: &0-&f (colors), &#RRGGBB (hex colors), &l (bold), &r (reset)
      */
     @Nonnull
     public static Message colorize(@Nonnull String text) {
-        List<Message> parts = new ArrayList<>();
-        TextStyle currentStyle = new TextStyle();
-        Matcher matcher = TOKEN_PATTERN.matcher(text);
-        int lastEnd = 0;
-
-        while (matcher.find()) {
-            // Add text before this token with current style
-            if (matcher.start() > lastEnd) {
-                String segment = text.substring(lastEnd, matcher.start());
-                if (!segment.isEmpty()) {
-                    parts.add(createStyledMessage(segment, currentStyle));
+        if (text.indexOf('&') < 0) {
+            return text.isEmpty() ? Message.raw(text) : new Span(text, Style.DEFAULT).toMessage();
+        }
+        Parsed parsed = tokenize(text, Style.DEFAULT);
+        return toMessage(parsed.spans(), text);
+    }
+
+    /**
+     * Colorizes a string that is sent often (e.g. a message from messages.toml), reusing the
+     * result of earlier calls with the same string. The returned Message must not be modified.
+     */
+    @Nonnull
+    public static Message colorizeCached(@Nonnull String text) {
+        synchronized (CACHE) {
+            Message cached = CACHE.get(text);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        Message message = colorize(text);
+        synchronized (CACHE) {
+            CACHE.put(text, message);
+        }
+        return message;
+    }
+
+    /**
+     * Joins styled parts the same way colorize does for a whole string.
+     */
+    @Nonnull
+    static Message toMessage(@Nonnull List<Span> spans, @Nonnull String original) {
+        if (spans.isEmpty()) {
+            return Message.raw(original);
+        } else if (spans.size() == 1) {
+            return spans.get(0).toMessage();
+        }
+        Message[] parts = new Message[spans.size()];
+        for (int i = 0; i < parts.length; i++) {
+            parts[i] = spans.get(i).toMessage();
+        }
+        return Message.join(parts);
+    }
+
+    /**
+     * Splits text into styled spans in one pass, starting from the given style.
+     */
+    @Nonnull
+    static Parsed tokenize(@Nonnull String text, @Nonnull Style start) {
+        List<Span> spans = new ArrayList<>();
+        String color = start.color();
+        boolean bold = start.bold();
+        int length = text.length();
+        int segmentStart = 0;
+        boolean openCode = false;
+
+        int i = text.indexOf('&');
+        while (i >= 0) {
+            int tokenLength = 0;
+            if (i + 1 < length) {
+                char c = text.charAt(i + 1);
+                if (c == '#') {
+                    int hexEnd = i + 2;
+                    while (hexEnd < length && hexEnd < i + 8 && isHexDigit(text.charAt(hexEnd))) {
+                        hexEnd++;
+                    }
+                    if (hexEnd == i + 8) {
+                        tokenLength = 8;
+                    } else if (hexEnd == length) {
+                        openCode = true;
+                    }
+                } else if (isHexDigit(c) || c == 'l' || c == 'L' || c == 'r' || c == 'R') {
+                    tokenLength = 2;
                 }
+            } else {
+                openCode = true;
             }
 
-            // Process the token
-            String hexColor = matcher.group(1);  // &#RRGGBB capture
-            String code = matcher.group(2);       // &X capture
+            if (tokenLength == 0) {
+                i = text.indexOf('&', i + 1);
+                continue;
+            }
 
-            if (hexColor != null) {
-                // Hex color code: &#RRGGBB
-                currentStyle.color = "#" + hexColor.toUpperCase();
-            } else if (code != null) {
-                char c = code.toLowerCase().charAt(0);
+            if (i > segmentStart) {
+                spans.add(new Span(text.substring(segmentStart, i), new Style(color, bold)));
+            }
+            if (tokenLength == 8) {
+                color = "#" + text.substring(i + 2, i + 8).toUpperCase();
+            } else {
+                char c = Character.toLowerCase(text.charAt(i + 1));
                 if (c == 'l') {
-                    // Bold
-                    currentStyle.bold = true;
+                    bold = true;
                 } else if (c == 'r') {
-                    // Reset all formatting
-                    currentStyle.reset();
+                    color = DEFAULT_COLOR;
+                    bold = false;
                 } else {
-                    // Standard color code: &0-&f
-                    int index = Character.digit(c, 16);
-                    currentStyle.color = COLOR_MAP[index];
+                    color = COLOR_MAP[Character.digit(c, 16)];
                 }
             }
-
-            lastEnd = matcher.end();
+            segmentStart = i + tokenLength;
+            i = text.indexOf('&', segmentStart);
         }
 
-        // Add remaining text
-        if (lastEnd < text.length()) {
-            String segment = text.substring(lastEnd);
-            if (!segment.isEmpty()) {
-                parts.add(createStyledMessage(segment, currentStyle));
-            }
+        if (segmentStart < length) {
+            spans.add(new Span(text.substring(segmentStart), new Style(color, bold)));
         }
+        return new Parsed(spans, new Style(color, bold), openCode);
+    }
 
-        if (parts.isEmpty()) {
-            return Message.raw(text);
-        } else if (parts.size() == 1) {
-            return parts.getFirst();
-        } else {
-            return Message.join(parts.toArray(new Message[0]));
-        }
+    private static boolean isHexDigit(char c) {
+        return (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
     }
 
     /**
      * Creates a Message with the specified style applied.
      */
-    private static Message createStyledMessage(String text, TextStyle style) {
-        Message message = Message.raw(text).color(style.color);
+    private static Message createStyledMessage(String text, Style style) {
+        Message message = Message.raw(text).color(style.color());
 
-        if (style.bold) {
+        if (style.bold()) {
             message.getFormattedMessage().bold = MaybeBool.True;
         }
 
@@ -19,6 +19,25 @@ public class ConfigManager {
     private static final int DEFAULT_SPAWN_PROTECTION_RADIUS = 16;
     private static final int DEFAULT_TELEPORT_DELAY = 3;
     private static final int DEFAULT_RTP_COOLDOWN = 300;
+    private static final int DEFAULT_RTP_POOL_SIZE = 10;
+    private static final int DEFAULT_RTP_POOL_EXPIRY = 600;
+    private static final int DEFAULT_RTP_POOL_PROBES_PER_SECOND = 2;
+    private static final int DEFAULT_STORAGE_FLUSH_INTERVAL = 5;
+    private static final int DEFAULT_STORAGE_INDEX_FLUSH_INTERVAL = 2;
+    private static final int DEFAULT_STORAGE_SHUTDOWN_TIMEOUT = 30;
+    private static final String DEFAULT_STORAGE_BACKEND = "json";
+    private static final String DEFAULT_STORAGE_FORMAT = "json";
+    private static final int DEFAULT_STORAGE_CACHE_SIZE = 500;
+    private static final int DEFAULT_STORAGE_CACHE_EXPIRY = 600;
+    private static final int DEFAULT_PERMISSION_CACHE_TTL = 30;
+    private static final int DEFAULT_CHAT_PIPELINE_THREADS = 2;
+    private static final int DEFAULT_CHAT_MAX_QUEUE = 256;
+    private static final String DEFAULT_CHAT_OVERLOAD_POLICY = "slow";
+    private static final int DEFAULT_CHAT_SLOW_MODE_SECONDS = 3;
+    private static final int DEFAULT_CHAT_RATE_LIMIT_BURST = 5;
+    private static final int DEFAULT_CHAT_RATE_LIMIT_REFILL_MS = 1500;
+    private static final int DEFAULT_CHAT_DUPLICATE_HISTORY = 3;
+    private static final int DEFAULT_CHAT_DUPLICATE_WINDOW_SECONDS = 60;
 
     /**
      * Represents a chat format configuration entry with group name and format string.
@@ -36,6 +55,14 @@ public class ConfigManager {
     private volatile String chatFormat = DEFAULT_CHAT_FORMAT;
     private volatile String chatFallbackFormat = DEFAULT_CHAT_FALLBACK_FORMAT;
     private volatile List<ChatFormat> chatFormats = List.of();
+    private volatile int chatPipelineThreads = DEFAULT_CHAT_PIPELINE_THREADS;
+    private volatile int chatMaxQueue = DEFAULT_CHAT_MAX_QUEUE;
+    private volatile String chatOverloadPolicy = DEFAULT_CHAT_OVERLOAD_POLICY;
+    private volatile int chatSlowModeSeconds = DEFAULT_CHAT_SLOW_MODE_SECONDS;
+    private volatile int chatRateLimitBurst = DEFAULT_CHAT_RATE_LIMIT_BURST;
+    private volatile int chatRateLimitRefillMillis = DEFAULT_CHAT_RATE_LIMIT_REFILL_MS;
+    private volatile int chatDuplicateHistory = DEFAULT_CHAT_DUPLICATE_HISTORY;
+    private volatile int chatDuplicateWindowSeconds = DEFAULT_CHAT_DUPLICATE_WINDOW_SECONDS;
 
     // Build settings
     private volatile boolean disableBuilding = false;
@@ -67,6 +94,9 @@ public class ConfigManager {
     private volatile int rtpCooldown = DEFAULT_RTP_COOLDOWN;
     private volatile String rtpDefaultWorld = "default";
     private final ConcurrentHashMap<String, Integer> rtpWorlds = new ConcurrentHashMap<>();
+    private volatile int rtpPoolSize = DEFAULT_RTP_POOL_SIZE;
+    private volatile int rtpPoolExpiry = DEFAULT_RTP_POOL_EXPIRY;
+    private volatile int rtpPoolProbesPerSecond = DEFAULT_RTP_POOL_PROBES_PER_SECOND;
 
     // MOTD settings
     private volatile boolean motdEnabled = true;
@@ -99,6 +129,18 @@ public class ConfigManager {
     // Update notification settings
     private volatile boolean updateNotifyEnabled = true;
 
+    // Storage settings
+    private volatile int storageFlushInterval = DEFAULT_STORAGE_FLUSH_INTERVAL;
+    private volatile int storageIndexFlushInterval = DEFAULT_STORAGE_INDEX_FLUSH_INTERVAL;
+    private volatile int storageShutdownTimeout = DEFAULT_STORAGE_SHUTDOWN_TIMEOUT;
+    private volatile String storageBackend = DEFAULT_STORAGE_BACKEND;
+    private volatile String storageFormat = DEFAULT_STORAGE_FORMAT;
+    private volatile int storageCacheSize = DEFAULT_STORAGE_CACHE_SIZE;
+    private volatile int storageCacheExpiry = DEFAULT_STORAGE_CACHE_EXPIRY;
+
+    // Permission settings
+    private volatile int permissionCacheTtl = DEFAULT_PERMISSION_CACHE_TTL;
+
     public ConfigManager(@Nonnull Path dataFolder) {
         this.configPath = dataFolder.resolve("config.toml");
         load();
@@ -137,6 +179,14 @@ public class ConfigManager {
             chatEnabled = config.getBoolean("chat.enabled", () -> true);
             chatFormat = config.getString("chat.format", () -> DEFAULT_CHAT_FORMAT);
             chatFallbackFormat = config.getString("chat.fallback-format", () -> DEFAULT_CHAT_FALLBACK_FORMAT);
+            chatPipelineThreads = getIntSafe(config, "chat.pipeline-threads", DEFAULT_CHAT_PIPELINE_THREADS);
+            chatMaxQueue = getIntSafe(config, "chat.max-queue", DEFAULT_CHAT_MAX_QUEUE);
+            chatOverloadPolicy = config.getString("chat.overload-policy", () -> DEFAULT_CHAT_OVERLOAD_POLICY);
+            chatSlowModeSeconds = getIntSafe(config, "chat.slow-mode-seconds", DEFAULT_CHAT_SLOW_MODE_SECONDS);
+            chatRateLimitBurst = getIntSafe(config, "chat.rate-limit-burst", DEFAULT_CHAT_RATE_LIMIT_BURST);
+            chatRateLimitRefillMillis = getIntSafe(config, "chat.rate-limit-refill-ms", DEFAULT_CHAT_RATE_LIMIT_REFILL_MS);
+            chatDuplicateHistory = getIntSafe(config, "chat.duplicate-history", DEFAULT_CHAT_DUPLICATE_HISTORY);
+            chatDuplicateWindowSeconds = getIntSafe(config, "chat.duplicate-window", DEFAULT_CHAT_DUPLICATE_WINDOW_SECONDS);
 
             // Load chat fallback formats (preserve order for priority)
             // Used when SRM-Perms is not installed
@@ -196,6 +246,9 @@ public class ConfigManager {
 
             String defaultWorld = config.getString("rtp.default-world");
             rtpDefaultWorld = defaultWorld != null ? defaultWorld : "default";
+            rtpPoolSize = getIntSafe(config, "rtp.pool-size", DEFAULT_RTP_POOL_SIZE);
+            rtpPoolExpiry = getIntSafe(config, "rtp.pool-expiry", DEFAULT_RTP_POOL_EXPIRY);
+            rtpPoolProbesPerSecond = getIntSafe(config, "rtp.pool-probes-per-second", DEFAULT_RTP_POOL_PROBES_PER_SECOND);
 
             // MOTD config
             motdEnabled = config.getBoolean("motd.enabled", () -> true);
@@ -228,6 +281,18 @@ public class ConfigManager {
             // Update notification config
             updateNotifyEnabled = config.getBoolean("updates.notify", () -> true);
 
+            // Storage config
+            storageFlushInterval = getIntSafe(config, "storage.flush-interval", DEFAULT_STORAGE_FLUSH_INTERVAL);
+            storageIndexFlushInterval = getIntSafe(config, "storage.index-flush-interval", DEFAULT_STORAGE_INDEX_FLUSH_INTERVAL);
+            storageShutdownTimeout = getIntSafe(config, "storage.shutdown-timeout", DEFAULT_STORAGE_SHUTDOWN_TIMEOUT);
+            storageBackend = config.getString("storage.backend", () -> DEFAULT_STORAGE_BACKEND);
+            storageFormat = config.getString("storage.format", () -> DEFAULT_STORAGE_FORMAT);
+            storageCacheSize = getIntSafe(config, "storage.cache-size", DEFAULT_STORAGE_CACHE_SIZE);
+            storageCacheExpiry = getIntSafe(config, "storage.cache-expiry", DEFAULT_STORAGE_CACHE_EXPIRY);
+
+            // Permissions config
+            permissionCacheTtl = getIntSafe(config, "permissions.cache-ttl", DEFAULT_PERMISSION_CACHE_TTL);
+
             Log.info("Config loaded!");
         } catch (Exception e) {
             Log.error("Failed to load config: " + e.getClass().getSimpleName() + " - " + e.getMessage());
@@ -293,6 +358,63 @@ public class ConfigManager {
         return chatFormats;
     }
 
+    /**
+     * Gets the number of worker threads that process chat messages.
+     */
+    public int getChatPipelineThreads() {
+        return chatPipelineThreads;
+    }
+
+    /**
+     * Gets the maximum number of chat messages waiting to be processed.
+     */
+    public int getChatMaxQueue() {
+        return chatMaxQueue;
+    }
+
+    /**
+     * Gets what happens to chat when the queue fills up ("drop" or "slow").
+     */
+    @Nonnull
+    public String getChatOverloadPolicy() {
+        return chatOverloadPolicy;
+    }
+
+    /**
+     * Gets the minimum time (in seconds) between a player's messages while chat is in slow mode.
+     */
+    public int getChatSlowModeSeconds() {
+        return chatSlowModeSeconds;
+    }
+
+    /**
+     * Gets how many messages a player can send in a quick burst (0 disables rate limiting).
+     */
+    public int getChatRateLimitBurst() {
+        return chatRateLimitBurst;
+    }
+
+    /**
+     * Gets the time (in milliseconds) it takes to earn back one message of the burst.
+     */
+    public int getChatRateLimitRefillMillis() {
+        return chatRateLimitRefillMillis;
+    }
+
+    /**
+     * Gets how many of a player's last messages a new message may not repeat (0 disables the check).
+     */
+    public int getChatDuplicateHistory() {
+        return chatDuplicateHistory;
+    }
+
+    /**
+     * Gets how long (in seconds) a message counts as a duplicate of an earlier one (0 disables the check).
+     */
+    public int getChatDuplicateWindowSeconds() {
+        return chatDuplicateWindowSeconds;
+    }
+
     public boolean isBuildingDisabled() {
         return disableBuilding;
     }
@@ -378,6 +500,35 @@ public class ConfigManager {
         return rtpWorlds.get(worldName);
     }
 
+    /**
+     * Gets the configured RTP worlds and their radius.
+     */
+    @Nonnull
+    public Map<String, Integer> getRtpWorlds() {
+        return Map.copyOf(rtpWorlds);
+    }
+
+    /**
+     * Gets how many ready RTP locations are kept per world (0 disables the pool).
+     */
+    public int getRtpPoolSize() {
+        return rtpPoolSize;
+    }
+
+    /**
+     * Gets how long a pooled RTP location stays valid, in seconds.
+     */
+    public int getRtpPoolExpiry() {
+        return rtpPoolExpiry;
+    }
+
+    /**
+     * Gets how many candidate columns per second the RTP pool may check, across all worlds.
+     */
+    public int getRtpPoolProbesPerSecond() {
+        return rtpPoolProbesPerSecond;
+    }
+
     public boolean isMotdEnabled() {
         return motdEnabled;
     }
@@ -444,4 +595,62 @@ public class ConfigManager {
     public boolean isUpdateNotifyEnabled() {
         return updateNotifyEnabled;
     }
+
+    /**
+     * Gets the interval (in seconds) between write-behind flushes of player data.
+     */
+    public int getStorageFlushInterval() {
+        return storageFlushInterval;
+    }
+
+    /**
+     * Gets the interval (in seconds) between flushes of warps, spawn and the username index.
+     */
+    public int getStorageIndexFlushInterval() {
+        return storageIndexFlushInterval;
+    }
+
+    /**
+     * Gets the maximum time (in seconds) spent saving pending data on shutdown.
+     */
+    public int getStorageShutdownTimeout() {
+        return storageShutdownTimeout;
+    }
+
+    /**
+     * Gets the player data storage backend ("json" or "h2").
+     */
+    @Nonnull
+    public String getStorageBackend() {
+        return storageBackend;
+    }
+
+    /**
+     * Gets the encoding used when writing stored records ("json" or "binary").
+     */
+    @Nonnull
+    public String getStorageFormat() {
+        return storageFormat;
+    }
+
+    /**
+     * Gets the maximum number of offline players' data kept in memory.
+     */
+    public int getStorageCacheSize() {
+        return storageCacheSize;
+    }
+
+    /**
+     * Gets how long (in seconds) an offline player's data stays cached after its last use.
+     */
+    public int getStorageCacheExpiry() {
+        return storageCacheExpiry;
+    }
+
+    /**
+     * Gets how long (in seconds) a player's cached permission checks are reused.
+     */
+    public int getPermissionCacheTtl() {
+        return permissionCacheTtl;
+    }
 }
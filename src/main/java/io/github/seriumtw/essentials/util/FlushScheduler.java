@@ -0,0 +1,229 @@
+package io.github.seriumtw.essentials.util;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Plugin-wide scheduler for persisting modified data in the background.
+ * Each kind of data registers a flush task with its own interval; changes only bump the task's
+ * dirty generation, and a single I/O thread runs the task when its generation moved past the last flushed one.
+ * A change made while a flush is running bumps the generation again, so it is picked up by the next run.
+ * On shutdown, everything still pending is written in parallel within a deadline.
+ */
+public class FlushScheduler {
+    // Shutdown writes are I/O bound, so this does not depend on the CPU count
+    private static final int SHUTDOWN_THREADS = 4;
+    private static final long PROGRESS_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    /**
+     * Writes the current state of some data to storage.
+     */
+    @FunctionalInterface
+    public interface FlushAction {
+        void flush() throws IOException;
+
+        /**
+         * Splits the pending work into independent units that can be written in parallel on shutdown.
+         * By default the whole flush is a single unit.
+         */
+        @Nonnull
+        default List<FlushAction> split() {
+            return List.of(this);
+        }
+    }
+
+    private final ScheduledExecutorService executor;
+    private final List<Task> tasks = new CopyOnWriteArrayList<>();
+
+    public FlushScheduler() {
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "SRM-Essentials-Flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Registers a flush task that runs every interval while it has unflushed changes.
+     */
+    @Nonnull
+    public Task register(@Nonnull String name, int intervalSeconds, @Nonnull FlushAction action) {
+        Task task = new Task(name, action);
+        tasks.add(task);
+        long interval = Math.max(1, intervalSeconds);
+        executor.scheduleWithFixedDelay(task::flushIfDirty, interval, interval, TimeUnit.SECONDS);
+        return task;
+    }
+
+    /**
+     * Runs work on the I/O thread, or on the calling thread once the scheduler is shut down.
+     */
+    @Nonnull
+    public CompletableFuture<Void> submit(@Nonnull Runnable work) {
+        try {
+            return CompletableFuture.runAsync(work, executor);
+        } catch (RejectedExecutionException e) {
+            work.run();
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    /**
+     * Stops the I/O thread and writes every pending change in parallel, within the given deadline.
+     * Flushes already running on the I/O thread (e.g. a player who just quit) are waited for first,
+     * so the final writes never race them. Logs a per-category summary when done.
+     */
+    public void shutdown(int deadlineSeconds) {
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.SECONDS.toNanos(Math.max(1, deadlineSeconds));
+
+        executor.shutdown();
+        if (!awaitUntil(executor, deadline, null)) {
+            Log.warning("Background flush did not finish before the shutdown deadline, interrupting it.");
+            executor.shutdownNow();
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(SHUTDOWN_THREADS, runnable -> {
+            Thread thread = new Thread(runnable, "SRM-Essentials-ShutdownFlush");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        AtomicInteger total = new AtomicInteger();
+        AtomicInteger done = new AtomicInteger();
+        for (Task task : tasks) {
+            if (!task.isDirty()) {
+                continue;
+            }
+            for (FlushAction unit : task.action.split()) {
+                total.incrementAndGet();
+                pool.execute(() -> {
+                    try {
+                        unit.flush();
+                        task.shutdownFlushed.incrementAndGet();
+                    } catch (IOException | RuntimeException e) {
+                        task.shutdownFailed.incrementAndGet();
+                        Log.error("Failed to flush " + task.name + ": " + e.getMessage());
+                    } finally {
+                        done.incrementAndGet();
+                    }
+                });
+            }
+        }
+        pool.shutdown();
+
+        boolean finished = awaitUntil(pool, deadline,
+                () -> Log.info("Saving data... " + done.get() + "/" + total.get()));
+        if (!finished) {
+            pool.shutdownNow();
+        }
+
+        StringBuilder summary = new StringBuilder();
+        for (Task task : tasks) {
+            int flushed = task.shutdownFlushed.get();
+            int failed = task.shutdownFailed.get();
+            if (flushed == 0 && failed == 0) {
+                continue;
+            }
+            summary.append(summary.isEmpty() ? "" : ", ").append(task.name).append(' ').append(flushed);
+            if (failed > 0) {
+                summary.append(" (").append(failed).append(" failed)");
+            }
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        Log.info("Saved pending data in " + elapsedMillis + "ms using " + SHUTDOWN_THREADS + " threads: "
+                + (summary.isEmpty() ? "nothing to save" : summary));
+        if (!finished) {
+            Log.warning("Shutdown save deadline of " + deadlineSeconds + "s reached, "
+                    + (total.get() - done.get()) + " write(s) did not finish.");
+        }
+    }
+
+    /**
+     * Waits for an executor to terminate until the deadline, reporting progress periodically.
+     *
+     * @return true if it terminated in time
+     */
+    private static boolean awaitUntil(@Nonnull ExecutorService executor, long deadlineNanos,
+                                      @Nullable Runnable progress) {
+        try {
+            while (true) {
+                long remaining = deadlineNanos - System.nanoTime();
+                if (remaining <= 0) {
+                    return executor.isTerminated();
+                }
+                if (executor.awaitTermination(Math.min(remaining, PROGRESS_INTERVAL_NANOS), TimeUnit.NANOSECONDS)) {
+                    return true;
+                }
+                if (progress != null) {
+                    progress.run();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return executor.isTerminated();
+        }
+    }
+
+    /**
+     * A registered flush task and its dirty generation.
+     */
+    public final class Task {
+        private final String name;
+        private final FlushAction action;
+        private final AtomicLong dirtyGeneration = new AtomicLong();
+        private volatile long flushedGeneration;
+        private final AtomicInteger shutdownFlushed = new AtomicInteger();
+        private final AtomicInteger shutdownFailed = new AtomicInteger();
+
+        private Task(@Nonnull String name, @Nonnull FlushAction action) {
+            this.name = name;
+            this.action = action;
+        }
+
+        /**
+         * Records a change to be written by the next scheduled flush.
+         */
+        public void markDirty() {
+            dirtyGeneration.incrementAndGet();
+        }
+
+        public boolean isDirty() {
+            return dirtyGeneration.get() != flushedGeneration;
+        }
+
+        /**
+         * Flushes now on the I/O thread instead of waiting for the next interval.
+         */
+        @Nonnull
+        public CompletableFuture<Void> flushNow() {
+            return submit(this::flushIfDirty);
+        }
+
+        private synchronized void flushIfDirty() {
+            // Captured before writing: anything marked dirty from here on gets a newer generation
+            long generation = dirtyGeneration.get();
+            if (generation == flushedGeneration) {
+                return;
+            }
+            try {
+                action.flush();
+                flushedGeneration = generation;
+            } catch (IOException | RuntimeException e) {
+                // Stays dirty and is retried on the next interval
+                Log.error("Failed to flush " + name + ": " + e.getMessage());
+            }
+        }
+    }
+}
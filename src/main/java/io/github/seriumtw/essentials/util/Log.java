@@ -6,6 +6,7 @@ import javax.annotation.Nonnull;
 import java.util.logging.Level;
 
 public final class Log {
+    // Null when running outside the server (e.g. the standalone storage migrator)
     private static HytaleLogger logger;
 
     // ANSI color codes
@@ -21,18 +22,35 @@ public final class Log {
     }
 
     public static void info(@Nonnull String message) {
+        if (logger == null) {
+            System.out.println(message);
+            return;
+        }
         logger.at(Level.INFO).log(GREEN + message + RESET);
     }
 
     public static void warning(@Nonnull String message) {
+        if (logger == null) {
+            System.err.println("WARNING: " + message);
+            return;
+        }
         logger.at(Level.WARNING).log(YELLOW + message + RESET);
     }
 
     public static void error(@Nonnull String message) {
+        if (logger == null) {
+            System.err.println("ERROR: " + message);
+            return;
+        }
         logger.at(Level.SEVERE).log(RED + message + RESET);
     }
 
     public static void error(@Nonnull String message, @Nonnull Throwable throwable) {
+        if (logger == null) {
+            System.err.println("ERROR: " + message);
+            throwable.printStackTrace();
+            return;
+        }
         logger.at(Level.SEVERE).withCause(throwable).log(RED + message + RESET);
     }
 }
@@ -1,5 +1,6 @@
 package io.github.seriumtw.essentials.util;
 
+import com.hypixel.hytale.server.core.Message;
 import org.tomlj.Toml;
 import org.tomlj.TomlParseResult;
 
@@ -10,9 +11,29 @@ import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.Map;
 
+/**
+ * Loads messages.toml. Each message is compiled into a {@link Template} and a {@link ColorTemplate}
+ * on load, so getting a message with placeholders is a single pass over the pre-parsed text, and
+ * {@link #format} returns it styled without parsing color codes again. Messages without
+ * placeholders are styled once and the same Message is returned every time.
+ */
 public class MessageManager {
+    /**
+     * A compiled messages.toml entry.
+     * @param constant The styled message if it has no placeholders, or null
+     */
+    private record Entry(Template text, ColorTemplate colored, @Nullable Message constant) {
+        static Entry compile(@Nonnull String source) {
+            Template text = Template.compile(source, Template.Syntax.BRACES);
+            ColorTemplate colored = ColorTemplate.compile(text);
+            Message constant = text.isConstant() && !source.isEmpty() ? colored.render(null) : null;
+            return new Entry(text, colored, constant);
+        }
+    }
+
     private final Path messagesPath;
-    private final Map<String, String> messages = new HashMap<>();
+    // Replaced as a whole on reload
+    private volatile Map<String, Entry> messages = Map.of();
 
     public MessageManager(@Nonnull Path dataFolder) {
         this.messagesPath = dataFolder.resolve("messages.toml");
@@ -35,50 +56,48 @@ public class MessageManager {
                 return;
             }
 
-            loadMessagesRecursive(toml, "");
+            Map<String, Entry> loaded = new HashMap<>();
+            loadMessagesRecursive(toml, "", loaded);
+            messages = loaded;
             Log.info("Messages loaded!");
         } catch (Exception e) {
             Log.error("Failed to load messages: " + e.getMessage());
         }
     }
 
-    private void loadMessagesRecursive(@Nonnull TomlParseResult toml, @Nonnull String prefix) {
+    private void loadMessagesRecursive(@Nonnull TomlParseResult toml, @Nonnull String prefix,
+                                       @Nonnull Map<String, Entry> loaded) {
         for (String key : toml.keySet()) {
             String fullKey = prefix.isEmpty() ? key : prefix + "." + key;
             if (toml.isTable(key)) {
                 var table = toml.getTable(key);
-                if (table != null) loadMessagesFromTable(table, fullKey);
+                if (table != null) loadMessagesFromTable(table, fullKey, loaded);
             } else {
                 String value = toml.getString(key);
-                if (value != null) messages.put(fullKey, value);
+                if (value != null) loaded.put(fullKey, Entry.compile(value));
             }
         }
     }
 
-    private void loadMessagesFromTable(@Nonnull org.tomlj.TomlTable table, @Nonnull String prefix) {
+    private void loadMessagesFromTable(@Nonnull org.tomlj.TomlTable table, @Nonnull String prefix,
+                                       @Nonnull Map<String, Entry> loaded) {
         for (String key : table.keySet()) {
             String fullKey = prefix + "." + key;
             if (table.isTable(key)) {
                 var nested = table.getTable(key);
-                if (nested != null) loadMessagesFromTable(nested, fullKey);
+                if (nested != null) loadMessagesFromTable(nested, fullKey, loaded);
             } else {
                 String value = table.getString(key);
-                if (value != null) messages.put(fullKey, value);
+                if (value != null) loaded.put(fullKey, Entry.compile(value));
             }
         }
     }
 
     @Nonnull
     public String get(@Nonnull String key, @Nullable Map<String, String> placeholders) {
-        String message = messages.getOrDefault(key, "");
-        if (message.isEmpty()) return "";
-        
-        if (placeholders != null) {
-            for (Map.Entry<String, String> entry : placeholders.entrySet()) {
-                message = message.replace("{" + entry.getKey() + "}", entry.getValue());
-            }
-        }
-        return message;
+        Entry message = messages.get(key);
+        if (message == null) return "";
+        return message.text().render(placeholders);
     }
 
     @Nonnull
@@ -86,9 +105,26 @@ public class MessageManager {
         return get(key, null);
     }
 
+    /**
+     * Gets a message styled from its pre-parsed color codes, for {@link Msg#send}.
+     * The returned Message may be shared and must not be modified.
+     * @return The message, or null if it is missing or empty (nothing should be sent)
+     */
+    @Nullable
+    public Message format(@Nonnull String key, @Nullable Map<String, String> placeholders) {
+        Entry message = messages.get(key);
+        if (message == null) return null;
+        if (message.text().isConstant()) return message.constant();
+        return message.colored().render(placeholders);
+    }
+
+    @Nullable
+    public Message format(@Nonnull String key) {
+        return format(key, null);
+    }
+
     public void reload() {
         Log.info("Reloading messages...");
-        messages.clear();
         load();
     }
 }
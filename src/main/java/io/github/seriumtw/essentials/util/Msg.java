@@ -1,13 +1,16 @@
 package io.github.seriumtw.essentials.util;
 
+import com.hypixel.hytale.server.core.Message;
 import com.hypixel.hytale.server.core.command.system.CommandContext;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 /**
  * Simple message sending utility.
- * All formatting/colors should come from messages.toml.
+ * All formatting/colors should come from messages.toml. Messages from
+ * {@link MessageManager#format} are already styled; strings are colorized on every send.
  */
 public final class Msg {
     private Msg() {}
@@ -23,4 +26,22 @@ public final class Msg {
             player.sendMessage(ColorUtil.colorize(message));
         }
     }
+
+    /**
+     * Sends a styled message, or nothing if it is null (a missing or empty messages.toml entry).
+     */
+    public static void send(@Nonnull CommandContext context, @Nullable Message message) {
+        if (message != null) {
+            context.sendMessage(message);
+        }
+    }
+
+    /**
+     * Sends a styled message, or nothing if it is null (a missing or empty messages.toml entry).
+     */
+    public static void send(@Nonnull PlayerRef player, @Nullable Message message) {
+        if (message != null) {
+            player.sendMessage(message);
+        }
+    }
 }
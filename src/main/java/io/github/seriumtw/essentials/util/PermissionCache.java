@@ -0,0 +1,116 @@
+package io.github.seriumtw.essentials.util;
+
+import com.hypixel.hytale.server.core.permissions.PermissionsModule;
+
+import javax.annotation.Nonnull;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-player cache of permission decisions for checks on hot paths (block events, chat,
+ * teleports, kit and home limits). A cached check is two map lookups with no allocation.
+ *
+ * Decisions for a player are dropped together when SRM-Perms reports a change to that
+ * player, on /essentials reload, on disconnect, or when the player's entry is older than
+ * the configured TTL (the only invalidation when SRM-Perms is not installed).
+ */
+public class PermissionCache {
+    private final ConfigManager configManager;
+    private final ConcurrentHashMap<UUID, Entry> entries = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public PermissionCache(@Nonnull ConfigManager configManager) {
+        this.configManager = configManager;
+    }
+
+    /**
+     * Checks a permission, answering from the cache when possible.
+     */
+    public boolean has(@Nonnull UUID playerUuid, @Nonnull String permission) {
+        long now = System.nanoTime();
+        Entry entry = entries.get(playerUuid);
+        if (entry == null || now - entry.createdAt >= ttlNanos()) {
+            Entry fresh = new Entry(now);
+            // Replace only the entry we saw, so a concurrent refresh is not thrown away
+            if (entry == null) {
+                Entry raced = entries.putIfAbsent(playerUuid, fresh);
+                entry = raced != null ? raced : fresh;
+            } else {
+                entry = entries.replace(playerUuid, entry, fresh) ? fresh : entries.getOrDefault(playerUuid, fresh);
+            }
+        }
+
+        Boolean cached = entry.decisions.get(permission);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+
+        misses.increment();
+        boolean result = PermissionsModule.get().hasPermission(playerUuid, permission);
+        entry.decisions.put(permission, result);
+        return result;
+    }
+
+    /**
+     * Drops all cached decisions for a player (permissions or groups changed).
+     */
+    public void invalidate(@Nonnull UUID playerUuid) {
+        if (entries.remove(playerUuid) != null) {
+            invalidations.increment();
+        }
+    }
+
+    /**
+     * Drops all cached decisions.
+     */
+    public void invalidateAll() {
+        entries.clear();
+        invalidations.increment();
+    }
+
+    /**
+     * Removes a player's entry on disconnect.
+     */
+    public void onPlayerQuit(@Nonnull UUID playerUuid) {
+        entries.remove(playerUuid);
+    }
+
+    private long ttlNanos() {
+        return TimeUnit.SECONDS.toNanos(Math.max(1, configManager.getPermissionCacheTtl()));
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Gets a one-line summary of cache statistics, for logs and /essentials stats.
+     */
+    @Nonnull
+    public String describeStats() {
+        long hitCount = getHits();
+        long total = hitCount + getMisses();
+        double hitRate = total == 0 ? 0 : hitCount * 100.0 / total;
+        return String.format("%d players, %.1f%% hit rate (%d/%d), %d invalidations",
+                entries.size(), hitRate, hitCount, total, invalidations.sum());
+    }
+
+    private static final class Entry {
+        private final long createdAt;
+        private final ConcurrentHashMap<String, Boolean> decisions = new ConcurrentHashMap<>();
+
+        Entry(long createdAt) {
+            this.createdAt = createdAt;
+        }
+    }
+}
@@ -0,0 +1,278 @@
+package io.github.seriumtw.essentials.util;
+
+import io.github.seriumtw.essentials.models.PlayerData;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Two-tier PlayerData cache.
+ * Online players are pinned for the whole session and preloaded asynchronously when they connect.
+ * Everyone else (e.g. offline players looked up by /home player:) goes into a size- and
+ * time-bounded LRU tier, so lookups of offline players no longer stay in memory forever.
+ */
+public class PlayerDataCache {
+    private static final int LOADER_THREADS = 2;
+
+    private final Function<UUID, PlayerData> loader;
+    private final int offlineMaxSize;
+    private final long offlineExpiryNanos;
+    private final ExecutorService loadExecutor;
+
+    // Online players (pinned). Holds a future so a lookup during an in-flight preload waits for it instead of loading twice.
+    private final ConcurrentHashMap<UUID, CompletableFuture<PlayerData>> online = new ConcurrentHashMap<>();
+    // Offline players, access-ordered for LRU eviction. Guarded by itself.
+    private final LinkedHashMap<UUID, OfflineEntry> offline;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder loadNanos = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public PlayerDataCache(@Nonnull Function<UUID, PlayerData> loader, int offlineMaxSize, int offlineExpirySeconds) {
+        this.loader = loader;
+        this.offlineMaxSize = Math.max(0, offlineMaxSize);
+        this.offlineExpiryNanos = TimeUnit.SECONDS.toNanos(Math.max(1, offlineExpirySeconds));
+        this.offline = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, OfflineEntry> eldest) {
+                if (size() > PlayerDataCache.this.offlineMaxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+        this.loadExecutor = Executors.newFixedThreadPool(LOADER_THREADS, runnable -> {
+            Thread thread = new Thread(runnable, "SRM-Essentials-PlayerLoader");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Pins a player and starts loading their data in the background.
+     * Call this when a player connects.
+     */
+    @Nonnull
+    public CompletableFuture<PlayerData> preload(@Nonnull UUID playerUuid) {
+        CompletableFuture<PlayerData> future = online.computeIfAbsent(playerUuid, uuid -> {
+            PlayerData cached = removeOffline(uuid);
+            if (cached != null) {
+                return CompletableFuture.completedFuture(cached);
+            }
+            try {
+                return CompletableFuture.supplyAsync(() -> load(uuid), loadExecutor);
+            } catch (RejectedExecutionException e) {
+                try {
+                    return CompletableFuture.completedFuture(load(uuid));
+                } catch (RuntimeException loadError) {
+                    return CompletableFuture.failedFuture(loadError);
+                }
+            }
+        });
+        // Don't keep a failed load pinned, so the next lookup loads again
+        future.whenComplete((data, error) -> {
+            if (error != null) {
+                online.remove(playerUuid, future);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Gets a player's data, loading it synchronously on a miss.
+     * Online players are served from the pinned tier, others from the LRU tier.
+     */
+    @Nonnull
+    public PlayerData get(@Nonnull UUID playerUuid) {
+        CompletableFuture<PlayerData> pinned = online.get(playerUuid);
+        if (pinned != null) {
+            hits.increment();
+            try {
+                return pinned.join();
+            } catch (CompletionException | CancellationException e) {
+                // The preload failed: drop it and load again
+                online.remove(playerUuid, pinned);
+                return preload(playerUuid).join();
+            }
+        }
+
+        PlayerData cached = getOffline(playerUuid);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+
+        misses.increment();
+        PlayerData data = load(playerUuid);
+        synchronized (offline) {
+            // Another thread may have loaded the same player meanwhile; keep the first copy
+            OfflineEntry existing = offline.get(playerUuid);
+            if (existing != null) {
+                existing.touch();
+                return existing.data;
+            }
+            if (offlineMaxSize > 0) {
+                offline.put(playerUuid, new OfflineEntry(data));
+            }
+        }
+        return data;
+    }
+
+    /**
+     * Gets a player's data only if it is already in memory. Never loads.
+     */
+    @Nullable
+    public PlayerData peek(@Nonnull UUID playerUuid) {
+        CompletableFuture<PlayerData> pinned = online.get(playerUuid);
+        if (pinned != null) {
+            return pinned.isCompletedExceptionally() ? null : pinned.getNow(null);
+        }
+        synchronized (offline) {
+            OfflineEntry entry = offline.get(playerUuid);
+            return entry != null ? entry.data : null;
+        }
+    }
+
+    /**
+     * Unpins a player (e.g. on disconnect). Their data moves to the LRU tier so a quick reconnect
+     * does not have to hit the disk.
+     */
+    public void unpin(@Nonnull UUID playerUuid) {
+        CompletableFuture<PlayerData> pinned = online.remove(playerUuid);
+        if (pinned == null || pinned.isCompletedExceptionally() || offlineMaxSize == 0) {
+            return;
+        }
+        PlayerData data = pinned.getNow(null);
+        if (data != null) {
+            synchronized (offline) {
+                offline.put(playerUuid, new OfflineEntry(data));
+            }
+        }
+    }
+
+    /**
+     * Drops everything from both tiers and stops the loader threads.
+     */
+    public void shutdown() {
+        loadExecutor.shutdown();
+        online.clear();
+        synchronized (offline) {
+            offline.clear();
+        }
+    }
+
+    public int getOnlineCount() {
+        return online.size();
+    }
+
+    public int getOfflineCount() {
+        synchronized (offline) {
+            return offline.size();
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * Gets the average time spent loading a player's data from storage, in milliseconds.
+     */
+    public double getAverageLoadMillis() {
+        long count = loads.sum();
+        return count == 0 ? 0 : loadNanos.sum() / (count * 1_000_000.0);
+    }
+
+    /**
+     * Gets a one-line summary of the cache metrics.
+     */
+    @Nonnull
+    public String describeStats() {
+        long hitCount = getHits();
+        long total = hitCount + getMisses();
+        double hitRate = total == 0 ? 0 : hitCount * 100.0 / total;
+        return String.format("%d online, %d offline cached, %.1f%% hit rate (%d/%d), %d evictions, %.2fms avg load",
+                getOnlineCount(), getOfflineCount(), hitRate, hitCount, total, getEvictions(), getAverageLoadMillis());
+    }
+
+    @Nullable
+    private PlayerData getOffline(@Nonnull UUID playerUuid) {
+        synchronized (offline) {
+            OfflineEntry entry = offline.get(playerUuid);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.isExpired(offlineExpiryNanos)) {
+                offline.remove(playerUuid);
+                evictions.increment();
+                return null;
+            }
+            entry.touch();
+            return entry.data;
+        }
+    }
+
+    @Nullable
+    private PlayerData removeOffline(@Nonnull UUID playerUuid) {
+        synchronized (offline) {
+            OfflineEntry entry = offline.remove(playerUuid);
+            return entry != null ? entry.data : null;
+        }
+    }
+
+    @Nonnull
+    private PlayerData load(@Nonnull UUID playerUuid) {
+        long start = System.nanoTime();
+        try {
+            return loader.apply(playerUuid);
+        } finally {
+            loads.increment();
+            loadNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * An offline player's data with its last access time for expiry.
+     */
+    private static class OfflineEntry {
+        private final PlayerData data;
+        private long lastAccess;
+
+        OfflineEntry(@Nonnull PlayerData data) {
+            this.data = data;
+            this.lastAccess = System.nanoTime();
+        }
+
+        void touch() {
+            lastAccess = System.nanoTime();
+        }
+
+        boolean isExpired(long expiryNanos) {
+            return System.nanoTime() - lastAccess > expiryNanos;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package io.github.seriumtw.essentials.util;
+
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.Universe;
+import io.github.seriumtw.essentials.SRMEssentials;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Finds online players by a typed name through the index of online names instead of scanning
+ * every online player. Accepts exact names and unambiguous prefixes (case-insensitive).
+ */
+public final class PlayerLookup {
+    private PlayerLookup() {}
+
+    /**
+     * Finds an online player by exact name, or by a prefix that matches exactly one online player.
+     */
+    @Nullable
+    public static PlayerRef findOnlinePlayer(@Nonnull String name) {
+        UUID uuid = SRMEssentials.getInstance().getStorageManager().resolveOnlineUsername(name);
+        return uuid != null ? Universe.get().getPlayer(uuid) : null;
+    }
+
+    /**
+     * Gets a "did you mean" line for a name that matched no online player, or an empty string
+     * if no online player has a close name.
+     */
+    @Nonnull
+    public static String suggestion(@Nonnull String name) {
+        return didYouMean(SRMEssentials.getInstance().getStorageManager().suggestOnlineUsername(name));
+    }
+
+    /**
+     * Gets a "did you mean" line for a name that matched no known player, online or offline,
+     * or an empty string if there is no close name.
+     */
+    @Nonnull
+    public static String knownPlayerSuggestion(@Nonnull String name) {
+        return didYouMean(SRMEssentials.getInstance().getStorageManager().suggestUsername(name));
+    }
+
+    @Nonnull
+    private static String didYouMean(@Nullable String suggested) {
+        if (suggested == null) {
+            return "";
+        }
+        return SRMEssentials.getInstance().getMessageManager()
+                .get("lookup.did-you-mean", Map.of("player", suggested));
+    }
+}
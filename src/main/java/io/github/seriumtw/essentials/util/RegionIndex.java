@@ -0,0 +1,161 @@
+package io.github.seriumtw.essentials.util;
+
+import io.github.seriumtw.essentials.models.Region;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable per-world spatial index of regions, keyed by 32x32 block cells.
+ * Each cell holds only the regions overlapping it, so a lookup is one hash probe on a
+ * primitive long key plus bounds checks against the few regions in that cell.
+ * Rebuilt from scratch whenever the regions change.
+ */
+public final class RegionIndex {
+    private static final int CELL_SHIFT = 5;
+    // Regions covering more cells than this are checked linearly instead of being indexed cell by cell
+    private static final long MAX_CELLS_PER_REGION = 65_536;
+
+    private static final RegionIndex EMPTY = new RegionIndex(Map.of());
+
+    private final Map<String, WorldIndex> worlds;
+
+    private RegionIndex(@Nonnull Map<String, WorldIndex> worlds) {
+        this.worlds = worlds;
+    }
+
+    @Nonnull
+    public static RegionIndex empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Builds an index. When regions overlap, the one listed first wins.
+     */
+    @Nonnull
+    public static RegionIndex build(@Nonnull Collection<Region> regions) {
+        Map<String, List<Region>> byWorld = new LinkedHashMap<>();
+        for (Region region : regions) {
+            byWorld.computeIfAbsent(region.getWorld(), world -> new ArrayList<>()).add(region);
+        }
+        Map<String, WorldIndex> worlds = new HashMap<>();
+        for (Map.Entry<String, List<Region>> entry : byWorld.entrySet()) {
+            worlds.put(entry.getKey(), WorldIndex.build(entry.getValue()));
+        }
+        return new RegionIndex(worlds);
+    }
+
+    public boolean isEmpty() {
+        return worlds.isEmpty();
+    }
+
+    /**
+     * Finds the region containing a block position, or null if it is not in any region.
+     */
+    @Nullable
+    public Region find(@Nonnull String world, int x, int y, int z) {
+        WorldIndex index = worlds.get(world);
+        return index != null ? index.find(x, y, z) : null;
+    }
+
+    static long cellKey(int cellX, int cellZ) {
+        return ((long) cellX << 32) | (cellZ & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Regions of a single world in an open-addressing hash table of cell key to regions.
+     */
+    private static final class WorldIndex {
+        private final long[] keys;
+        private final Region[][] cells;
+        private final int mask;
+        // Very large regions, checked for every lookup
+        private final Region[] oversized;
+        // Position of each region in the list, to pick between a cell match and an oversized match
+        private final Map<Region, Integer> order;
+
+        private WorldIndex(long[] keys, Region[][] cells, Region[] oversized, Map<Region, Integer> order) {
+            this.keys = keys;
+            this.cells = cells;
+            this.mask = keys.length - 1;
+            this.oversized = oversized;
+            this.order = order;
+        }
+
+        static WorldIndex build(@Nonnull List<Region> regions) {
+            Map<Long, List<Region>> byCell = new LinkedHashMap<>();
+            List<Region> oversized = new ArrayList<>();
+            Map<Region, Integer> order = new IdentityHashMap<>();
+            for (Region region : regions) {
+                order.putIfAbsent(region, order.size());
+                int minCellX = region.getMinX() >> CELL_SHIFT;
+                int maxCellX = region.getMaxX() >> CELL_SHIFT;
+                int minCellZ = region.getMinZ() >> CELL_SHIFT;
+                int maxCellZ = region.getMaxZ() >> CELL_SHIFT;
+                long cellCount = (long) (maxCellX - minCellX + 1) * (maxCellZ - minCellZ + 1);
+                if (cellCount > MAX_CELLS_PER_REGION) {
+                    oversized.add(region);
+                    continue;
+                }
+                for (int cellX = minCellX; cellX <= maxCellX; cellX++) {
+                    for (int cellZ = minCellZ; cellZ <= maxCellZ; cellZ++) {
+                        byCell.computeIfAbsent(cellKey(cellX, cellZ), key -> new ArrayList<>()).add(region);
+                    }
+                }
+            }
+
+            int capacity = Integer.highestOneBit(Math.max(4, byCell.size() * 2 - 1)) << 1;
+            long[] keys = new long[capacity];
+            Region[][] cells = new Region[capacity][];
+            for (Map.Entry<Long, List<Region>> entry : byCell.entrySet()) {
+                long key = entry.getKey();
+                int slot = slot(key, capacity - 1);
+                while (cells[slot] != null) {
+                    slot = (slot + 1) & (capacity - 1);
+                }
+                keys[slot] = key;
+                cells[slot] = entry.getValue().toArray(new Region[0]);
+            }
+            return new WorldIndex(keys, cells, oversized.toArray(new Region[0]), order);
+        }
+
+        @Nullable
+        Region find(int x, int y, int z) {
+            long key = cellKey(x >> CELL_SHIFT, z >> CELL_SHIFT);
+            int slot = slot(key, mask);
+            Region[] candidates;
+            Region match = null;
+            while ((candidates = cells[slot]) != null) {
+                if (keys[slot] == key) {
+                    // Candidates are in list order, so the first match is the one listed first
+                    for (Region region : candidates) {
+                        if (region.contains(x, y, z)) {
+                            match = region;
+                            break;
+                        }
+                    }
+                    break;
+                }
+                slot = (slot + 1) & mask;
+            }
+            for (Region region : oversized) {
+                if (region.contains(x, y, z)) {
+                    return match == null || order.get(region) < order.get(match) ? region : match;
+                }
+            }
+            return match;
+        }
+
+        private static int slot(long key, int mask) {
+            long hash = key * 0x9E3779B97F4A7C15L;
+            return (int) (hash ^ (hash >>> 32)) & mask;
+        }
+    }
+}
@@ -2,118 +2,254 @@ package io.github.seriumtw.essentials.util;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
 import com.google.gson.reflect.TypeToken;
+import io.github.seriumtw.essentials.models.NameHistory;
 import io.github.seriumtw.essentials.models.PlayerData;
 import io.github.seriumtw.essentials.models.Spawn;
 import io.github.seriumtw.essentials.models.Warp;
+import io.github.seriumtw.essentials.storage.BinaryCodec;
+import io.github.seriumtw.essentials.storage.JournaledMap;
+import io.github.seriumtw.essentials.storage.PlayerDataStore;
+import io.github.seriumtw.essentials.storage.StorageFormat;
+import io.github.seriumtw.essentials.storage.UsernameIndex;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicBoolean;
 
 public class StorageManager {
     private final Path dataFolder;
-    private final Path playersFolder;
     private final Gson gson;
-    private final ConcurrentHashMap<UUID, PlayerData> cache;
-    private final ConcurrentHashMap<String, Warp> warps;
-    private final ConcurrentHashMap<String, UUID> usernameToUuid;
-    private final AtomicBoolean uuidIndexDirty;
+    private final StorageFormat format;
+    private final PlayerDataStore playerStore;
+    private final PlayerDataCache cache;
+    private final JournaledMap<Warp> warps;
+    private final JournaledMap<UUID> usernameToUuid;
+    private final JournaledMap<NameHistory> nameHistory;
+    private final UsernameIndex usernameIndex = new UsernameIndex();
+    // Current names of online players only
+    private final UsernameIndex onlineNames = new UsernameIndex();
+    private final WriteBehindQueue<UUID, PlayerData> playerWriteQueue;
+    private final FlushScheduler.Task warpsFlush;
+    private final FlushScheduler.Task uuidIndexFlush;
+    private final FlushScheduler.Task nameHistoryFlush;
+    private final FlushScheduler.Task spawnFlush;
     private volatile Spawn spawn;
+    // Players whose stored record could not be read. Never saved, so the record stays as it is on disk
+    private final Set<UUID> unreadablePlayers = ConcurrentHashMap.newKeySet();
+    // Set when an unreadable warps or spawn file could not be moved aside; writing it would destroy it
+    private volatile boolean warpsLocked;
+    private volatile boolean spawnLocked;
 
     private static final Type WARPS_TYPE = new TypeToken<Map<String, Warp>>(){}.getType();
     private static final Type UUIDS_TYPE = new TypeToken<Map<String, String>>(){}.getType();
+    private static final Type NAMES_TYPE = new TypeToken<Map<String, NameHistory>>(){}.getType();
 
-    public StorageManager(@Nonnull Path dataFolder) {
+    public StorageManager(@Nonnull Path dataFolder, @Nonnull ConfigManager configManager,
+                          @Nonnull FlushScheduler flushScheduler) {
         this.dataFolder = dataFolder;
-        this.playersFolder = dataFolder.resolve("players");
         this.gson = new GsonBuilder().create();
-        this.cache = new ConcurrentHashMap<>();
-        this.warps = new ConcurrentHashMap<>();
-        this.usernameToUuid = new ConcurrentHashMap<>();
-        this.uuidIndexDirty = new AtomicBoolean(false);
+        this.format = StorageFormat.fromConfig(configManager.getStorageFormat());
+        this.playerStore = createPlayerStore(configManager.getStorageBackend());
+        this.cache = new PlayerDataCache(this::loadPlayerData,
+                configManager.getStorageCacheSize(), configManager.getStorageCacheExpiry());
+        this.playerWriteQueue = new WriteBehindQueue<>("player data", this::writePlayerData,
+                flushScheduler, configManager.getStorageFlushInterval());
+
+        int indexFlushInterval = configManager.getStorageIndexFlushInterval();
+        this.warpsFlush = flushScheduler.register("warps", indexFlushInterval, this::flushWarps);
+        this.uuidIndexFlush = flushScheduler.register("UUID index", indexFlushInterval, this::flushUuidIndex);
+        this.nameHistoryFlush = flushScheduler.register("name history", indexFlushInterval, this::flushNameHistory);
+        this.spawnFlush = flushScheduler.register("spawn", indexFlushInterval, this::saveSpawn);
+        this.warps = new JournaledMap<>("warps", dataFolder.resolve("warps.journal"), gson,
+                Warp.class, this::writeWarpsSnapshot, warpsFlush::markDirty);
+        this.usernameToUuid = new JournaledMap<>("uuids", dataFolder.resolve("uuids.journal"), gson,
+                UUID.class, this::writeUuidSnapshot, uuidIndexFlush::markDirty);
+        this.nameHistory = new JournaledMap<>("names", dataFolder.resolve("names.journal"), gson,
+                NameHistory.class, this::writeNameHistorySnapshot, nameHistoryFlush::markDirty);
+
+        AtomicFileWriter.cleanupTempFiles(this.dataFolder);
 
+        loadWarps();
+        loadSpawn();
+        loadUuidIndex();
+    }
+
+    /**
+     * Opens the configured player data backend.
+     * Failing to open it is fatal: running on another backend would load empty data for every
+     * player and split new saves across two stores.
+     * @throws UncheckedIOException If the backend cannot be opened
+     */
+    @Nonnull
+    private PlayerDataStore createPlayerStore(@Nonnull String backend) {
         try {
-            Files.createDirectories(this.playersFolder);
+            PlayerDataStore store = PlayerDataStore.open(backend, dataFolder, gson, format);
+            Log.info("Using " + store.getName() + " player data storage.");
+            return store;
         } catch (IOException e) {
-            Log.error("Failed to create players folder: " + e.getMessage());
+            Log.error("Failed to open " + backend + " player storage, refusing to start: " + e.getMessage());
+            throw new UncheckedIOException("Could not open " + backend + " player storage", e);
         }
+    }
 
-        loadWarps();
-        loadSpawn();
-        loadUuidIndex();
+    /**
+     * Gets the encoding used for new writes (json or binary).
+     */
+    @Nonnull
+    public StorageFormat getFormat() {
+        return format;
+    }
+
+    /**
+     * Gets the Gson instance used for all storage files.
+     */
+    @Nonnull
+    public Gson getGson() {
+        return gson;
+    }
+
+    /**
+     * Gets the plugin data folder.
+     */
+    @Nonnull
+    public Path getDataFolder() {
+        return dataFolder;
+    }
+
+    /**
+     * Gets a one-line summary of the storage backend and write queue.
+     */
+    @Nonnull
+    public String describeStats() {
+        return playerStore.getName() + " backend, " + playerWriteQueue.getPendingCount() + " pending write(s)";
+    }
+
+    /**
+     * Writes all pending player data now instead of waiting for the next flush interval.
+     */
+    @Nonnull
+    public CompletableFuture<Void> flushPlayerData() {
+        return playerWriteQueue.flushAll();
+    }
+
+    /**
+     * Gets the active player data backend.
+     */
+    @Nonnull
+    public PlayerDataStore getPlayerStore() {
+        return playerStore;
     }
 
     // Player data methods
 
     @Nonnull
     public PlayerData getPlayerData(@Nonnull UUID playerUuid) {
-        return cache.computeIfAbsent(playerUuid, this::loadPlayerData);
+        return cache.get(playerUuid);
+    }
+
+    /**
+     * Starts loading a player's data in the background and keeps it cached until they quit.
+     * Call this when a player connects so later lookups do not block on disk I/O.
+     */
+    public void preloadPlayerData(@Nonnull UUID playerUuid) {
+        cache.preload(playerUuid);
+    }
+
+    /**
+     * Gets the player data cache (for metrics).
+     */
+    @Nonnull
+    public PlayerDataCache getCache() {
+        return cache;
     }
 
+    /**
+     * Queues a player's data for saving. Repeated saves within the flush interval
+     * are coalesced into a single write.
+     */
     public void savePlayerData(@Nonnull UUID playerUuid) {
-        PlayerData data = cache.get(playerUuid);
+        PlayerData data = cache.peek(playerUuid);
         if (data != null) {
-            savePlayerDataAsync(playerUuid, data);
+            playerWriteQueue.markDirty(playerUuid, data);
         }
     }
 
     @Nonnull
     private PlayerData loadPlayerData(@Nonnull UUID playerUuid) {
-        Path file = getPlayerFile(playerUuid);
-        if (Files.exists(file)) {
-            try {
-                String json = Files.readString(file);
-                PlayerData data = gson.fromJson(json, PlayerData.class);
-                if (data != null) {
-                    return data;
-                }
-            } catch (IOException e) {
-                Log.warning("Failed to load player data for " + playerUuid + ": " + e.getMessage());
-            }
+        // Evicted from the cache but not written yet - the queued copy is the newest
+        PlayerData pending = playerWriteQueue.getPending(playerUuid);
+        if (pending != null) {
+            return pending;
         }
-        return new PlayerData();
-    }
 
-    private void savePlayerDataAsync(@Nonnull UUID playerUuid, @Nonnull PlayerData data) {
-        CompletableFuture.runAsync(() -> {
-            Path file = getPlayerFile(playerUuid);
-            try {
-                String json = gson.toJson(data);
-                Files.writeString(file, json);
-            } catch (IOException e) {
-                Log.error("Failed to save player data for " + playerUuid + ": " + e.getMessage());
+        try {
+            PlayerData data = playerStore.load(playerUuid);
+            if (data != null) {
+                return data;
             }
-        });
+        } catch (IOException | JsonParseException e) {
+            // Saving an empty record over it would wipe the player's real data
+            unreadablePlayers.add(playerUuid);
+            Log.error("Player data for " + playerUuid + " is unreadable and was left untouched (" + e.getMessage()
+                    + "). Their changes are not saved until the record is fixed and the server restarted.");
+        }
+        return new PlayerData();
     }
 
-    @Nonnull
-    private Path getPlayerFile(@Nonnull UUID playerUuid) {
-        return playersFolder.resolve(playerUuid + ".json");
+    /**
+     * Writes player data to disk. Called from the write-behind queue's I/O thread or shutdown.
+     * Failures are rethrown so the queue keeps the record and retries it.
+     */
+    private void writePlayerData(@Nonnull UUID playerUuid, @Nonnull PlayerData data) {
+        if (unreadablePlayers.contains(playerUuid)) {
+            return;
+        }
+        try {
+            playerStore.save(playerUuid, data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
+    /**
+     * Unpins a player from the cache and writes any pending changes immediately.
+     */
     public void unloadPlayer(@Nonnull UUID playerUuid) {
-        cache.remove(playerUuid);
+        cache.unpin(playerUuid);
+        playerWriteQueue.flush(playerUuid);
     }
 
     /**
-     * Checks if a player has joined the server before (player data file exists).
+     * Checks if a player has joined the server before (player data record exists).
      */
     public boolean hasPlayerJoined(@Nonnull UUID playerUuid) {
-        Path playerFile = getPlayerFile(playerUuid);
-        return Files.exists(playerFile);
+        try {
+            return playerStore.exists(playerUuid);
+        } catch (IOException e) {
+            Log.warning("Failed to check player data for " + playerUuid + ": " + e.getMessage());
+            // Assume returning player so first-join actions are not repeated
+            return true;
+        }
     }
 
     /**
-     * Marks a player as having joined by creating their data file.
+     * Marks a player as having joined by creating their data record.
      */
     public void markPlayerJoined(@Nonnull UUID playerUuid) {
         getPlayerData(playerUuid);
@@ -123,7 +259,7 @@ public class StorageManager {
     // Warp methods
     @Nonnull
     public Map<String, Warp> getWarps() {
-        return warps;
+        return warps.view();
     }
 
     public Warp getWarp(@Nonnull String name) {
@@ -132,42 +268,49 @@ public class StorageManager {
 
     public void setWarp(@Nonnull String name, @Nonnull Warp warp) {
         warps.put(name.toLowerCase(), warp);
-        saveWarpsAsync();
     }
 
     public boolean deleteWarp(@Nonnull String name) {
-        if (warps.remove(name.toLowerCase()) != null) {
-            saveWarpsAsync();
-            return true;
-        }
-        return false;
+        return warps.remove(name.toLowerCase()) != null;
     }
 
     private void loadWarps() {
-        Path file = dataFolder.resolve("warps.json");
-        if (Files.exists(file)) {
+        Map<String, Warp> snapshot = null;
+        for (Path file : findDataFiles("warps")) {
             try {
-                String json = Files.readString(file);
-                Map<String, Warp> loaded = gson.fromJson(json, WARPS_TYPE);
-                if (loaded != null) {
-                    warps.putAll(loaded);
+                byte[] bytes = Files.readAllBytes(file);
+                snapshot = BinaryCodec.isBinary(bytes)
+                        ? BinaryCodec.decodeWarps(bytes)
+                        : gson.fromJson(new String(bytes, StandardCharsets.UTF_8), WARPS_TYPE);
+                break;
+            } catch (IOException | JsonParseException e) {
+                if (!quarantine(file, e)) {
+                    warpsLocked = true;
                 }
-            } catch (IOException e) {
-                Log.warning("Failed to load warps: " + e.getMessage());
             }
         }
+        warps.load(snapshot);
     }
 
-    private void saveWarpsAsync() {
-        CompletableFuture.runAsync(() -> {
-            Path file = dataFolder.resolve("warps.json");
-            try {
-                String json = gson.toJson(warps);
-                Files.writeString(file, json);
-            } catch (IOException e) {
-                Log.error("Failed to save warps: " + e.getMessage());
-            }
-        });
+    private void flushWarps() throws IOException {
+        warps.flush();
+    }
+
+    /**
+     * Writes the full warps file. Called when the warps journal is compacted.
+     */
+    private void writeWarpsSnapshot(@Nonnull Map<String, Warp> snapshot) throws IOException {
+        if (warpsLocked) {
+            // Fails the compaction, so the journal keeps the changes
+            throw new IOException("the unreadable warps file is not overwritten");
+        }
+        Path file = dataFile("warps", format);
+        if (format == StorageFormat.BINARY) {
+            AtomicFileWriter.writeBytes(file, () -> BinaryCodec.encodeWarps(snapshot));
+        } else {
+            AtomicFileWriter.write(file, () -> gson.toJson(snapshot));
+        }
+        Files.deleteIfExists(dataFile("warps", format.other()));
     }
 
     // Spawn methods
@@ -178,51 +321,137 @@ public class StorageManager {
 
     public void setSpawn(@Nonnull Spawn spawn) {
         this.spawn = spawn;
-        saveSpawnAsync();
+        spawnFlush.markDirty();
     }
 
     private void loadSpawn() {
-        Path file = dataFolder.resolve("spawn.json");
-        if (Files.exists(file)) {
+        for (Path file : findDataFiles("spawn")) {
             try {
-                String json = Files.readString(file);
-                Spawn loaded = gson.fromJson(json, Spawn.class);
+                byte[] bytes = Files.readAllBytes(file);
+                Spawn loaded = BinaryCodec.isBinary(bytes)
+                        ? BinaryCodec.decodeSpawn(bytes)
+                        : gson.fromJson(new String(bytes, StandardCharsets.UTF_8), Spawn.class);
                 if (loaded != null) {
                     this.spawn = loaded;
                 }
-            } catch (IOException e) {
-                Log.warning("Failed to load spawn: " + e.getMessage());
+                return;
+            } catch (IOException | JsonParseException e) {
+                if (!quarantine(file, e)) {
+                    spawnLocked = true;
+                }
             }
         }
     }
 
-    private void saveSpawnAsync() {
-        CompletableFuture.runAsync(() -> {
-            Path file = dataFolder.resolve("spawn.json");
-            try {
-                String json = gson.toJson(spawn);
-                Files.writeString(file, json);
-            } catch (IOException e) {
-                Log.error("Failed to save spawn: " + e.getMessage());
+    /**
+     * Writes the spawn file. Called by the flush scheduler after the spawn changed.
+     */
+    private void saveSpawn() throws IOException {
+        Spawn current = spawn;
+        if (current == null) {
+            return;
+        }
+        if (spawnLocked) {
+            throw new IOException("the unreadable spawn file is not overwritten");
+        }
+        Path file = dataFile("spawn", format);
+        if (format == StorageFormat.BINARY) {
+            AtomicFileWriter.writeBytes(file, () -> BinaryCodec.encodeSpawn(current));
+        } else {
+            AtomicFileWriter.write(file, () -> gson.toJson(current));
+        }
+        Files.deleteIfExists(dataFile("spawn", format.other()));
+    }
+
+    @Nonnull
+    private Path dataFile(@Nonnull String baseName, @Nonnull StorageFormat fileFormat) {
+        return dataFolder.resolve(baseName + fileFormat.getExtension());
+    }
+
+    /**
+     * Finds the existing copies of a data file, the configured format first, so switching
+     * storage.format keeps existing data readable. The other copy is only read if the first
+     * cannot be.
+     */
+    @Nonnull
+    private List<Path> findDataFiles(@Nonnull String baseName) {
+        List<Path> files = new ArrayList<>(2);
+        for (StorageFormat fileFormat : new StorageFormat[]{format, format.other()}) {
+            Path file = dataFile(baseName, fileFormat);
+            if (Files.exists(file)) {
+                files.add(file);
             }
-        });
+        }
+        return files;
+    }
+
+    /**
+     * Moves an unreadable data file aside (to &lt;name&gt;.&lt;time&gt;.corrupt), so the next write
+     * does not overwrite or delete it. An operator can inspect and restore it.
+     *
+     * @return true if it was moved, false if it is still in place and must not be written
+     */
+    private static boolean quarantine(@Nonnull Path file, @Nonnull Exception error) {
+        Path target = file.resolveSibling(file.getFileName() + "." + System.currentTimeMillis() + ".corrupt");
+        try {
+            Files.move(file, target);
+            Log.error("Could not read " + file.getFileName() + " (" + error.getMessage() + "), moved it to "
+                    + target.getFileName() + ".");
+            return true;
+        } catch (IOException e) {
+            Log.error("Could not read " + file.getFileName() + " (" + error.getMessage()
+                    + ") or move it aside; it will not be written until it is fixed.");
+            return false;
+        }
     }
 
     // UUID index methods (username -> UUID mapping for offline player lookups)
 
     /**
-     * Registers a player's username to UUID mapping.
+     * Registers a player's username to UUID mapping, records name changes and marks them online.
      * Call this when a player joins the server.
      */
     public void registerPlayer(@Nonnull String username, @Nonnull UUID uuid) {
         String lowerUsername = username.toLowerCase();
         UUID existing = usernameToUuid.get(lowerUsername);
         
-        // Only save if this is a new mapping or UUID changed (name change)
+        // Only journal a new mapping or a changed UUID (name change)
         if (existing == null || !existing.equals(uuid)) {
             usernameToUuid.put(lowerUsername, uuid);
-            scheduleUuidIndexSave();
         }
+
+        String key = uuid.toString();
+        NameHistory history = nameHistory.get(key);
+        if (history == null || !username.equals(history.getCurrentName())) {
+            long now = System.currentTimeMillis();
+            nameHistory.put(key, history == null ? NameHistory.of(username, now) : history.withName(username, now));
+        }
+        usernameIndex.setCurrentName(uuid, username);
+        onlineNames.setCurrentName(uuid, username);
+    }
+
+    /**
+     * Marks a player offline. Call this when a player leaves the server.
+     */
+    public void unregisterOnlinePlayer(@Nonnull UUID uuid) {
+        onlineNames.remove(uuid);
+    }
+
+    /**
+     * Resolves a typed name to an online player: an exact (case-insensitive) match, or the
+     * only online player whose name starts with the input.
+     */
+    @Nullable
+    public UUID resolveOnlineUsername(@Nonnull String input) {
+        return onlineNames.resolve(input);
+    }
+
+    /**
+     * Suggests the closest online player name for a probably mistyped one, or null.
+     */
+    @Nullable
+    public String suggestOnlineUsername(@Nonnull String input) {
+        return onlineNames.suggest(input);
     }
 
     /**
@@ -231,10 +460,59 @@ public class StorageManager {
      */
     @Nullable
     public UUID getUuidByUsername(@Nonnull String username) {
-        return usernameToUuid.get(username.toLowerCase());
+        return usernameIndex.getUuid(username);
+    }
+
+    /**
+     * Resolves a typed player name: an exact (case-insensitive) match, or the only player
+     * whose name starts with the input. Works for offline players who have joined before.
+     */
+    @Nullable
+    public UUID resolveUsername(@Nonnull String input) {
+        return usernameIndex.resolve(input);
+    }
+
+    /**
+     * Suggests the closest known player name for a probably mistyped one, or null.
+     */
+    @Nullable
+    public String suggestUsername(@Nonnull String input) {
+        return usernameIndex.suggest(input);
+    }
+
+    /**
+     * Finds known player names starting with a prefix, for tab completion.
+     */
+    @Nonnull
+    public List<String> findUsernames(@Nonnull String prefix, int limit) {
+        List<String> names = new ArrayList<>();
+        for (UUID uuid : usernameIndex.findByPrefix(prefix, limit)) {
+            String name = usernameIndex.getCurrentName(uuid);
+            if (name != null) {
+                names.add(name);
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Gets a player's last known username, or null if they never joined.
+     */
+    @Nullable
+    public String getUsername(@Nonnull UUID uuid) {
+        return usernameIndex.getCurrentName(uuid);
+    }
+
+    /**
+     * Gets the usernames a player has joined with, oldest first, or null if they never joined.
+     */
+    @Nullable
+    public NameHistory getNameHistory(@Nonnull UUID uuid) {
+        return nameHistory.get(uuid.toString());
     }
 
     private void loadUuidIndex() {
+        Map<String, UUID> snapshot = new HashMap<>();
         Path file = dataFolder.resolve("uuids.json");
         if (Files.exists(file)) {
             try {
@@ -243,93 +521,93 @@ public class StorageManager {
                 if (loaded != null) {
                     for (Map.Entry<String, String> entry : loaded.entrySet()) {
                         try {
-                            usernameToUuid.put(entry.getKey().toLowerCase(), UUID.fromString(entry.getValue()));
+                            snapshot.put(entry.getKey().toLowerCase(), UUID.fromString(entry.getValue()));
                         } catch (IllegalArgumentException e) {
                             Log.warning("Invalid UUID in uuids.json for " + entry.getKey() + ": " + entry.getValue());
                         }
                     }
                 }
-                Log.info("Loaded " + usernameToUuid.size() + " player UUID mappings.");
             } catch (IOException e) {
                 Log.warning("Failed to load UUID index: " + e.getMessage());
             }
         }
-    }
+        usernameToUuid.load(snapshot);
+        loadNameHistory();
 
-    /**
-     * Schedules a UUID index save. Uses dirty flag to coalesce multiple rapid registrations
-     * into a single file write.
-     */
-    private void scheduleUuidIndexSave() {
-        // Mark as dirty and schedule save if not already pending
-        if (uuidIndexDirty.compareAndSet(false, true)) {
-            CompletableFuture.runAsync(() -> {
-                // Small delay to coalesce rapid joins
+        for (Map.Entry<String, UUID> entry : usernameToUuid.view().entrySet()) {
+            usernameIndex.put(entry.getKey(), entry.getValue());
+        }
+        for (Map.Entry<String, NameHistory> entry : nameHistory.view().entrySet()) {
+            String current = entry.getValue().getCurrentName();
+            if (current != null) {
                 try {
-                    Thread.sleep(1000);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
+                    usernameIndex.setCurrentName(UUID.fromString(entry.getKey()), current);
+                } catch (IllegalArgumentException e) {
+                    Log.warning("Invalid UUID in names.json: " + entry.getKey());
                 }
-                
-                // Reset dirty flag and save
-                uuidIndexDirty.set(false);
-                saveUuidIndex();
-            });
+            }
+        }
+        Log.info("Loaded " + usernameToUuid.size() + " player UUID mappings.");
+    }
+
+    private void loadNameHistory() {
+        Map<String, NameHistory> snapshot = null;
+        Path file = dataFolder.resolve("names.json");
+        if (Files.exists(file)) {
+            try {
+                snapshot = gson.fromJson(Files.readString(file), NAMES_TYPE);
+            } catch (IOException | RuntimeException e) {
+                Log.warning("Failed to load name history: " + e.getMessage());
+            }
         }
+        nameHistory.load(snapshot);
+    }
+
+    private void flushNameHistory() throws IOException {
+        nameHistory.flush();
     }
 
     /**
-     * Saves the UUID index to disk. Called from async thread or shutdown.
+     * Writes the full names.json file. Called when the name history journal is compacted.
      */
-    private void saveUuidIndex() {
-        Path file = dataFolder.resolve("uuids.json");
-        try {
+    private void writeNameHistorySnapshot(@Nonnull Map<String, NameHistory> snapshot) throws IOException {
+        AtomicFileWriter.write(dataFolder.resolve("names.json"), () -> gson.toJson(snapshot));
+    }
+
+    private void flushUuidIndex() throws IOException {
+        usernameToUuid.flush();
+    }
+
+    /**
+     * Writes the full uuids.json file. Called when the UUID index journal is compacted.
+     */
+    private void writeUuidSnapshot(@Nonnull Map<String, UUID> snapshot) throws IOException {
+        AtomicFileWriter.write(dataFolder.resolve("uuids.json"), () -> {
             // Convert to Map<String, String> for JSON serialization
-            Map<String, String> toSave = new ConcurrentHashMap<>();
-            for (Map.Entry<String, UUID> entry : usernameToUuid.entrySet()) {
+            Map<String, String> toSave = new LinkedHashMap<>();
+            for (Map.Entry<String, UUID> entry : snapshot.entrySet()) {
                 toSave.put(entry.getKey(), entry.getValue().toString());
             }
-            String json = gson.toJson(toSave);
-            Files.writeString(file, json);
-        } catch (IOException e) {
-            Log.error("Failed to save UUID index: " + e.getMessage());
-        }
+            return gson.toJson(toSave);
+        });
     }
 
+    /**
+     * Closes the storage. Call after {@link FlushScheduler#shutdown(int)} has written all pending changes.
+     */
     public void shutdown() {
-        // Save player data
-        for (Map.Entry<UUID, PlayerData> entry : cache.entrySet()) {
-            Path file = getPlayerFile(entry.getKey());
-            try {
-                String json = gson.toJson(entry.getValue());
-                Files.writeString(file, json);
-            } catch (IOException e) {
-                Log.error("Failed to save player data on shutdown for " + entry.getKey() + ": " + e.getMessage());
-            }
-        }
-        cache.clear();
+        Log.info("Player data cache: " + cache.describeStats());
+        cache.shutdown();
 
-        // Save warps
-        Path warpsFile = dataFolder.resolve("warps.json");
         try {
-            String json = gson.toJson(warps);
-            Files.writeString(warpsFile, json);
+            playerStore.close();
         } catch (IOException e) {
-            Log.error("Failed to save warps on shutdown: " + e.getMessage());
-        }
-
-        // Save spawn
-        if (spawn != null) {
-            Path spawnFile = dataFolder.resolve("spawn.json");
-            try {
-                String json = gson.toJson(spawn);
-                Files.writeString(spawnFile, json);
-            } catch (IOException e) {
-                Log.error("Failed to save spawn on shutdown: " + e.getMessage());
-            }
+            Log.error("Failed to close player data storage: " + e.getMessage());
         }
 
-        // Save UUID index
-        saveUuidIndex();
+        // Fold the warps, UUID index and name history journals into their snapshots
+        warps.close();
+        usernameToUuid.close();
+        nameHistory.close();
     }
 }
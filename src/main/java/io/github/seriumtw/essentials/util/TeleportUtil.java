@@ -148,13 +148,13 @@ public final class TeleportUtil {
                                             @Nonnull CommandContext context,
                                             @Nonnull Runnable action) {
         if (targetPlayer == null) {
-            Msg.send(context, SRMEssentials.getInstance().getMessageManager().get("commands.spawn.player-not-found"));
+            Msg.send(context, SRMEssentials.getInstance().getMessageManager().format("commands.spawn.player-not-found"));
             return;
         }
 
         Ref<EntityStore> ref = targetPlayer.getReference();
         if (ref == null || !ref.isValid()) {
-            Msg.send(context, SRMEssentials.getInstance().getMessageManager().get("commands.spawn.player-not-found"));
+            Msg.send(context, SRMEssentials.getInstance().getMessageManager().format("commands.spawn.player-not-found"));
             return;
         }
 
@@ -294,6 +294,26 @@ public final class TeleportUtil {
         buffer.putComponent(ref, Teleport.getComponentType(), teleport);
     }
 
+    /**
+     * Moves a player back to a position in their current world using a CommandBuffer
+     * (for use within systems), keeping the direction they are facing.
+     * Used to push players back out of areas they may not enter.
+     *
+     * @param ref The entity reference
+     * @param buffer The command buffer to queue the teleport
+     * @param world The world the player is in
+     * @param position The position to move them to
+     * @param rotation The player's current rotation
+     */
+    public static void teleportBackBuffered(@Nonnull Ref<EntityStore> ref,
+                                            @Nonnull CommandBuffer<EntityStore> buffer,
+                                            @Nonnull World world,
+                                            @Nonnull Vector3d position,
+                                            @Nonnull Vector3f rotation) {
+        Teleport teleport = new Teleport(world, position, new Vector3f(0, rotation.y, 0));
+        buffer.putComponent(ref, Teleport.getComponentType(), teleport);
+    }
+
     /**
      * Teleports a player to another player by UUID (for delayed teleports).
      * THREAD-SAFE: Handles cross-world teleports correctly using callbacks.
@@ -411,30 +431,6 @@ public final class TeleportUtil {
         return chunk.getFluidId(x, y, z) > 0;
     }
 
-    /**
-     * Finds a safe Y position for RTP by searching from top down.
-     * Finds the highest solid block, then checks if player can stand there safely.
-     * Returns null if location has fluid (water/lava).
-     *
-     * @param world The world to check
-     * @param x X coordinate
-     * @param z Z coordinate
-     * @return Safe Y coordinate (one above ground), or null if unsafe (fluid/no ground)
-     */
-    @Nullable
-    public static Double findSafeRtpY(@Nonnull World world, double x, double z) {
-        int blockX = (int) Math.floor(x);
-        int blockZ = (int) Math.floor(z);
-
-        long chunkIndex = ChunkUtil.indexChunkFromBlock(blockX, blockZ);
-        WorldChunk chunk = world.getChunk(chunkIndex);
-        if (chunk == null) {
-            return null; // Chunk not loaded
-        }
-
-        return findSafeRtpYFromChunk(chunk, blockX, blockZ);
-    }
-
     /**
      * Asynchronously finds a safe Y position for RTP by searching from top down.
      * Uses getChunkAsync to safely access chunks from any thread.
@@ -0,0 +1,217 @@
+package io.github.seriumtw.essentials.util;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A format or message string parsed once into literal text and placeholders.
+ * Rendering fills all placeholders in a single pass into one pre-sized builder, and values
+ * are never scanned for placeholders themselves, so text typed by a player (e.g. "%player%"
+ * in chat) is inserted as-is.
+ *
+ * Placeholders are %name% in config formats and {name} in messages.toml. Placeholders with
+ * no value given are left in the output unchanged.
+ */
+public final class Template {
+    public enum Syntax {
+        PERCENT('%', '%'),
+        BRACES('{', '}');
+
+        private final char open;
+        private final char close;
+
+        Syntax(char open, char close) {
+            this.open = open;
+            this.close = close;
+        }
+    }
+
+    // Config formats are few and rarely change; cleared wholesale if it ever grows past this
+    private static final int MAX_CACHED = 256;
+    private static final Map<String, Template> PERCENT_CACHE = new ConcurrentHashMap<>();
+
+    private final Syntax syntax;
+    // literals.length == keys.length + 1; output is literals[0] key[0] literals[1] ... literals[n]
+    private final String[] literals;
+    private final String[] keys;
+    private final int literalLength;
+
+    private Template(@Nonnull Syntax syntax, @Nonnull String[] literals, @Nonnull String[] keys) {
+        this.syntax = syntax;
+        this.literals = literals;
+        this.keys = keys;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    /**
+     * Parses a string with placeholders in the given syntax.
+     */
+    @Nonnull
+    public static Template compile(@Nonnull String source, @Nonnull Syntax syntax) {
+        List<String> literals = new ArrayList<>();
+        List<String> keys = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+
+        int i = 0;
+        while (i < source.length()) {
+            char c = source.charAt(i);
+            if (c == syntax.open) {
+                int end = findClose(source, i + 1, syntax.close);
+                if (end > i + 1) {
+                    literals.add(literal.toString());
+                    literal.setLength(0);
+                    keys.add(source.substring(i + 1, end));
+                    i = end + 1;
+                    continue;
+                }
+            }
+            literal.append(c);
+            i++;
+        }
+        literals.add(literal.toString());
+        return new Template(syntax, literals.toArray(new String[0]), keys.toArray(new String[0]));
+    }
+
+    /**
+     * Gets the compiled template for a config format using %name% placeholders, parsing it
+     * only the first time it is seen.
+     */
+    @Nonnull
+    public static Template percent(@Nonnull String source) {
+        Template template = PERCENT_CACHE.get(source);
+        if (template == null) {
+            if (PERCENT_CACHE.size() >= MAX_CACHED) {
+                PERCENT_CACHE.clear();
+            }
+            template = compile(source, Syntax.PERCENT);
+            PERCENT_CACHE.put(source, template);
+        }
+        return template;
+    }
+
+    /**
+     * Finds the closing character of a placeholder name, or -1 if the text at start is not a
+     * placeholder name (names are letters, digits, '_', '-' and '.').
+     */
+    private static int findClose(@Nonnull String source, int start, char close) {
+        for (int i = start; i < source.length(); i++) {
+            char c = source.charAt(i);
+            if (c == close) {
+                return i;
+            }
+            if (!Character.isLetterOrDigit(c) && c != '_' && c != '-' && c != '.') {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Checks if the template has no placeholders.
+     */
+    public boolean isConstant() {
+        return keys.length == 0;
+    }
+
+    int getPlaceholderCount() {
+        return keys.length;
+    }
+
+    @Nonnull
+    String getLiteral(int index) {
+        return literals[index];
+    }
+
+    @Nonnull
+    String getPlaceholder(int index) {
+        return keys[index];
+    }
+
+    /**
+     * Gets placeholder text as written, for placeholders without a value.
+     */
+    @Nonnull
+    String unresolved(int index) {
+        return syntax.open + keys[index] + syntax.close;
+    }
+
+    /**
+     * Fills in placeholders from a map.
+     */
+    @Nonnull
+    public String render(@Nullable Map<String, String> values) {
+        if (keys.length == 0) {
+            return literals[0];
+        }
+        StringBuilder builder = new StringBuilder(literalLength + keys.length * 16);
+        builder.append(literals[0]);
+        for (int i = 0; i < keys.length; i++) {
+            String value = values != null ? values.get(keys[i]) : null;
+            appendValue(builder, keys[i], value);
+            builder.append(literals[i + 1]);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Fills in a single placeholder.
+     */
+    @Nonnull
+    public String render(@Nonnull String key, @Nonnull String value) {
+        if (keys.length == 0) {
+            return literals[0];
+        }
+        StringBuilder builder = new StringBuilder(literalLength + keys.length * value.length());
+        builder.append(literals[0]);
+        for (int i = 0; i < keys.length; i++) {
+            appendValue(builder, keys[i], keys[i].equals(key) ? value : null);
+            builder.append(literals[i + 1]);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Fills in some placeholders now and keeps the rest for a later render, e.g. a chat
+     * format with everything but the message.
+     */
+    @Nonnull
+    public Template bind(@Nonnull Map<String, String> values) {
+        List<String> newLiterals = new ArrayList<>();
+        List<String> newKeys = new ArrayList<>();
+        StringBuilder literal = new StringBuilder(literals[0]);
+        for (int i = 0; i < keys.length; i++) {
+            String value = values.get(keys[i]);
+            if (value != null) {
+                literal.append(value);
+            } else {
+                newLiterals.add(literal.toString());
+                literal.setLength(0);
+                newKeys.add(keys[i]);
+            }
+            literal.append(literals[i + 1]);
+        }
+        newLiterals.add(literal.toString());
+        return new Template(syntax, newLiterals.toArray(new String[0]), newKeys.toArray(new String[0]));
+    }
+
+    private void appendValue(@Nonnull StringBuilder builder, @Nonnull String key, @Nullable String value) {
+        if (value != null) {
+            builder.append(value);
+        } else {
+            builder.append(syntax.open).append(key).append(syntax.close);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return render(null);
+    }
+}
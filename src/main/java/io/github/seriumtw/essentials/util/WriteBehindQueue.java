@@ -0,0 +1,134 @@
+package io.github.seriumtw.essentials.util;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+/**
+ * Write-behind queue that coalesces repeated saves of the same record.
+ * Marking a key dirty only remembers its latest value; the shared {@link FlushScheduler}
+ * writes each dirty key at most once per flush interval.
+ */
+public class WriteBehindQueue<K, V> {
+    private final String name;
+    private final BiConsumer<K, V> writer;
+    private final ConcurrentHashMap<K, V> dirty = new ConcurrentHashMap<>();
+    private final FlushScheduler scheduler;
+    private final FlushScheduler.Task task;
+
+    public WriteBehindQueue(@Nonnull String name, @Nonnull BiConsumer<K, V> writer,
+                           @Nonnull FlushScheduler scheduler, int flushIntervalSeconds) {
+        this.name = name;
+        this.writer = writer;
+        this.scheduler = scheduler;
+        this.task = scheduler.register(name, flushIntervalSeconds, new FlushScheduler.FlushAction() {
+            @Override
+            public void flush() {
+                flushDirty();
+            }
+
+            @Override
+            @Nonnull
+            public List<FlushScheduler.FlushAction> split() {
+                // One unit per record so shutdown can write them in parallel
+                List<FlushScheduler.FlushAction> units = new ArrayList<>(dirty.size());
+                for (K key : dirty.keySet()) {
+                    units.add(() -> flushKeyOrThrow(key));
+                }
+                return units;
+            }
+        });
+    }
+
+    /**
+     * Marks a record as dirty. Multiple calls before the next flush result in a single write.
+     */
+    public void markDirty(@Nonnull K key, @Nonnull V value) {
+        dirty.put(key, value);
+        task.markDirty();
+    }
+
+    /**
+     * Checks if a record has changes that have not been written yet.
+     */
+    public boolean isDirty(@Nonnull K key) {
+        return dirty.containsKey(key);
+    }
+
+    /**
+     * Gets the value waiting to be written for a key, or null if it is not dirty.
+     */
+    @Nullable
+    public V getPending(@Nonnull K key) {
+        return dirty.get(key);
+    }
+
+    /**
+     * Gets the number of records waiting to be written.
+     */
+    public int getPendingCount() {
+        return dirty.size();
+    }
+
+    /**
+     * Writes a single record now (on the I/O thread) instead of waiting for the next interval.
+     * Does nothing if the record is not dirty.
+     */
+    @Nonnull
+    public CompletableFuture<Void> flush(@Nonnull K key) {
+        if (!dirty.containsKey(key)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return scheduler.submit(() -> flushKey(key));
+    }
+
+    /**
+     * Writes every dirty record now (on the I/O thread) instead of waiting for the next interval.
+     */
+    @Nonnull
+    public CompletableFuture<Void> flushAll() {
+        return task.flushNow();
+    }
+
+    private void flushDirty() {
+        for (K key : dirty.keySet()) {
+            flushKey(key);
+        }
+    }
+
+    private void flushKey(@Nonnull K key) {
+        V value = dirty.remove(key);
+        if (value == null) {
+            return;
+        }
+        if (!write(key, value)) {
+            // Retry on the next interval unless a newer value was queued in the meantime
+            dirty.putIfAbsent(key, value);
+            task.markDirty();
+        }
+    }
+
+    private void flushKeyOrThrow(@Nonnull K key) throws IOException {
+        V value = dirty.remove(key);
+        if (value != null && !write(key, value)) {
+            dirty.putIfAbsent(key, value);
+            throw new IOException("could not write " + key);
+        }
+    }
+
+    private boolean write(@Nonnull K key, @Nonnull V value) {
+        try {
+            writer.accept(key, value);
+            return true;
+        } catch (RuntimeException e) {
+            // Usually the record was modified while it was being serialized
+            Log.warning(name + " failed to write " + key + ": " + e.getMessage());
+            return false;
+        }
+    }
+}